@@ -0,0 +1,96 @@
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of finding tasks on three threads while a fourth thread keeps adding
+ * and deleting tasks, comparing a {@link ConcurrentTaskList} with a TaskList behind a single
+ * lock. Each thread has its own user interface, as each user of the server mode does.
+ *
+ * <p>Run with {@code ./gradlew jmh -PjmhArgs="ConcurrentTaskList"}.</p>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentTaskListBenchmark {
+
+    private static final int READER_COUNT = 3;
+
+    @Param({"10000", "100000"})
+    private int taskCount;
+
+    private TaskList lockedTaskList;
+    private ConcurrentTaskList concurrentTaskList;
+
+    /**
+     * Holds the user interface of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadUi {
+        private final Ui ui = new Ui();
+    }
+
+    @Setup
+    public void setUp() {
+        Ui ui = new Ui();
+        lockedTaskList = new TaskList(TaskBenchmarks.generateTasks(taskCount));
+        lockedTaskList.findTask("book 12", ui);
+        concurrentTaskList = new ConcurrentTaskList(TaskBenchmarks.generateTasks(taskCount));
+        concurrentTaskList.findTask("book 12", ui);
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(READER_COUNT)
+    public String findLocked(ThreadUi threadUi) {
+        synchronized (lockedTaskList) {
+            return lockedTaskList.findTask("book 12", threadUi.ui);
+        }
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public String addAndDeleteLocked(ThreadUi threadUi) {
+        synchronized (lockedTaskList) {
+            return addAndDelete(lockedTaskList, threadUi.ui);
+        }
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(READER_COUNT)
+    public String findConcurrent(ThreadUi threadUi) {
+        return concurrentTaskList.findTask("book 12", threadUi.ui);
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(1)
+    public String addAndDeleteConcurrent(ThreadUi threadUi) {
+        return addAndDelete(concurrentTaskList, threadUi.ui);
+    }
+
+    private static String addAndDelete(TaskList taskList, Ui ui) {
+        taskList.addTask(new ToDo("read book 12"), ui);
+        BitSet deletedTaskPositions = new BitSet();
+        deletedTaskPositions.set(taskList.getLength() - 1);
+        return taskList.deleteTasks(deletedTaskPositions, ui);
+    }
+}
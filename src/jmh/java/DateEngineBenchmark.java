@@ -0,0 +1,102 @@
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of parsing the dates of deadlines and events, comparing the date
+ * engine in {@link TaskDate} with the way dates used to be parsed and formatted.
+ *
+ * <p>Run with {@code ./gradlew jmh}, or {@code ./gradlew jmh -PjmhArgs="DateEngine"} to run
+ * only these benchmarks.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateEngineBenchmark {
+
+    private static final int DATE_COUNT = 1024;
+
+    private String[] userDates;
+    private String[] savedDates;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        userDates = new String[DATE_COUNT];
+        savedDates = new String[DATE_COUNT];
+        for (int i = 0; i < DATE_COUNT; i++) {
+            LocalDate date = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(730));
+            boolean hasTime = random.nextBoolean();
+            String time = String.format("%02d%02d", random.nextInt(24), random.nextInt(60));
+            userDates[i] = hasTime ? date + " " + time : date.toString();
+            savedDates[i] = TaskDate.format(TaskDate.parse(userDates[i]));
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (DATE_COUNT - 1);
+        return next;
+    }
+
+    @Benchmark
+    public String parseDateTimeLegacy() throws ParseException {
+        return processDateTimeLegacy(userDates[nextIndex()]);
+    }
+
+    @Benchmark
+    public String parseDateTime() throws DateException {
+        return Parser.parseDateTime(userDates[nextIndex()]);
+    }
+
+    @Benchmark
+    public long parseSavedDateWithFormatter() {
+        String savedDate = savedDates[nextIndex()];
+        boolean hasTime = savedDate.length() > 12;
+        if (hasTime) {
+            return TaskDate.of(LocalDateTime.parse(savedDate, DateTimeFormatter.ofPattern("MMM d yyyy hh:mm a")), true);
+        }
+        return TaskDate.of(LocalDate.parse(savedDate, DateTimeFormatter.ofPattern("MMM d yyyy")));
+    }
+
+    @Benchmark
+    public long parseSavedDate() {
+        return TaskDate.parseFormatted(savedDates[nextIndex()]);
+    }
+
+    /**
+     * Parses a date the way Parser.parseDateTime did before the date engine, creating new
+     * formatters for every date.
+     */
+    private static String processDateTimeLegacy(String dateTime) throws ParseException {
+        String[] dateTimes = dateTime.split(" ");
+        boolean hasOnlyDate = dateTimes.length == 1;
+        LocalDate localDate = LocalDate.parse(dateTimes[0]);
+        String processedDate = localDate.format(DateTimeFormatter.ofPattern("MMM d yyyy"));
+        if (hasOnlyDate) {
+            return processedDate;
+        }
+        int militaryTime = Integer.parseInt(dateTimes[1]);
+        Date date = new SimpleDateFormat("hhmm").parse(String.format("%04d", militaryTime));
+        return processedDate + " " + new SimpleDateFormat("hh:mm a").format(date);
+    }
+}
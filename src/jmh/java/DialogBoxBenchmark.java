@@ -0,0 +1,103 @@
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many messages per second can be turned into dialog boxes, comparing loading every
+ * dialog box from {@code /view/DialogBox.fxml}, as the main window used to, with building it in
+ * code and with reusing one dialog box the way the cells of the main window do.
+ *
+ * <p>Run with {@code ./gradlew jmh -PjmhArgs="DialogBox"}. The JavaFX toolkit is started before
+ * the benchmarks run, so a display is needed.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DialogBoxBenchmark {
+
+    private static final int MESSAGE_COUNT = 64;
+
+    private String[] messages;
+    private Image image;
+    private DialogBox reusedDialogBox;
+    private int next;
+
+    /**
+     * Represents a dialog box loaded from FXML for every message, the way DialogBox used to be.
+     */
+    public static class LoadedDialogBox extends HBox {
+        @FXML
+        private Label dialog;
+        @FXML
+        private ImageView displayPicture;
+
+        LoadedDialogBox(String text, Image img) throws IOException {
+            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
+            fxmlLoader.setController(this);
+            fxmlLoader.setRoot(this);
+            fxmlLoader.load();
+            dialog.setText(text);
+            displayPicture.setImage(img);
+        }
+    }
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        CountDownLatch startup = new CountDownLatch(1);
+        try {
+            Platform.startup(startup::countDown);
+        } catch (IllegalStateException e) {
+            startup.countDown();
+        }
+        startup.await();
+        messages = new String[MESSAGE_COUNT];
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            messages[i] = new Ui().showError("message " + i);
+        }
+        image = ImageCache.get("/images/duke_jetsurf_orig.png");
+        reusedDialogBox = DialogBox.getDukeDialog("", image);
+    }
+
+    private String nextMessage() {
+        next = (next + 1) & (MESSAGE_COUNT - 1);
+        return messages[next];
+    }
+
+    @Benchmark
+    public HBox loadFromFxml() throws IOException {
+        return new LoadedDialogBox(nextMessage(), image);
+    }
+
+    @Benchmark
+    public HBox buildInCode() {
+        return DialogBox.getDukeDialog(nextMessage(), image);
+    }
+
+    @Benchmark
+    public HBox reuseDialogBox() {
+        reusedDialogBox.setMessage(nextMessage(), image, true);
+        return reusedDialogBox;
+    }
+}
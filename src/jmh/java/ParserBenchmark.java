@@ -0,0 +1,63 @@
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time taken by {@link Parser#parseUserCommand} to parse each kind of user command.
+ * The size of the task list matters to the commands that refer to tasks by number. Parsing the
+ * dates of deadlines and events on their own is measured by {@link DateEngineBenchmark}.
+ *
+ * <p>Run with {@code ./gradlew jmh -PjmhArgs="Parser"}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int taskCount;
+
+    private final Parser parser = new Parser();
+
+    @Benchmark
+    public ParsedCommand parseTodo() throws Exception {
+        return parser.parseUserCommand("todo read the second chapter of the book", taskCount);
+    }
+
+    @Benchmark
+    public ParsedCommand parseDeadline() throws Exception {
+        return parser.parseUserCommand("deadline return book /by 2020-10-15 1830", taskCount);
+    }
+
+    @Benchmark
+    public ParsedCommand parseEvent() throws Exception {
+        return parser.parseUserCommand("event project meeting /at 2020-10-15 1400 /to 1600", taskCount);
+    }
+
+    @Benchmark
+    public ParsedCommand parseDoneRanges() throws Exception {
+        return parser.parseUserCommand("done 1-20,45 300-900", taskCount);
+    }
+
+    @Benchmark
+    public ParsedCommand parseDeleteAll() throws Exception {
+        return parser.parseUserCommand("delete 1-" + taskCount, taskCount);
+    }
+
+    @Benchmark
+    public ParsedCommand parseFind() throws Exception {
+        return parser.parseUserCommand("find read book or pen page 2", taskCount);
+    }
+}
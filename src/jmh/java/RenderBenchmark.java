@@ -0,0 +1,60 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rendering task lists of different sizes: building the whole response as a String,
+ * streaming it to a writer, and showing a single page of it.
+ *
+ * <p>Run with {@code ./gradlew jmh -PjmhArgs="Render"}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int taskCount;
+
+    private final Ui ui = new Ui();
+    private final Writer discardingWriter = Writer.nullWriter();
+    private ArrayList<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = TaskBenchmarks.generateTasks(taskCount);
+    }
+
+    @Benchmark
+    public String showList() {
+        return ui.showList(tasks);
+    }
+
+    @Benchmark
+    public Writer writeList() throws IOException {
+        ui.writeList(tasks, discardingWriter);
+        return discardingWriter;
+    }
+
+    @Benchmark
+    public String showLastPage() {
+        int lastPage = (taskCount + Parser.DEFAULT_PAGE_SIZE - 1) / Parser.DEFAULT_PAGE_SIZE;
+        return ui.showListPage(tasks, lastPage, Parser.DEFAULT_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,121 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time from starting the shadow jar in a new JVM until the first prompt is shown:
+ * the welcome message of the command line interface, or the main window of the GUI. Each run
+ * is started with {@code -Dduke.exitOnFirstPrompt=true}, so the time also includes the exit of
+ * the JVM, which is the same for every run.
+ *
+ * <p>The runs start in a temporary directory holding a task file with the given number of
+ * tasks, either loading it before the first prompt or, in fast-start mode, deferring the
+ * loading to the first command. With AppCDS, the runs use an archive of the classes loaded by
+ * an earlier run of the same kind, which is created in the temporary directory beforehand.</p>
+ *
+ * <p>Build the shadow jar with {@code ./gradlew shadowJar}, then run with
+ * {@code ./gradlew jmh -PjmhArgs="Startup -p mode=cli"}. Runs of the GUI need a display. The
+ * path of the jar can be set with {@code -Dduke.jar=PATH}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"cli", "gui"})
+    private String mode;
+
+    @Param({"0", "1000000"})
+    private int taskCount;
+
+    @Param({"false", "true"})
+    private boolean isFastStart;
+
+    @Param({"false", "true"})
+    private boolean isAppCds;
+
+    private Path directory;
+    private List<String> command;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        Path jar = Paths.get(System.getProperty("duke.jar", "build/libs/duke.jar")).toAbsolutePath();
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Build the shadow jar with ./gradlew shadowJar first: " + jar);
+        }
+        directory = Files.createTempDirectory("duke-startup-benchmark");
+        Storage storage = new Storage(directory.resolve("data/tasks.txt").toString());
+        storage.createFile();
+        storage.save(TaskBenchmarks.generateTasks(taskCount));
+        storage.close();
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> options = new ArrayList<>();
+        options.add("-Dduke.exitOnFirstPrompt=true");
+        options.add("-Dduke.fastStart=" + isFastStart);
+        List<String> arguments = List.of("-cp", jar.toString(), mode.equals("gui") ? "Launcher" : "Duke");
+        if (isAppCds) {
+            Path classList = directory.resolve("classes.lst");
+            Path archive = directory.resolve("duke.jsa");
+            run(concat(List.of(java, "-XX:DumpLoadedClassList=" + classList), options, arguments));
+            run(concat(List.of(java, "-Xshare:dump", "-XX:SharedClassListFile=" + classList,
+                    "-XX:SharedArchiveFile=" + archive), List.of(), List.of("-cp", jar.toString())));
+            options.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command = concat(List.of(java), options, arguments);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int startUntilFirstPrompt() throws IOException, InterruptedException {
+        return run(command);
+    }
+
+    private int run(List<String> processCommand) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(processCommand)
+                .directory(directory.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Duke exited with code " + exitCode + ": " + processCommand);
+        }
+        return exitCode;
+    }
+
+    private static List<String> concat(List<String> java, List<String> options, List<String> arguments) {
+        List<String> processCommand = new ArrayList<>(java);
+        processCommand.addAll(options);
+        processCommand.addAll(arguments);
+        return processCommand;
+    }
+}
@@ -0,0 +1,86 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures saving and loading task files of different sizes, in both the text and the binary
+ * format, loading the tasks either as task objects or into a {@link TaskColumns}. The files are
+ * written to a temporary directory that is deleted afterwards.
+ *
+ * <p>Run with {@code ./gradlew jmh -PjmhArgs="Storage"}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StorageBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"tasks.txt", "tasks.bin"})
+    private String fileName;
+
+    @Param({"false", "true"})
+    private boolean isColumnar;
+
+    private Path directory;
+    private Storage storage;
+    private ArrayList<Task> tasks;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("duke-storage-benchmark");
+        storage = new Storage(directory.resolve(fileName).toString());
+        storage.setColumnar(isColumnar);
+        tasks = TaskBenchmarks.generateTasks(taskCount);
+        storage.save(tasks);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        storage.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        storage.save(tasks);
+    }
+
+    @Benchmark
+    public List<Task> load() throws Exception {
+        return storage.load();
+    }
+
+    @Benchmark
+    public int loadAndDisplay() throws Exception {
+        int displayedLength = 0;
+        for (Task task : storage.load()) {
+            displayedLength += task.toString().length();
+        }
+        return displayedLength;
+    }
+}
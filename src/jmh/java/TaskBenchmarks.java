@@ -0,0 +1,41 @@
+import java.util.ArrayList;
+
+/**
+ * Generates the tasks used by the benchmarks: mostly todos, with some deadlines and events so
+ * that every kind of task is parsed, indexed, saved and rendered.
+ */
+public class TaskBenchmarks {
+
+    private TaskBenchmarks() {
+    }
+
+    /**
+     * Returns the specified number of generated tasks. The same number of tasks always gives
+     * the same tasks.
+     * @param taskCount Number of tasks.
+     * @return ArrayList of generated tasks.
+     */
+    public static ArrayList<Task> generateTasks(int taskCount) {
+        ArrayList<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            String date = "2021-" + String.format("%02d-%02d", i % 12 + 1, i % 28 + 1);
+            Task task;
+            switch (i % 10) {
+            case 7:
+            case 8:
+                task = new Deadline("submit report " + i, TaskDate.parse(date + " 1800"));
+                break;
+            case 9:
+                task = new Event("team meeting " + i, TaskDate.parse(date + " 0900"), TaskDate.parse(date + " 1000"));
+                break;
+            default:
+                task = new ToDo("read book " + i);
+            }
+            if (i % 3 == 0) {
+                task.markAsDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
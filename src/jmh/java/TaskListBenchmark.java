@@ -0,0 +1,81 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finding and deleting tasks in task lists of different sizes. The indexes of the
+ * task list are built before measuring, as they would be after the first find of a session.
+ *
+ * <p>Run with {@code ./gradlew jmh -PjmhArgs="TaskList"}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int taskCount;
+
+    private final Ui ui = new Ui();
+    private ArrayList<Task> tasks;
+    private TaskList taskList;
+    private TaskList deletedTaskList;
+    private BitSet deletedTaskPositions;
+    private ArrayList<ArrayList<String>> keywordGroups;
+
+    @Setup
+    public void setUp() {
+        tasks = TaskBenchmarks.generateTasks(taskCount);
+        taskList = new TaskList(tasks);
+        taskList.findTask("book 12", ui);
+        keywordGroups = new ArrayList<>();
+        ArrayList<String> keywordGroup = new ArrayList<>();
+        keywordGroup.add("submit");
+        keywordGroup.add("report");
+        keywordGroups.add(keywordGroup);
+        taskList.findTasks(keywordGroups, ui);
+        deletedTaskPositions = new BitSet(taskCount);
+        for (int i = 0; i < taskCount; i += 10) {
+            deletedTaskPositions.set(i, Math.min(taskCount, i + 3));
+        }
+    }
+
+    /**
+     * Gives every measured deletion a fresh copy of the task list.
+     */
+    @Setup(Level.Invocation)
+    public void copyTaskList() {
+        deletedTaskList = new TaskList(new ArrayList<>(tasks));
+    }
+
+    @Benchmark
+    public String findSubstring() {
+        return taskList.findTask("book 12", ui);
+    }
+
+    @Benchmark
+    public String findKeywords() {
+        return taskList.findTasks(keywordGroups, 1, Parser.DEFAULT_PAGE_SIZE, ui);
+    }
+
+    @Benchmark
+    public String deleteScatteredTasks() {
+        return deletedTaskList.deleteTasks(deletedTaskPositions, ui);
+    }
+}
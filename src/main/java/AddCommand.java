@@ -0,0 +1,32 @@
+import java.io.IOException;
+
+/**
+ * Represents a command to add a todo, deadline or event to the task list.
+ */
+public class AddCommand extends ParsedCommand {
+
+    private final Task task;
+
+    /**
+     * Constructs an AddCommand for the specified task.
+     * @param task Task to be added.
+     */
+    public AddCommand(Task task) {
+        this.task = task;
+    }
+
+    /**
+     * Returns the task to be added.
+     * @return Task to be added.
+     */
+    public Task getTask() {
+        return task;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) throws IOException {
+        String response = taskList.addTask(task, ui);
+        storage.saveAdd(task, taskList.getTasks());
+        return response;
+    }
+}
@@ -0,0 +1,66 @@
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the outcome of executing a batch of user commands: how many were executed, how
+ * many of them failed, how often the tasks were written to the hard disk and how long it took.
+ */
+public class BatchSummary {
+
+    private final long commandCount;
+    private final long errorCount;
+    private final long commitCount;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a BatchSummary.
+     * @param commandCount Number of user commands executed.
+     * @param errorCount Number of user commands that could not be executed.
+     * @param commitCount Number of times the tasks were written to the hard disk.
+     * @param elapsedNanos Time, in nanoseconds, taken to execute the batch.
+     */
+    public BatchSummary(long commandCount, long errorCount, long commitCount, long elapsedNanos) {
+        this.commandCount = commandCount;
+        this.errorCount = errorCount;
+        this.commitCount = commitCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of user commands executed.
+     * @return Number of user commands executed, including those that failed.
+     */
+    public long getCommandCount() {
+        return commandCount;
+    }
+
+    /**
+     * Returns the number of user commands that could not be executed.
+     * @return Number of user commands that failed.
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns the number of times the tasks were written to the hard disk.
+     * @return Number of commits.
+     */
+    public long getCommitCount() {
+        return commitCount;
+    }
+
+    /**
+     * Returns the number of user commands executed per second.
+     * @return Throughput of the batch.
+     */
+    public double getCommandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : commandCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Executed " + commandCount + " commands in " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms ("
+                + Math.round(getCommandsPerSecond()) + " commands/s), with " + errorCount + " errors and "
+                + commitCount + " commits.";
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Represents a command to show the deadlines and events dated within a period.
+ */
+public class BetweenCommand extends ParsedCommand {
+
+    private final long from;
+    private final long to;
+
+    /**
+     * Constructs a BetweenCommand for the specified period.
+     * @param from Timestamp of the start of the period.
+     * @param to Timestamp just after the end of the period.
+     */
+    public BetweenCommand(long from, long to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) {
+        return taskList.findBetween(from, to, ui);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
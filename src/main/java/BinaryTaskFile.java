@@ -0,0 +1,295 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a task file in the binary format of the Duke application. The file starts with
+ * a header, followed by a fixed-width record for every task and a region of UTF-8 strings:
+ *
+ * <pre>
+ * header:  magic (int), version (int), number of tasks (int), reserved (int)
+ * record:  type (byte), done (byte), reserved (short),
+ *          description offset (int), description length (int),
+ *          details offset (int), details length (int)
+ * strings: descriptions and details of the tasks
+ * </pre>
+ *
+ * <p>The details of a task are the fields that follow its description in the text format,
+ * such as the date of a deadline. The strings of a task are only decoded when they are
+ * accessed, whether the file is mapped into memory by {@link #open(Path)} or copied onto the
+ * heap by {@link #read(Path)}.</p>
+ *
+ * <p>A mapped file stays mapped until its buffer is garbage collected, and on some platforms,
+ * such as Windows, a mapped file cannot be replaced. The storage system replaces the task file
+ * on every save while its tasks are in use, so it reads the file onto the heap instead.</p>
+ */
+public class BinaryTaskFile {
+
+    /** File extension of task files in the binary format. */
+    public static final String FILE_EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x44554B42;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 20;
+    private static final String FIELD_SEPARATOR = " | ";
+
+    private final ByteBuffer buffer;
+    private final int taskCount;
+    private final int stringsOffset;
+
+    private BinaryTaskFile(ByteBuffer buffer) throws IOException {
+        boolean isBinaryTaskFile = buffer.limit() >= HEADER_SIZE && buffer.getInt(0) == MAGIC;
+        if (!isBinaryTaskFile || buffer.getInt(4) != VERSION) {
+            throw new IOException("The task file is not in a supported binary format.");
+        }
+        this.buffer = buffer;
+        this.taskCount = buffer.getInt(8);
+        this.stringsOffset = HEADER_SIZE + taskCount * RECORD_SIZE;
+    }
+
+    /**
+     * Opens the specified binary task file by mapping it into memory. An empty file is
+     * treated as a file without any tasks.
+     * @param path Path of the binary task file.
+     * @return Opened binary task file.
+     * @throws IOException If an error occurs while reading the file, or the file is not
+     * in the binary format.
+     */
+    public static BinaryTaskFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return new BinaryTaskFile(createHeader(0).flip());
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new BinaryTaskFile(buffer);
+        }
+    }
+
+    /**
+     * Opens the specified binary task file by copying it onto the heap, so that the file is not
+     * held open and can be replaced while the tasks read from it are in use. An empty file is
+     * treated as a file without any tasks.
+     * @param path Path of the binary task file.
+     * @return Opened binary task file.
+     * @throws IOException If an error occurs while reading the file, or the file is not
+     * in the binary format.
+     */
+    public static BinaryTaskFile read(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        if (bytes.length == 0) {
+            return new BinaryTaskFile(createHeader(0).flip());
+        }
+        return new BinaryTaskFile(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Writes tasks in the text format of the Duke application to the specified binary task file.
+     * @param savedTasks Lines of the text format, one for each task.
+     * @param path Path of the binary task file.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    public static void write(List<String> savedTasks, Path path) throws IOException {
+        ByteBuffer records = ByteBuffer.allocate(savedTasks.size() * RECORD_SIZE);
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        for (String savedTask : savedTasks) {
+            int descriptionStart = savedTask.indexOf(FIELD_SEPARATOR, 4) + FIELD_SEPARATOR.length();
+            int descriptionEnd = savedTask.indexOf(FIELD_SEPARATOR, descriptionStart);
+            boolean hasDetails = savedTask.charAt(0) != 'T' && descriptionEnd >= 0;
+            String description = hasDetails
+                    ? savedTask.substring(descriptionStart, descriptionEnd)
+                    : savedTask.substring(descriptionStart);
+            String details = hasDetails ? savedTask.substring(descriptionEnd + FIELD_SEPARATOR.length()) : "";
+            records.put((byte) savedTask.charAt(0));
+            records.put((byte) (savedTask.charAt(4) == '1' ? 1 : 0));
+            records.putShort((short) 0);
+            putString(records, strings, description);
+            putString(records, strings, details);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] contents = {createHeader(savedTasks.size()).flip(), records.flip(),
+                ByteBuffer.wrap(strings.toByteArray())};
+            while (contents[contents.length - 1].hasRemaining()) {
+                channel.write(contents);
+            }
+        }
+    }
+
+    private static ByteBuffer createHeader(int taskCount) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(taskCount).putInt(0);
+        return header;
+    }
+
+    private static void putString(ByteBuffer records, ByteArrayOutputStream strings, String string) {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        records.putInt(strings.size());
+        records.putInt(bytes.length);
+        strings.writeBytes(bytes);
+    }
+
+    /**
+     * Returns the number of tasks in the file.
+     * @return Number of tasks.
+     */
+    public int size() {
+        return taskCount;
+    }
+
+    /**
+     * Returns the type of the task at the specified position, which is either T, D, or E.
+     * @param position Position of the task in the file.
+     * @return Type of the task.
+     */
+    public char getType(int position) {
+        return (char) buffer.get(getRecordOffset(position));
+    }
+
+    /**
+     * Indicates whether the task at the specified position is done.
+     * @param position Position of the task in the file.
+     * @return Boolean value indicating whether the task is done.
+     */
+    public boolean isDone(int position) {
+        return buffer.get(getRecordOffset(position) + 1) == 1;
+    }
+
+    /**
+     * Decodes the description of the task at the specified position.
+     * @param position Position of the task in the file.
+     * @return Description of the task.
+     */
+    public String getDescription(int position) {
+        return getString(getRecordOffset(position) + 4);
+    }
+
+    /**
+     * Decodes the details of the task at the specified position, such as the date of a deadline.
+     * @param position Position of the task in the file.
+     * @return Details of the task.
+     */
+    public String getDetails(int position) {
+        return getString(getRecordOffset(position) + 12);
+    }
+
+    /**
+     * Returns the tasks in the file. The descriptions of the tasks are decoded when they are
+     * first needed.
+     * @return List of tasks in the file.
+     */
+    public ArrayList<Task> getTasks() {
+        ArrayList<Task> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = getTask(i);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the task at the specified position of the file. The description of the task is
+     * decoded when it is first needed.
+     * @param position Position of the task in the file.
+     * @return Task at the position, or null if the type of the task is not known.
+     */
+    public Task getTask(int position) {
+        char taskType = getType(position);
+        if (taskType == 'T') {
+            return new ToDo(this, position);
+        }
+        if (taskType == 'D') {
+            return new Deadline(this, position);
+        }
+        if (taskType == 'E') {
+            return new Event(this, position);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the line of the text format that represents the task at the specified position.
+     * @param position Position of the task in the file.
+     * @return Line of the text format.
+     */
+    public String getFormattedString(int position) {
+        String details = getDetails(position);
+        return getType(position) + FIELD_SEPARATOR + (isDone(position) ? 1 : 0) + FIELD_SEPARATOR
+                + getDescription(position) + (details.isEmpty() ? "" : FIELD_SEPARATOR + details);
+    }
+
+    private int getRecordOffset(int position) {
+        assert position >= 0 && position < taskCount : "The position should refer to a task in the file.";
+        return HEADER_SIZE + position * RECORD_SIZE;
+    }
+
+    private String getString(int fieldOffset) {
+        int offset = buffer.getInt(fieldOffset);
+        int length = buffer.getInt(fieldOffset + 4);
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(stringsOffset + offset);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Converts a task file in the text format to the binary format.
+     * @param textPath Path of the task file in the text format.
+     * @param binaryPath Path of the task file in the binary format.
+     * @throws IOException If an error occurs while reading or writing the task files.
+     */
+    public static void convertToBinary(Path textPath, Path binaryPath) throws IOException {
+        write(Files.readAllLines(textPath, Charset.defaultCharset()), binaryPath);
+    }
+
+    /**
+     * Converts a task file in the binary format to the text format.
+     * @param binaryPath Path of the task file in the binary format.
+     * @param textPath Path of the task file in the text format.
+     * @throws IOException If an error occurs while reading or writing the task files.
+     */
+    public static void convertToText(Path binaryPath, Path textPath) throws IOException {
+        BinaryTaskFile binaryTaskFile = open(binaryPath);
+        ArrayList<String> savedTasks = new ArrayList<>(binaryTaskFile.size());
+        for (int i = 0; i < binaryTaskFile.size(); i++) {
+            savedTasks.add(binaryTaskFile.getFormattedString(i));
+        }
+        Files.write(textPath, savedTasks, Charset.defaultCharset());
+    }
+
+    /**
+     * Converts a task file between the text and binary formats.
+     * Usage: {@code BinaryTaskFile to-binary|to-text SOURCE TARGET}.
+     * @param args Command-line arguments.
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println("Usage: BinaryTaskFile to-binary|to-text SOURCE TARGET");
+            return;
+        }
+        try {
+            if (args[0].equals("to-binary")) {
+                convertToBinary(Paths.get(args[1]), Paths.get(args[2]));
+            } else if (args[0].equals("to-text")) {
+                convertToText(Paths.get(args[1]), Paths.get(args[2]));
+            } else {
+                System.out.println("Usage: BinaryTaskFile to-binary|to-text SOURCE TARGET");
+            }
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
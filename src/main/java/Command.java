@@ -1,5 +1,4 @@
 import java.io.IOException;
-import java.util.ArrayList;
 
 /**
  * Represents the central backend component of the Duke application. This
@@ -50,72 +49,105 @@ public class Command {
      * @throws InvalidCommandException If the user command type is invalid.
      * @throws InvalidDeleteException If an error occurs while parsing a command to delete tasks.
      * @throws DateException If an error occurs while parsing the dates of events or deadlines.
+     * @throws InvalidScheduleException If an error occurs while parsing a command to view the tasks
+     * scheduled in a period.
+     * @throws InvalidTransferException If an error occurs while parsing a command to import or export
+     * tasks.
      */
     public String executeUserCommand(Parser parser, TaskList taskList, Storage storage, Ui ui)
             throws IOException, InvalidTaskArgumentException, InvalidDoneException, InvalidCommandException,
-            InvalidDeleteException, InvalidFindException, DateException {
-        ArrayList<String> userCommandDetails = parser.parseUserCommand(userCommand, taskList.getLength());
-        String response = "";
-        String userCommandType = userCommandDetails.get(0);
-        assert isValidCommand(userCommandType) : "The user command is not a valid operation.";
-        if (userCommandType.equals("Show")) {
-            response = taskList.showList(ui);
-            storage.save(taskList.getTasks());
+            InvalidDeleteException, InvalidFindException, DateException, InvalidScheduleException,
+            InvalidTransferException {
+        long parseStart = System.nanoTime();
+        ParsedCommand parsedCommand = parseUserCommand(parser, taskList, parseStart);
+        long parseNanos = System.nanoTime() - parseStart;
+        long executionStart = CommandStats.startExecution();
+        CommandExecutedEvent event = new CommandExecutedEvent();
+        event.begin();
+        boolean isSuccessful = false;
+        try {
+            String response = parsedCommand.execute(taskList, storage, ui);
+            isSuccessful = true;
+            return response;
+        } finally {
+            commitExecutedEvent(event, parsedCommand, taskList, isSuccessful);
+            CommandStats.recordExecution(parsedCommand.getClass(), parseNanos, executionStart, isSuccessful);
         }
-        if (userCommandType.equals("Done")) {
-            int taskPosition = Integer.parseInt(userCommandDetails.get(1));
-            response = taskList.markDone(taskPosition, ui);
-            storage.save(taskList.getTasks());
-        }
-        if (userCommandType.equals("Add")) {
-            String taskType = userCommandDetails.get(1);
-            assert isValidTaskType(taskType) : "The task type should be a todo, deadline, or event.";
-            if (taskType.equals("ToDo")) {
-                String todoDescription = userCommandDetails.get(2);
-                ToDo todo = new ToDo(todoDescription);
-                response = taskList.addTask(todo, ui);
-            }
-            if (taskType.equals("Deadline")) {
-                String deadlineDescription = userCommandDetails.get(2);
-                String deadlineDate = userCommandDetails.get(3);
-                Deadline deadline = new Deadline(deadlineDescription, deadlineDate);
-                response = taskList.addTask(deadline, ui);
-            }
-            if (taskType.equals("Event")) {
-                String eventDescription = userCommandDetails.get(2);
-                String eventDate = userCommandDetails.get(3);
-                Event event = new Event(eventDescription, eventDate);
-                response = taskList.addTask(event, ui);
-            }
-            storage.save(taskList.getTasks());
-        }
-        if (userCommandType.equals("Find")) {
-            String keyword = userCommandDetails.get(1);
-            response = taskList.findTask(keyword, ui);
-        }
-        if (userCommandType.equals("Delete")) {
-            boolean isDeleteAll = userCommandDetails.get(1).equals("All");
-            if (isDeleteAll) {
-                response = taskList.deleteAll(ui);
-            } else {
-                ArrayList<String> deletedTasks = new ArrayList<>();
-                for (int i = 1; i < userCommandDetails.size(); i++) {
-                    deletedTasks.add(userCommandDetails.get(i));
-                }
-                response = taskList.deleteTasks(deletedTasks, ui);
-            }
-            storage.save(taskList.getTasks());
+    }
+
+    /**
+     * Executes a user command in the same way as {@link #executeUserCommand}, but writes the
+     * response to the main window as it is produced instead of returning it.
+     * @param parser Parser of the Duke application.
+     * @param taskList Task list of the Duke application
+     * @param storage Storage system of the Duke application.
+     * @param ui User interface of the Duke application.
+     * @param out Destination of the response.
+     * @throws IOException If an error occurs while accessing or creating the directory or file
+     * containing the tasks, or while writing the response.
+     * @throws InvalidTaskArgumentException If an error occurs while parsing a command to add tasks.
+     * @throws InvalidDoneException If an error occurs while parsing a command to mark tasks as done.
+     * @throws InvalidCommandException If the user command type is invalid.
+     * @throws InvalidDeleteException If an error occurs while parsing a command to delete tasks.
+     * @throws DateException If an error occurs while parsing the dates of events or deadlines.
+     * @throws InvalidScheduleException If an error occurs while parsing a command to view the tasks
+     * scheduled in a period.
+     * @throws InvalidTransferException If an error occurs while parsing a command to import or export
+     * tasks.
+     */
+    public void writeUserCommand(Parser parser, TaskList taskList, Storage storage, Ui ui, Appendable out)
+            throws IOException, InvalidTaskArgumentException, InvalidDoneException, InvalidCommandException,
+            InvalidDeleteException, InvalidFindException, DateException, InvalidScheduleException,
+            InvalidTransferException {
+        long parseStart = System.nanoTime();
+        ParsedCommand parsedCommand = parseUserCommand(parser, taskList, parseStart);
+        long parseNanos = System.nanoTime() - parseStart;
+        long executionStart = CommandStats.startExecution();
+        CommandExecutedEvent event = new CommandExecutedEvent();
+        event.begin();
+        boolean isSuccessful = false;
+        try {
+            parsedCommand.write(taskList, storage, ui, out);
+            isSuccessful = true;
+        } finally {
+            commitExecutedEvent(event, parsedCommand, taskList, isSuccessful);
+            CommandStats.recordExecution(parsedCommand.getClass(), parseNanos, executionStart, isSuccessful);
         }
-        return response;
     }
 
-    private boolean isValidCommand(String userCommandType) {
-        return userCommandType.equals("Show") || userCommandType.equals("Done")
-                || userCommandType.equals("Add") || userCommandType.equals("Find")
-                || userCommandType.equals("Delete");
+    /**
+     * Parses the user command, recording it in the command statistics if it cannot be parsed.
+     */
+    private ParsedCommand parseUserCommand(Parser parser, TaskList taskList, long parseStart)
+            throws InvalidTaskArgumentException, InvalidDoneException, InvalidCommandException,
+            InvalidDeleteException, InvalidFindException, DateException, InvalidScheduleException,
+            InvalidTransferException {
+        boolean isParsed = false;
+        try {
+            ParsedCommand parsedCommand = parser.parseUserCommand(userCommand, taskList.getLength());
+            isParsed = true;
+            return parsedCommand;
+        } finally {
+            if (!isParsed) {
+                CommandStats.recordInvalid(System.nanoTime() - parseStart);
+            }
+        }
     }
 
-    private boolean isValidTaskType(String taskType) {
-        return taskType.equals("ToDo") || taskType.equals("Deadline") || taskType.equals("Event");
+    /**
+     * Records the execution of a parsed user command in the JFR event that was begun when the
+     * execution started, if JFR is recording such events.
+     */
+    private void commitExecutedEvent(CommandExecutedEvent event, ParsedCommand parsedCommand, TaskList taskList,
+            boolean isSuccessful) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setCommandType(CommandStats.getCommandName(parsedCommand.getClass()));
+            event.setTaskCount(taskList.getLength());
+            event.setSuccessful(isSuccessful);
+            event.setRenderNanos(CommandStats.getNestedTime(CommandStats.Phase.RENDER));
+            event.setSaveNanos(CommandStats.getNestedTime(CommandStats.Phase.SAVE));
+            event.commit();
+        }
     }
 }
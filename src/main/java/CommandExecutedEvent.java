@@ -0,0 +1,75 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Represents a JFR event recording the execution of a parsed user command. The event lasts for
+ * the whole execution, including the time spent rendering the response and saving the tasks,
+ * which are also recorded separately.
+ */
+@Name("duke.CommandExecuted")
+@Label("Command Executed")
+@Category({"Duke", "Commands"})
+@Description("A parsed user command was executed")
+public class CommandExecutedEvent extends jdk.jfr.Event {
+
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Task Count")
+    @Description("Number of tasks in the task list after the command")
+    private int taskCount;
+
+    @Label("Successful")
+    private boolean isSuccessful;
+
+    @Label("Render Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long renderNanos;
+
+    @Label("Save Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long saveNanos;
+
+    /**
+     * Sets the type of the executed user command.
+     * @param commandType Name of the type of user command, such as "deleteall".
+     */
+    public void setCommandType(String commandType) {
+        this.commandType = commandType;
+    }
+
+    /**
+     * Sets the number of tasks in the task list after the user command was executed.
+     * @param taskCount Number of tasks in the task list.
+     */
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Sets whether the user command was executed without errors.
+     * @param isSuccessful Whether the user command was executed without errors.
+     */
+    public void setSuccessful(boolean isSuccessful) {
+        this.isSuccessful = isSuccessful;
+    }
+
+    /**
+     * Sets the time spent rendering the response to the user command.
+     * @param renderNanos Time, in nanoseconds, spent rendering.
+     */
+    public void setRenderNanos(long renderNanos) {
+        this.renderNanos = renderNanos;
+    }
+
+    /**
+     * Sets the time spent saving the tasks changed by the user command.
+     * @param saveNanos Time, in nanoseconds, spent saving.
+     */
+    public void setSaveNanos(long saveNanos) {
+        this.saveNanos = saveNanos;
+    }
+}
@@ -0,0 +1,83 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the executor that carries out the user commands of the main window away from the
+ * JavaFX Application Thread. Commands are executed one at a time on a single thread, in the
+ * order in which they are submitted, so the Duke application is never accessed concurrently.
+ *
+ * <p>At most a fixed number of commands may wait to be executed. Further commands are rejected
+ * until some of the waiting commands have been executed.</p>
+ */
+public class CommandExecutor {
+
+    /** Maximum number of commands waiting to be executed when none is specified. */
+    public static final int DEFAULT_MAX_PENDING_COMMANDS = 64;
+
+    private final Duke duke;
+    private final int maxPendingCommands;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructs and starts a CommandExecutor for the specified Duke application.
+     * @param duke Duke application that executes the commands.
+     * @param maxPendingCommands Maximum number of commands waiting to be executed.
+     */
+    public CommandExecutor(Duke duke, int maxPendingCommands) {
+        assert maxPendingCommands > 0 : "At least one command should be able to wait.";
+        this.duke = duke;
+        this.maxPendingCommands = maxPendingCommands;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxPendingCommands), runnable -> {
+                    Thread thread = new Thread(runnable, "duke-command-executor");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Submits a user command to be executed after the commands submitted before it.
+     * @param userCommand User command.
+     * @return Future completed with the response to the user command, or completed exceptionally
+     * with an {@link UncheckedIOException} if the tasks could not be saved.
+     * @throws RejectedExecutionException If too many commands are waiting to be executed, or the
+     * CommandExecutor is closed.
+     */
+    public CompletableFuture<String> submit(String userCommand) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return duke.getResponse(userCommand);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Indicates whether no more commands can be submitted until some of the waiting commands
+     * have been executed.
+     * @return Boolean value indicating whether the CommandExecutor is full.
+     */
+    public boolean isFull() {
+        return executor.getQueue().size() >= maxPendingCommands;
+    }
+
+    /**
+     * Executes the commands that have already been submitted and stops the CommandExecutor.
+     * @throws IOException If interrupted while waiting for the commands to be executed.
+     */
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while executing the remaining commands.", e);
+        }
+    }
+}
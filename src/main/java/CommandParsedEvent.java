@@ -0,0 +1,49 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a JFR event recording the parsing of a user command. The event lasts for as long
+ * as the parser took, and is recorded whether or not the user command could be parsed.
+ */
+@Name("duke.CommandParsed")
+@Label("Command Parsed")
+@Category({"Duke", "Commands"})
+@Description("A user command was parsed")
+public class CommandParsedEvent extends jdk.jfr.Event {
+
+    @Label("Command Type")
+    private String commandType;
+
+    @Label("Command Length")
+    @Description("Number of characters in the user command")
+    private int commandLength;
+
+    @Label("Valid")
+    private boolean isValid;
+
+    /**
+     * Sets the type of the parsed user command.
+     * @param commandType Name of the type of user command, such as "deleteall".
+     */
+    public void setCommandType(String commandType) {
+        this.commandType = commandType;
+    }
+
+    /**
+     * Sets the number of characters in the user command.
+     * @param commandLength Number of characters in the user command.
+     */
+    public void setCommandLength(int commandLength) {
+        this.commandLength = commandLength;
+    }
+
+    /**
+     * Sets whether the user command could be parsed.
+     * @param isValid Whether the user command could be parsed.
+     */
+    public void setValid(boolean isValid) {
+        this.isValid = isValid;
+    }
+}
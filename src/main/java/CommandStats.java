@@ -0,0 +1,225 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents the statistics of the user commands executed by the Duke application. For each
+ * type of command, the time spent in each phase of its execution is recorded in a
+ * {@link LatencyHistogram}, along with the number of commands that failed.
+ *
+ * <p>Rendering and saving happen inside the execution of a command, so the user interface and
+ * the storage system report the time they spend to the thread executing the command, which is
+ * then subtracted from the execution phase. Once every type of command has been seen, recording
+ * neither locks nor allocates, so the statistics are always collected.</p>
+ */
+public class CommandStats {
+
+    /**
+     * Represents the phases of the execution of a user command.
+     */
+    public enum Phase {
+        PARSE, EXECUTE, RENDER, SAVE
+    }
+
+    /** Name under which the user commands that could not be parsed are recorded. */
+    public static final String INVALID_COMMAND_NAME = "invalid";
+
+    private static final Map<String, CommandMetrics> METRICS = new ConcurrentSkipListMap<>();
+    private static final ClassValue<CommandMetrics> METRICS_BY_TYPE = new ClassValue<>() {
+        @Override
+        protected CommandMetrics computeValue(Class<?> commandType) {
+            return getMetrics(getCommandName(commandType));
+        }
+    };
+    private static final ThreadLocal<long[]> NESTED_PHASE_NANOS =
+            ThreadLocal.withInitial(() -> new long[Phase.values().length]);
+
+    private static ScheduledExecutorService dumper;
+
+    /**
+     * Represents the statistics of one type of user command.
+     */
+    private static class CommandMetrics {
+        private final LatencyHistogram[] phaseHistograms = new LatencyHistogram[Phase.values().length];
+        private final AtomicLong errorCount = new AtomicLong();
+
+        CommandMetrics() {
+            for (int i = 0; i < phaseHistograms.length; i++) {
+                phaseHistograms[i] = new LatencyHistogram();
+            }
+        }
+    }
+
+    private CommandStats() {
+    }
+
+    private static CommandMetrics getMetrics(String commandName) {
+        return METRICS.computeIfAbsent(commandName, name -> new CommandMetrics());
+    }
+
+    /**
+     * Returns the name of a type of user command, such as "deleteall" for DeleteAllCommand.
+     * @param commandType Type of the parsed user command.
+     * @return Name of the type of user command.
+     */
+    public static String getCommandName(Class<?> commandType) {
+        String name = commandType.getSimpleName();
+        if (name.endsWith("Command")) {
+            name = name.substring(0, name.length() - "Command".length());
+        }
+        return name.toLowerCase();
+    }
+
+    /**
+     * Starts timing the execution of a user command on the current thread, forgetting the
+     * rendering and saving time reported for any earlier command.
+     * @return Start time of the execution, in nanoseconds.
+     */
+    public static long startExecution() {
+        long[] nestedPhaseNanos = NESTED_PHASE_NANOS.get();
+        nestedPhaseNanos[Phase.RENDER.ordinal()] = 0;
+        nestedPhaseNanos[Phase.SAVE.ordinal()] = 0;
+        return System.nanoTime();
+    }
+
+    /**
+     * Reports time spent rendering or saving within the user command executing on the current
+     * thread.
+     * @param phase Phase in which the time was spent.
+     * @param startNanos Time, in nanoseconds, at which the phase started.
+     */
+    public static void addNestedTime(Phase phase, long startNanos) {
+        NESTED_PHASE_NANOS.get()[phase.ordinal()] += System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Returns the time spent rendering or saving within the user command executing on the
+     * current thread so far.
+     * @param phase Phase in which the time was spent.
+     * @return Time, in nanoseconds, spent in the phase.
+     */
+    public static long getNestedTime(Phase phase) {
+        return NESTED_PHASE_NANOS.get()[phase.ordinal()];
+    }
+
+    /**
+     * Records a user command that could not be parsed.
+     * @param parseNanos Time, in nanoseconds, spent parsing the user command.
+     */
+    public static void recordInvalid(long parseNanos) {
+        CommandMetrics metrics = getMetrics(INVALID_COMMAND_NAME);
+        metrics.phaseHistograms[Phase.PARSE.ordinal()].record(parseNanos);
+        metrics.errorCount.incrementAndGet();
+    }
+
+    /**
+     * Records the execution of a user command on the current thread, which was started by
+     * {@link #startExecution()}.
+     * @param commandType Type of the parsed user command.
+     * @param parseNanos Time, in nanoseconds, spent parsing the user command.
+     * @param executionStartNanos Time, in nanoseconds, at which the execution started.
+     * @param isSuccessful Whether the user command was executed without errors.
+     */
+    public static void recordExecution(Class<? extends ParsedCommand> commandType, long parseNanos,
+            long executionStartNanos, boolean isSuccessful) {
+        long executionNanos = System.nanoTime() - executionStartNanos;
+        long[] nestedPhaseNanos = NESTED_PHASE_NANOS.get();
+        long renderNanos = nestedPhaseNanos[Phase.RENDER.ordinal()];
+        long saveNanos = nestedPhaseNanos[Phase.SAVE.ordinal()];
+        CommandMetrics metrics = METRICS_BY_TYPE.get(commandType);
+        metrics.phaseHistograms[Phase.PARSE.ordinal()].record(parseNanos);
+        metrics.phaseHistograms[Phase.EXECUTE.ordinal()].record(executionNanos - renderNanos - saveNanos);
+        metrics.phaseHistograms[Phase.RENDER.ordinal()].record(renderNanos);
+        metrics.phaseHistograms[Phase.SAVE.ordinal()].record(saveNanos);
+        if (!isSuccessful) {
+            metrics.errorCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a report of the statistics of every type of user command executed so far, with
+     * the median, 99th percentile and longest time of each phase in microseconds.
+     * @return Report of the statistics.
+     */
+    public static String getReport() {
+        StringBuilder report = new StringBuilder();
+        if (METRICS.isEmpty()) {
+            report.append("No commands have been executed yet.").append(System.lineSeparator());
+        }
+        for (Map.Entry<String, CommandMetrics> entry : METRICS.entrySet()) {
+            CommandMetrics metrics = entry.getValue();
+            report.append(entry.getKey()).append(": ")
+                    .append(metrics.phaseHistograms[Phase.PARSE.ordinal()].getCount()).append(" commands, ")
+                    .append(metrics.errorCount.get()).append(" errors").append(System.lineSeparator());
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = metrics.phaseHistograms[phase.ordinal()];
+                if (histogram.getCount() == 0) {
+                    continue;
+                }
+                report.append("   ").append(phase.name().toLowerCase())
+                        .append(" p50 ").append(formatMicros(histogram.getPercentile(0.5)))
+                        .append(" p99 ").append(formatMicros(histogram.getPercentile(0.99)))
+                        .append(" max ").append(formatMicros(histogram.getMax()))
+                        .append(System.lineSeparator());
+            }
+        }
+        return report.toString();
+    }
+
+    private static String formatMicros(long nanos) {
+        return String.format("%.1fus", nanos / 1000.0);
+    }
+
+    /**
+     * Starts writing the report of the statistics to a file at a fixed interval, replacing
+     * the previous report each time. Does nothing if the report is already being written.
+     * @param reportPath Path of the file to which the report is written.
+     * @param intervalSeconds Interval, in seconds, between reports.
+     */
+    public static synchronized void startDumping(Path reportPath, long intervalSeconds) {
+        if (dumper != null) {
+            return;
+        }
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duke-stats-dumper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> {
+            try {
+                dump(reportPath);
+            } catch (IOException e) {
+                // The report is written again at the next interval.
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops writing the report of the statistics at a fixed interval.
+     */
+    public static synchronized void stopDumping() {
+        if (dumper != null) {
+            dumper.shutdown();
+            dumper = null;
+        }
+    }
+
+    /**
+     * Writes the report of the statistics to a file, through a temporary file so that the
+     * file always holds a complete report.
+     * @param reportPath Path of the file to which the report is written.
+     * @throws IOException If an error occurs while writing the report.
+     */
+    public static void dump(Path reportPath) throws IOException {
+        Path temporaryPath = reportPath.resolveSibling(reportPath.getFileName() + ".tmp");
+        Files.writeString(temporaryPath, getReport());
+        Files.move(temporaryPath, reportPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
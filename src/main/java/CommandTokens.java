@@ -0,0 +1,149 @@
+/**
+ * Represents a user command split into words separated by spaces. The command is split in
+ * a single pass that only records where each word starts and ends, so that words are only
+ * copied out of the command when they are needed.
+ */
+public class CommandTokens {
+
+    private static final int MAX_NUMBER_LENGTH = 9;
+
+    private final String userCommand;
+    private final int[] bounds;
+    private final int size;
+
+    private CommandTokens(String userCommand, int[] bounds, int size) {
+        this.userCommand = userCommand;
+        this.bounds = bounds;
+        this.size = size;
+    }
+
+    /**
+     * Splits a user command into words separated by one or more spaces.
+     * @param userCommand User command.
+     * @return CommandTokens of the user command.
+     */
+    public static CommandTokens tokenize(String userCommand) {
+        int[] bounds = new int[userCommand.length() + 1];
+        int size = 0;
+        int wordStart = -1;
+        for (int i = 0; i <= userCommand.length(); i++) {
+            boolean isSeparator = i == userCommand.length() || userCommand.charAt(i) == ' ';
+            if (isSeparator && wordStart >= 0) {
+                bounds[2 * size] = wordStart;
+                bounds[2 * size + 1] = i;
+                size++;
+                wordStart = -1;
+            } else if (!isSeparator && wordStart < 0) {
+                wordStart = i;
+            }
+        }
+        return new CommandTokens(userCommand, bounds, size);
+    }
+
+    /**
+     * Returns the number of words in the user command.
+     * @return Number of words.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the position in the user command at which the specified word starts.
+     * @param index Index of the word.
+     * @return Position of the first character of the word.
+     */
+    public int getStart(int index) {
+        return bounds[2 * index];
+    }
+
+    /**
+     * Returns the position in the user command just after the specified word.
+     * @param index Index of the word.
+     * @return Position just after the last character of the word.
+     */
+    public int getEnd(int index) {
+        return bounds[2 * index + 1];
+    }
+
+    /**
+     * Returns the specified word of the user command.
+     * @param index Index of the word.
+     * @return Word at the index.
+     */
+    public String get(int index) {
+        return userCommand.substring(getStart(index), getEnd(index));
+    }
+
+    /**
+     * Returns the part of the user command from the specified word to the end, including any
+     * spaces between the later words.
+     * @param index Index of the word.
+     * @return Part of the user command starting at the word.
+     */
+    public String getRest(int index) {
+        return userCommand.substring(getStart(index));
+    }
+
+    /**
+     * Indicates whether the specified word of the user command is equal to a keyword.
+     * @param index Index of the word.
+     * @param keyword Keyword to be compared with.
+     * @return Boolean value indicating whether the word is equal to the keyword.
+     */
+    public boolean matches(int index, String keyword) {
+        int start = getStart(index);
+        return getEnd(index) - start == keyword.length() && userCommand.startsWith(keyword, start);
+    }
+
+    /**
+     * Indicates whether the specified word of the user command is a non-negative number.
+     * @param index Index of the word.
+     * @return Boolean value indicating whether the word is a number.
+     */
+    public boolean isNumber(int index) {
+        return parseNumber(userCommand, getStart(index), getEnd(index)) >= 0;
+    }
+
+    /**
+     * Returns the value of the specified word of the user command, which must be a number.
+     * @param index Index of the word, for which {@link #isNumber(int)} holds.
+     * @return Value of the number.
+     */
+    public int getNumber(int index) {
+        assert isNumber(index) : "The word should be a number.";
+        return parseNumber(userCommand, getStart(index), getEnd(index));
+    }
+
+    /**
+     * Indicates whether a piece of text is a non-negative number.
+     * @param text Text to be checked.
+     * @return Boolean value indicating whether the text is a number.
+     */
+    public static boolean isNumber(String text) {
+        return parseNumber(text, 0, text.length()) >= 0;
+    }
+
+    /**
+     * Returns the value of the non-negative number in the specified part of a piece of text.
+     * @param text Text containing the number.
+     * @param start Position of the first digit of the number.
+     * @param end Position just after the last digit of the number.
+     * @return Value of the number, or -1 if that part of the text is not a number.
+     */
+    public static int parseNumber(String text, int start, int end) {
+        boolean hasValidLength = end > start && end - start <= MAX_NUMBER_LENGTH;
+        if (!hasValidLength) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = start; i < end; i++) {
+            char character = text.charAt(i);
+            if (character < '0' || character > '9') {
+                return -1;
+            }
+            number = number * 10 + (character - '0');
+        }
+        return number;
+    }
+}
@@ -0,0 +1,263 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Represents a task list that can be read and modified by several threads at once. Changes to
+ * the task list are made one at a time, while any number of threads may read it.
+ *
+ * <p>Listing all the tasks, and handing the tasks to the storage system, read an immutable
+ * snapshot of the task list. The snapshot is taken on the first such read after a change and
+ * shared by every later read until the next change, so that a long listing holds no lock and
+ * does not hold up changes. The tasks themselves are shared with the task list, so a task that
+ * is marked as done afterwards may already show as done in an earlier snapshot.</p>
+ *
+ * <p>Searches and pages of the task list are short, so they hold a read lock instead. The
+ * indexes that a search uses are built under the write lock before the first search that needs
+ * them, so that searches only ever read them. An index is only built for the searches that use
+ * it, and is then kept up to date as tasks are added and deleted.</p>
+ *
+ * <p>Task positions are parsed against the length of the task list before the write lock is
+ * taken, so marking and deleting tasks check the positions again under the write lock, and
+ * leave the task list unchanged if another change has since moved them out of range.</p>
+ */
+public class ConcurrentTaskList extends TaskList {
+
+    private final ReentrantReadWriteLock lock;
+    private volatile List<Task> snapshot;
+
+    /**
+     * Constructs an empty ConcurrentTaskList.
+     */
+    public ConcurrentTaskList() {
+        this(new ArrayList<>());
+    }
+
+    /**
+     * Constructs a ConcurrentTaskList containing the tasks saved in the hard disk.
+     * @param savedTasks List of tasks saved in the hard disk.
+     */
+    public ConcurrentTaskList(List<Task> savedTasks) {
+        super(savedTasks);
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    @Override
+    public int getLength() {
+        return read(super::getLength);
+    }
+
+    /**
+     * Returns a snapshot of the tasks in the ConcurrentTaskList, which must not be modified.
+     * @return Snapshot of the tasks.
+     */
+    @Override
+    public List<Task> getTasks() {
+        List<Task> currentSnapshot = snapshot;
+        if (currentSnapshot != null) {
+            return currentSnapshot;
+        }
+        lock.readLock().lock();
+        try {
+            currentSnapshot = snapshot;
+            if (currentSnapshot == null) {
+                currentSnapshot = copyTasks(super.getTasks());
+                snapshot = currentSnapshot;
+            }
+            return currentSnapshot;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String showList(Ui ui) {
+        return ui.showList(Collections.unmodifiableList(getTasks()));
+    }
+
+    @Override
+    public String showPage(int page, int pageSize, Ui ui) {
+        return read(() -> super.showPage(page, pageSize, ui));
+    }
+
+    @Override
+    public void writeList(Ui ui, Appendable out) throws IOException {
+        ui.writeList(Collections.unmodifiableList(getTasks()), out);
+    }
+
+    @Override
+    public String markDone(int taskPosition, Ui ui) {
+        return write(() -> {
+            checkTaskPosition(taskPosition);
+            return super.markDone(taskPosition, ui);
+        });
+    }
+
+    @Override
+    public String markDone(BitSet doneTaskPositions, Ui ui) {
+        return write(() -> {
+            checkTaskPosition(doneTaskPositions.length() - 1);
+            return super.markDone(doneTaskPositions, ui);
+        });
+    }
+
+    @Override
+    public String deleteTasks(BitSet deletedTaskPositions, Ui ui) {
+        return write(() -> {
+            checkTaskPosition(deletedTaskPositions.length() - 1);
+            return super.deleteTasks(deletedTaskPositions, ui);
+        });
+    }
+
+    @Override
+    public String deleteAll(Ui ui) {
+        return write(() -> super.deleteAll(ui));
+    }
+
+    @Override
+    public String addTask(Task task, Ui ui) {
+        return write(() -> super.addTask(task, ui));
+    }
+
+    @Override
+    public void addTasks(List<Task> addedTasks) {
+        write(() -> {
+            super.addTasks(addedTasks);
+            return null;
+        });
+    }
+
+    @Override
+    public int syncTasks(List<String> savedTasks) {
+        return write(() -> super.syncTasks(savedTasks));
+    }
+
+    @Override
+    public String findTask(String keyword, Ui ui) {
+        return search(() -> super.findTask(keyword, ui), getSubstringIndexTypes(keyword));
+    }
+
+    @Override
+    public String findTask(String keyword, int page, int pageSize, Ui ui) {
+        return search(() -> super.findTask(keyword, page, pageSize, ui), getSubstringIndexTypes(keyword));
+    }
+
+    @Override
+    public String findTasks(ArrayList<ArrayList<String>> keywordGroups, Ui ui) {
+        return search(() -> super.findTasks(keywordGroups, ui), IndexType.KEYWORD);
+    }
+
+    @Override
+    public String findTasks(ArrayList<ArrayList<String>> keywordGroups, int page, int pageSize, Ui ui) {
+        return search(() -> super.findTasks(keywordGroups, page, pageSize, ui), IndexType.KEYWORD);
+    }
+
+    @Override
+    public String findDueBefore(long before, Ui ui) {
+        return search(() -> super.findDueBefore(before, ui), IndexType.DEADLINE);
+    }
+
+    @Override
+    public String findBetween(long from, long to, Ui ui) {
+        return search(() -> super.findBetween(from, to, ui), IndexType.DEADLINE, IndexType.EVENT);
+    }
+
+    @Override
+    public String findOverdue(Ui ui) {
+        return search(() -> super.findOverdue(ui), IndexType.DEADLINE);
+    }
+
+    @Override
+    public String findOverlapping(long from, long to, Ui ui) {
+        return search(() -> super.findOverlapping(from, to, ui), IndexType.INTERVAL);
+    }
+
+    @Override
+    public String findFreeSlots(long day, Ui ui) {
+        return search(() -> super.findFreeSlots(day, ui), IndexType.INTERVAL);
+    }
+
+    /**
+     * Checks that a task position is within the task list. The write lock must be held.
+     */
+    private void checkTaskPosition(int taskPosition) {
+        int length = super.getLength();
+        if (taskPosition >= length) {
+            throw new IndexOutOfBoundsException("Task position " + taskPosition + " is out of range for "
+                    + length + " tasks.");
+        }
+    }
+
+    private boolean hasFreshIndexes(IndexType... indexTypes) {
+        for (IndexType indexType : indexTypes) {
+            if (!hasFreshIndex(indexType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a change to the ConcurrentTaskList under the write lock, discarding the snapshot
+     * taken before the change.
+     */
+    private <T> T write(Supplier<T> change) {
+        lock.writeLock().lock();
+        try {
+            snapshot = null;
+            return change.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the indexes used to find tasks containing a keyword, which only searches with
+     * keywords long enough to have trigrams use.
+     */
+    private static IndexType[] getSubstringIndexTypes(String keyword) {
+        return TrigramIndex.canFind(keyword) ? new IndexType[] {IndexType.TRIGRAM} : new IndexType[0];
+    }
+
+    /**
+     * Runs a search of the ConcurrentTaskList under the read lock, first building the indexes
+     * that the search uses under the write lock if they do not exist or have gone stale.
+     */
+    private String search(Supplier<String> query, IndexType... indexTypes) {
+        lock.readLock().lock();
+        try {
+            if (hasFreshIndexes(indexTypes)) {
+                return query.get();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            for (IndexType indexType : indexTypes) {
+                buildIndex(indexType);
+            }
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
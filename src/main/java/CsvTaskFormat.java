@@ -0,0 +1,149 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+
+/**
+ * Represents the CSV format of tasks, as described in RFC 4180. A header row is followed by a
+ * row for each task, holding its type, whether it is done, its description, and its date and
+ * end date, if any:
+ *
+ * <pre>
+ * type,done,description,date,end
+ * todo,false,read book,,
+ * event,true,"meeting, team",2020-09-15T12:00,2020-09-15T13:00
+ * </pre>
+ *
+ * <p>Fields that hold a comma, a double quote or a line break are enclosed in double quotes,
+ * with their double quotes doubled. Rows that repeat the header are skipped when reading.</p>
+ */
+public class CsvTaskFormat extends TaskFormat {
+
+    private static final String HEADER = "type,done,description,date,end";
+    private static final String LINE_BREAK = "\r\n";
+
+    @Override
+    public void writeHeader(Writer out) throws IOException {
+        out.write(HEADER);
+        out.write(LINE_BREAK);
+    }
+
+    @Override
+    public void write(Task task, Writer out) throws IOException {
+        out.write(getTypeName(task));
+        out.write(task.isDone() ? ",true," : ",false,");
+        writeField(task.getDescription(), out);
+        out.write(',');
+        writeField(getDate(task), out);
+        out.write(',');
+        writeField(getEndDate(task), out);
+        out.write(LINE_BREAK);
+    }
+
+    private static void writeField(String field, Writer out) throws IOException {
+        if (field == null) {
+            return;
+        }
+        boolean isQuoted = false;
+        for (int i = 0; i < field.length() && !isQuoted; i++) {
+            char c = field.charAt(i);
+            isQuoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!isQuoted) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        out.write(field.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    @Override
+    public Task read(BufferedReader in) throws IOException {
+        String row = readRow(in);
+        while (row != null && (row.isEmpty() || row.equalsIgnoreCase(HEADER))) {
+            row = readRow(in);
+        }
+        if (row == null) {
+            return null;
+        }
+        ArrayList<String> fields = parseFields(row);
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException("The row should have a type, done flag and description.");
+        }
+        return createTask(fields.get(0), parseDone(fields.get(1)), fields.get(2),
+                fields.size() > 3 ? fields.get(3) : null, fields.size() > 4 ? fields.get(4) : null);
+    }
+
+    /**
+     * Reads the lines of the next row, which continues onto further lines while a quoted field
+     * is left open.
+     * @return Next row, or null at the end of the document.
+     */
+    private static String readRow(BufferedReader in) throws IOException {
+        String line = in.readLine();
+        if (line == null) {
+            return null;
+        }
+        StringBuilder row = new StringBuilder(line);
+        int quoteCount = countQuotes(line);
+        while (quoteCount % 2 == 1) {
+            line = in.readLine();
+            if (line == null) {
+                throw new IllegalArgumentException("The row has a quoted field that is not closed.");
+            }
+            row.append('\n').append(line);
+            quoteCount += countQuotes(line);
+        }
+        return row.toString();
+    }
+
+    private static int countQuotes(String line) {
+        int quoteCount = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                quoteCount++;
+            }
+        }
+        return quoteCount;
+    }
+
+    private static ArrayList<String> parseFields(String row) {
+        ArrayList<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean isInQuotes = false;
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (isInQuotes && c == '"') {
+                boolean isEscapedQuote = i + 1 < row.length() && row.charAt(i + 1) == '"';
+                if (isEscapedQuote) {
+                    field.append('"');
+                    i++;
+                } else {
+                    isInQuotes = false;
+                }
+            } else if (isInQuotes) {
+                field.append(c);
+            } else if (c == '"') {
+                isInQuotes = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static boolean parseDone(String done) {
+        if (done.equalsIgnoreCase("true") || done.equals("1")) {
+            return true;
+        }
+        if (done.equalsIgnoreCase("false") || done.equals("0")) {
+            return false;
+        }
+        throw new IllegalArgumentException("The done flag should be true or false.");
+    }
+}
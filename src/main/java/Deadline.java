@@ -4,21 +4,60 @@
  */
 public class Deadline extends Task {
 
-    private String by;
+    private long by;
+    private String byText;
 
     /**
-     * Constructs a Deadline with the specified description and date.
+     * Constructs a Deadline with the specified description and date. The date is kept as a
+     * timestamp if it is in the format of {@link TaskDate#format(long)}, and as text otherwise.
      * @param description Description of the Deadline.
-     * @param by Date that the Deadline is due.
+     * @param by Date at which the Deadline is due.
      */
     public Deadline(String description, String by) {
+        super(description);
+        this.by = TaskDate.parseFormatted(by);
+        this.byText = this.by == TaskDate.NONE ? by : null;
+    }
+
+    /**
+     * Constructs a Deadline with the specified description and timestamp.
+     * @param description Description of the Deadline.
+     * @param by Timestamp of the date at which the Deadline is due.
+     */
+    public Deadline(String description, long by) {
         super(description);
         this.by = by;
     }
 
+    /**
+     * Constructs a Deadline that is stored at the specified position of a binary task file.
+     * @param source Binary task file containing the Deadline.
+     * @param sourcePosition Position of the Deadline in the binary task file.
+     */
+    public Deadline(BinaryTaskFile source, int sourcePosition) {
+        super(source, sourcePosition);
+        String by = source.getDetails(sourcePosition);
+        this.by = TaskDate.parseFormatted(by);
+        this.byText = this.by == TaskDate.NONE ? by : null;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return by;
+    }
+
+    /**
+     * Returns the date of the Deadline as it is displayed, which is the date as it was given
+     * if it could not be understood.
+     * @return Date of the Deadline.
+     */
+    public String getByText() {
+        return by == TaskDate.NONE ? byText : TaskDate.format(by);
+    }
+
     @Override
     public String toString() {
-        return "[D]" + super.toString() + " (by: " + by + ")";
+        return "[D]" + super.toString() + " (by: " + getByText() + ")";
     }
 
     /**
@@ -26,7 +65,7 @@ public class Deadline extends Task {
      * @return String representation of the Deadline.
      */
     public String getFormattedString() {
-        return "D | " + (super.isDone ? 1 : 0) + " | " + super.description + " | "
-                + by;
+        return "D | " + (super.isDone ? 1 : 0) + " | " + getDescription() + " | "
+                + getByText();
     }
 }
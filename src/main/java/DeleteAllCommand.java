@@ -0,0 +1,14 @@
+import java.io.IOException;
+
+/**
+ * Represents a command to delete all the tasks from the task list.
+ */
+public class DeleteAllCommand extends ParsedCommand {
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) throws IOException {
+        String response = taskList.deleteAll(ui);
+        storage.saveDeleteAll(taskList.getTasks());
+        return response;
+    }
+}
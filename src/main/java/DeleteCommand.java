@@ -0,0 +1,33 @@
+import java.io.IOException;
+import java.util.BitSet;
+
+/**
+ * Represents a command to delete specific tasks from the task list.
+ */
+public class DeleteCommand extends ParsedCommand {
+
+    private final BitSet taskPositions;
+
+    /**
+     * Constructs a DeleteCommand for the tasks at the specified positions.
+     * @param taskPositions Positions of the tasks in the task list.
+     */
+    public DeleteCommand(BitSet taskPositions) {
+        this.taskPositions = taskPositions;
+    }
+
+    /**
+     * Returns the positions of the tasks to be deleted.
+     * @return Positions of the tasks in the task list.
+     */
+    public BitSet getTaskPositions() {
+        return (BitSet) taskPositions.clone();
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) throws IOException {
+        String response = taskList.deleteTasks(taskPositions, ui);
+        storage.saveDelete(taskPositions, taskList.getTasks());
+        return response;
+    }
+}
@@ -1,50 +1,74 @@
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 
 /**
- * An example of a custom control using FXML.
+ * A custom control built in code.
  * This control represents a dialog box consisting of an ImageView to represent the speaker's face and a label
  * containing text from the speaker.
+ *
+ * <p>The layout matches the one that used to be loaded from {@code /view/DialogBox.fxml} for every dialog box,
+ * without parsing FXML or injecting fields by reflection for every message.</p>
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+
+    private static final double PREF_WIDTH = 400.0;
+    private static final double IMAGE_SIZE = 99.0;
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
+
+    private final Label dialog;
+    private final ImageView displayPicture;
+
+    private boolean isFlipped;
 
     private DialogBox(String text, Image img) {
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        dialog = new Label(text);
+        dialog.setWrapText(true);
+        displayPicture = new ImageView(img);
+        displayPicture.setFitHeight(IMAGE_SIZE);
+        displayPicture.setFitWidth(IMAGE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
 
-        dialog.setText(text);
-        displayPicture.setImage(img);
+        setAlignment(Pos.TOP_RIGHT);
+        setMinHeight(USE_PREF_SIZE);
+        setMaxHeight(USE_PREF_SIZE);
+        setMaxWidth(Double.MAX_VALUE);
+        setPrefWidth(PREF_WIDTH);
+        setPadding(PADDING);
+        getChildren().setAll(dialog, displayPicture);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Flips the dialog box such that the ImageView is on the left and text on the right, or
+     * back again if it has already been flipped.
      */
     private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+        isFlipped = !isFlipped;
+        if (isFlipped) {
+            getChildren().setAll(displayPicture, dialog);
+        } else {
+            getChildren().setAll(dialog, displayPicture);
+        }
+        setAlignment(isFlipped ? Pos.TOP_LEFT : Pos.TOP_RIGHT);
+    }
+
+    /**
+     * Shows another message in the dialog box, so that one dialog box can be reused for
+     * different messages.
+     * @param text Text of the message.
+     * @param img Image of the speaker.
+     * @param isDukeDialog Whether the message is from Duke, with the ImageView on the left.
+     */
+    public void setMessage(String text, Image img, boolean isDukeDialog) {
+        dialog.setText(text);
+        displayPicture.setImage(img);
+        if (isFlipped != isDukeDialog) {
+            flip();
+        }
     }
 
     public static DialogBox getUserDialog(String text, Image img) {
@@ -0,0 +1,44 @@
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * Represents a row of the conversation shown by the main window. The list view only creates
+ * enough DialogCells to fill its visible area, and each DialogCell reuses a single DialogBox
+ * to show whichever message it is currently given.
+ */
+public class DialogCell extends ListCell<DialogMessage> {
+
+    private static final double SCROLL_BAR_WIDTH = 20;
+
+    private final DialogBox dialogBox;
+    private final Image userImage;
+    private final Image dukeImage;
+
+    /**
+     * Constructs a DialogCell for the specified list view.
+     * @param listView List view showing the conversation.
+     * @param userImage Image shown next to the messages of the user.
+     * @param dukeImage Image shown next to the messages of the Duke application.
+     */
+    public DialogCell(ListView<DialogMessage> listView, Image userImage, Image dukeImage) {
+        this.dialogBox = DialogBox.getUserDialog("", userImage);
+        this.userImage = userImage;
+        this.dukeImage = dukeImage;
+        dialogBox.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_WIDTH));
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(DialogMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        setText(null);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        boolean isFromUser = message.isFromUser();
+        dialogBox.setMessage(message.getText(), isFromUser ? userImage : dukeImage, !isFromUser);
+        setGraphic(dialogBox);
+    }
+}
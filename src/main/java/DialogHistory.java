@@ -0,0 +1,106 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Represents the conversation shown by the main window of the Duke application. Only the most
+ * recent messages are kept in memory. Once there are more than the maximum number of messages,
+ * the oldest ones are appended to a text log and dropped, so that a long session does not keep
+ * growing the memory and layout time of the main window.
+ *
+ * <p>Messages are dropped a quarter of the maximum at a time, so that the shown messages shift
+ * only once in a while rather than on every new message.</p>
+ */
+public class DialogHistory {
+
+    /** Maximum number of messages kept in memory when none is specified. */
+    public static final int DEFAULT_MAX_MESSAGES = 200;
+
+    private final ObservableList<DialogMessage> messages = FXCollections.observableArrayList();
+    private final ObservableList<DialogMessage> shownMessages = FXCollections.unmodifiableObservableList(messages);
+    private final int maxMessages;
+    private final Path logPath;
+    private Writer log;
+
+    /**
+     * Constructs an empty DialogHistory.
+     * @param maxMessages Maximum number of messages kept in memory.
+     * @param logPath Path of the text log to which older messages are appended.
+     */
+    public DialogHistory(int maxMessages, Path logPath) {
+        assert maxMessages > 0 : "At least one message should be kept.";
+        this.maxMessages = maxMessages;
+        this.logPath = logPath;
+    }
+
+    /**
+     * Returns the messages kept in memory, oldest first. The returned list changes as messages
+     * are added and dropped, and cannot be modified directly.
+     * @return Messages kept in memory.
+     */
+    public ObservableList<DialogMessage> getMessages() {
+        return shownMessages;
+    }
+
+    /**
+     * Adds messages to the DialogHistory, moving the oldest messages to the text log if there
+     * are too many of them.
+     * @param newMessages Messages to be added.
+     * @throws IOException If an error occurs while writing to the text log.
+     */
+    public void add(DialogMessage... newMessages) throws IOException {
+        messages.addAll(newMessages);
+        if (messages.size() > maxMessages) {
+            int keptMessageCount = maxMessages - maxMessages / 4;
+            spill(messages.size() - keptMessageCount);
+        }
+    }
+
+    /**
+     * Replaces a message in the DialogHistory, such as a placeholder for a response that is
+     * now ready. If the message has already been moved to the text log, the new message is
+     * added instead.
+     * @param oldMessage Message to be replaced.
+     * @param newMessage Message replacing it.
+     * @throws IOException If an error occurs while writing to the text log.
+     */
+    public void replace(DialogMessage oldMessage, DialogMessage newMessage) throws IOException {
+        int position = messages.lastIndexOf(oldMessage);
+        if (position < 0) {
+            add(newMessage);
+            return;
+        }
+        messages.set(position, newMessage);
+    }
+
+    private void spill(int count) throws IOException {
+        if (log == null) {
+            Path logDirectory = logPath.toAbsolutePath().getParent();
+            if (logDirectory != null) {
+                Files.createDirectories(logDirectory);
+            }
+            log = Files.newBufferedWriter(logPath, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        for (int i = 0; i < count; i++) {
+            log.write(messages.get(i).getLoggedString());
+        }
+        log.flush();
+        messages.remove(0, count);
+    }
+
+    /**
+     * Releases the text log of the DialogHistory. Messages still kept in memory are not logged.
+     * @throws IOException If an error occurs while closing the text log.
+     */
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+}
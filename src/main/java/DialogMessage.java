@@ -0,0 +1,57 @@
+/**
+ * Represents a message in the conversation between the user and the Duke application, as
+ * shown by the main window.
+ */
+public class DialogMessage {
+
+    private final String text;
+    private final boolean isFromUser;
+
+    private DialogMessage(String text, boolean isFromUser) {
+        this.text = text;
+        this.isFromUser = isFromUser;
+    }
+
+    /**
+     * Returns a DialogMessage containing a user command.
+     * @param text User command.
+     * @return DialogMessage from the user.
+     */
+    public static DialogMessage fromUser(String text) {
+        return new DialogMessage(text, true);
+    }
+
+    /**
+     * Returns a DialogMessage containing a response of the Duke application.
+     * @param text Response of the Duke application.
+     * @return DialogMessage from the Duke application.
+     */
+    public static DialogMessage fromDuke(String text) {
+        return new DialogMessage(text, false);
+    }
+
+    /**
+     * Returns the text of the DialogMessage.
+     * @return Text of the DialogMessage.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Indicates whether the DialogMessage was sent by the user.
+     * @return Boolean value indicating whether the DialogMessage is from the user.
+     */
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    /**
+     * Returns a representation of the DialogMessage that will be saved in the conversation log.
+     * User commands are marked with "> ", and responses are kept as they are.
+     * @return String representation of the DialogMessage.
+     */
+    public String getLoggedString() {
+        return isFromUser ? "> " + text + System.lineSeparator() : text;
+    }
+}
@@ -0,0 +1,33 @@
+import java.io.IOException;
+import java.util.BitSet;
+
+/**
+ * Represents a command to mark tasks in the task list as done.
+ */
+public class DoneCommand extends ParsedCommand {
+
+    private final BitSet taskPositions;
+
+    /**
+     * Constructs a DoneCommand for the tasks at the specified positions.
+     * @param taskPositions Positions of the tasks in the task list.
+     */
+    public DoneCommand(BitSet taskPositions) {
+        this.taskPositions = taskPositions;
+    }
+
+    /**
+     * Returns the positions of the tasks to be marked as done.
+     * @return Positions of the tasks in the task list.
+     */
+    public BitSet getTaskPositions() {
+        return (BitSet) taskPositions.clone();
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) throws IOException {
+        String response = taskList.markDone(taskPositions, ui);
+        storage.saveDone(taskPositions, taskList.getTasks());
+        return response;
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Represents a command to show the deadlines that are due before a date.
+ */
+public class DueCommand extends ParsedCommand {
+
+    private final long before;
+
+    /**
+     * Constructs a DueCommand for the specified date.
+     * @param before Timestamp of the date.
+     */
+    public DueCommand(long before) {
+        this.before = before;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) {
+        return taskList.findDueBefore(before, ui);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -1,4 +1,14 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
 
 /**
  * Represents the backend of the Duke application. The backend consists of the
@@ -7,11 +17,16 @@ import java.io.IOException;
  */
 public class Duke {
 
+    private static final String BATCH_USAGE = "Usage: duke --batch [FILE] [--commit-every N] [--quiet]";
+    private static final String SERVER_USAGE = "Usage: duke --server [PORT]";
+
     private Storage storage;
     private TaskList tasks;
     private Parser parser;
     private Command command;
     private Ui ui;
+    private boolean isWatched;
+    private boolean isShared;
 
     /**
      * Constructs a Duke application with the specified location for
@@ -21,14 +36,59 @@ public class Duke {
      * directory or file containing the tasks.
      */
     public Duke(String filePath) throws IOException {
-        storage = new Storage(filePath);
-        parser = new Parser();
-        command = new Command();
-        ui = new Ui();
-        try {
-            tasks = new TaskList(storage.load());
-        } catch (DukeException e) {
-            tasks = new TaskList();
+        this(filePath, Boolean.getBoolean("duke.journal"));
+    }
+
+    /**
+     * Constructs a Duke application with the specified location for
+     * containing tasks, optionally saving changes to the tasks in a journal.
+     * When the application is started with {@code -Dduke.fastStart=true}, the
+     * tasks are only loaded once the first user command is executed.
+     * @param filePath Path of the file that contains the tasks.
+     * @param isJournaled Whether changes to the tasks are appended to a journal
+     *                    instead of rewriting the file that contains the tasks.
+     * @throws IOException If an error occurs while accessing or creating the
+     * directory or file containing the tasks.
+     */
+    public Duke(String filePath, boolean isJournaled) throws IOException {
+        this(createStorage(filePath, isJournaled), Boolean.getBoolean("duke.fastStart"),
+                Boolean.getBoolean("duke.watchTasks"), false);
+        String statsPath = System.getProperty("duke.stats.file");
+        if (statsPath != null) {
+            CommandStats.startDumping(Paths.get(statsPath), Long.getLong("duke.stats.intervalSeconds", 60));
+        }
+        if (Boolean.getBoolean("duke.asyncWrites")) {
+            storage.startWriter(Long.getLong("duke.writer.maxLatencyMillis", StorageWriter.DEFAULT_MAX_LATENCY_MILLIS),
+                    Integer.getInteger("duke.writer.maxBatchSize", StorageWriter.DEFAULT_MAX_BATCH_SIZE));
+        }
+    }
+
+    /**
+     * Constructs a Duke application backed by the specified storage system, loading the tasks
+     * at once. Unlike the other constructors, it ignores the {@code -Dduke.*} switches of the
+     * process: the task file is not watched, no command statistics are dumped, and changes are
+     * written by whichever StorageWriter the storage system was given. The tasks are kept in a
+     * ConcurrentTaskList, so that user commands that only read the tasks may be written by
+     * {@link #writeResponse} on several threads at once, alongside one that changes them. As
+     * the user commands may come from users of a {@link DukeServer}, who must not reach the
+     * files of the process, commands to import or export tasks are refused.
+     * @param storage Storage system containing the tasks.
+     * @throws IOException If an error occurs while accessing or creating the
+     * directory or file containing the tasks.
+     */
+    public Duke(Storage storage) throws IOException {
+        this(storage, false, false, true);
+    }
+
+    private Duke(Storage storage, boolean isFastStart, boolean isWatched, boolean isShared) throws IOException {
+        this.storage = storage;
+        this.parser = new Parser(!isShared);
+        this.command = new Command();
+        this.ui = new Ui();
+        this.isWatched = isWatched;
+        this.isShared = isShared;
+        if (!isFastStart) {
+            loadTasks();
         }
     }
 
@@ -42,39 +102,252 @@ public class Duke {
         this("data/tasks.txt");
     }
 
+    private static Storage createStorage(String filePath, boolean isJournaled) {
+        Storage storage = new Storage(filePath, isJournaled);
+        storage.setColumnar(Boolean.getBoolean("duke.columnarTasks"));
+        return storage;
+    }
+
+    /**
+     * Loads the tasks from the hard disk. When the application is started with
+     * {@code -Dduke.watchTasks=true}, the task file is watched for changes made
+     * by other programs from then on.
+     */
+    private void loadTasks() throws IOException {
+        try {
+            tasks = isShared ? new ConcurrentTaskList(storage.load()) : new TaskList(storage.load());
+        } catch (DukeException e) {
+            tasks = isShared ? new ConcurrentTaskList() : new TaskList();
+        }
+        if (isWatched) {
+            storage.startWatching(Long.getLong("duke.watcher.debounceMillis",
+                    TaskFileWatcher.DEFAULT_DEBOUNCE_MILLIS));
+        }
+    }
+
     /**
-     * Runs the Duke application.
+     * Returns the task list of the Duke application, first loading the tasks
+     * from the hard disk if their loading has been deferred, or applying the
+     * changes made to the task file by other programs since it was last read.
+     */
+    private TaskList getTaskList() throws IOException {
+        if (tasks == null) {
+            loadTasks();
+            return tasks;
+        }
+        List<String> savedTasks = storage.readExternalChanges();
+        if (savedTasks != null) {
+            tasks.syncTasks(savedTasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Runs the Duke application. When the application is started with
+     * {@code -Dduke.exitOnFirstPrompt=true}, it exits as soon as the welcome
+     * message is shown, so that the time it takes to start can be measured.
      * @throws IOException If an error occurs while accessing or creating the
      * directory or file containing the tasks.
      */
     public void run() throws IOException {
         ui.showWelcome();
+        if (Boolean.getBoolean("duke.exitOnFirstPrompt")) {
+            close();
+            return;
+        }
         command.receiveUserCommand(ui.readCommand());
         while (!command.exit()) {
             try {
-                command.executeUserCommand(parser, tasks, storage, ui);
+                command.executeUserCommand(parser, getTaskList(), storage, ui);
             } catch (InvalidTaskArgumentException | InvalidDoneException | InvalidCommandException
-                    | InvalidDeleteException | InvalidFindException | DateException e) {
+                    | InvalidDeleteException | InvalidFindException | DateException | InvalidScheduleException
+                    | InvalidTransferException e) {
                 ui.showError(e.getMessage());
             } finally {
                 command.receiveUserCommand(ui.readCommand());
             }
         }
+        close();
         ui.showFarewell();
     }
 
+    /**
+     * Writes all the pending changes to the tasks to the hard disk and releases
+     * the storage system of the Duke application. If the command statistics are
+     * written to a file, a final report is written.
+     * @throws IOException If an error occurs while writing the tasks or the report.
+     */
+    public void close() throws IOException {
+        closeStorage();
+        String statsPath = System.getProperty("duke.stats.file");
+        if (statsPath != null) {
+            CommandStats.stopDumping();
+            CommandStats.dump(Paths.get(statsPath));
+        }
+    }
+
+    /**
+     * Writes all the pending changes to the tasks to the hard disk and releases
+     * the storage system of the Duke application, leaving the command statistics
+     * to the other Duke applications sharing the process.
+     * @throws IOException If an error occurs while writing the tasks.
+     */
+    public void closeStorage() throws IOException {
+        storage.close();
+    }
+
     /**
      * Provides the entry point to the Duke application.
      * @param args Command-line arguments.
      */
     public static void main(String[] args) {
         try {
-            new Duke("data/tasks.txt").run();
+            boolean isBatch = args.length > 0 && args[0].equals("--batch");
+            boolean isServer = args.length > 0 && args[0].equals("--server");
+            if (isBatch) {
+                runBatch(args);
+            } else if (isServer) {
+                runServer(args);
+            } else {
+                new Duke("data/tasks.txt").run();
+            }
         } catch (IOException e) {
             System.out.println(e.getMessage());
         }
     }
 
+    /**
+     * Runs the Duke application on a batch of user commands given by the command-line arguments,
+     * reading them from a file or, if no file is given, from the standard input.
+     */
+    private static void runBatch(String[] args) throws IOException {
+        String inputPath = null;
+        int commitInterval = 0;
+        boolean isQuiet = false;
+        for (int i = 1; i < args.length; i++) {
+            boolean hasCommitInterval = args[i].equals("--commit-every") && i + 1 < args.length
+                    && CommandTokens.isNumber(args[i + 1]);
+            if (hasCommitInterval) {
+                commitInterval = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--quiet")) {
+                isQuiet = true;
+            } else if (inputPath == null && !args[i].startsWith("--")) {
+                inputPath = args[i];
+            } else {
+                System.out.println(BATCH_USAGE);
+                return;
+            }
+        }
+        BufferedReader input = inputPath == null || inputPath.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(inputPath), StandardCharsets.UTF_8);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        Duke duke = new Duke("data/tasks.txt");
+        try (input) {
+            BatchSummary summary = duke.runBatch(input, isQuiet ? null : out, commitInterval);
+            out.write(summary + System.lineSeparator());
+        } finally {
+            duke.close();
+            out.flush();
+        }
+    }
+
+    /**
+     * Runs the Duke application as an HTTP server for many users, on the port given by the
+     * command-line arguments, until the process is stopped. The task files of the users are
+     * never watched, since a watcher for each of thousands of users would need as many watch
+     * services and threads, so {@code -Dduke.watchTasks=true} is refused with a notice.
+     */
+    private static void runServer(String[] args) throws IOException {
+        boolean hasPort = args.length == 2 && CommandTokens.isNumber(args[1]);
+        if (args.length > 2 || (args.length == 2 && !hasPort)) {
+            System.out.println(SERVER_USAGE);
+            return;
+        }
+        int port = hasPort ? Integer.parseInt(args[1]) : DukeServer.DEFAULT_PORT;
+        if (Boolean.getBoolean("duke.watchTasks")) {
+            System.out.println("Task files are not watched in server mode; ignoring -Dduke.watchTasks.");
+        }
+        StorageWriter sharedWriter = Boolean.getBoolean("duke.asyncWrites") ? createWriter() : null;
+        DukeServer server = new DukeServer(new InetSocketAddress(port),
+                System.getProperty("duke.server.dataDirectory", "data/users"),
+                Integer.getInteger("duke.server.maxUsers", DukeServer.DEFAULT_MAX_USERS),
+                Long.getLong("duke.server.idleSeconds", DukeServer.DEFAULT_IDLE_SECONDS), sharedWriter);
+        String statsPath = System.getProperty("duke.stats.file");
+        if (statsPath != null) {
+            CommandStats.startDumping(Paths.get(statsPath), Long.getLong("duke.stats.intervalSeconds", 60));
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }, "duke-server-shutdown"));
+        server.start();
+        System.out.println("Serving Duke on port " + server.getAddress().getPort());
+    }
+
+    /**
+     * Returns a StorageWriter configured by the {@code -Dduke.writer.*} switches.
+     */
+    private static StorageWriter createWriter() {
+        return new StorageWriter(Long.getLong("duke.writer.maxLatencyMillis", StorageWriter.DEFAULT_MAX_LATENCY_MILLIS),
+                Integer.getInteger("duke.writer.maxBatchSize", StorageWriter.DEFAULT_MAX_BATCH_SIZE));
+    }
+
+    /**
+     * Executes the user commands read from a batch, one per line, until the end of the batch or
+     * a "bye" command. Saves are deferred while the batch runs, so the tasks are written to the
+     * hard disk once after every specified number of commands and once at the end of the batch,
+     * rather than after every command.
+     * @param input Reader of the user commands.
+     * @param out Destination of the responses, or null if the responses are not written.
+     * @param commitInterval Number of commands after which the tasks are written, or 0 to write
+     * them only at the end of the batch.
+     * @return Summary of the batch.
+     * @throws IOException If an error occurs while reading the user commands, writing the
+     * responses, or writing the tasks.
+     */
+    public BatchSummary runBatch(BufferedReader input, Appendable out, int commitInterval) throws IOException {
+        long startTime = System.nanoTime();
+        long commandCount = 0;
+        long errorCount = 0;
+        long commitCount = 0;
+        storage.setDeferred(true);
+        try {
+            String userCommand = input.readLine();
+            while (userCommand != null && !userCommand.equals("bye")) {
+                boolean isExecuted = out == null ? executeQuietly(userCommand) : writeResponse(userCommand, out);
+                commandCount++;
+                errorCount += isExecuted ? 0 : 1;
+                boolean isCommitDue = commitInterval > 0 && commandCount % commitInterval == 0;
+                if (isCommitDue && storage.commit(getTaskList().getTasks())) {
+                    commitCount++;
+                }
+                userCommand = input.readLine();
+            }
+            if (storage.commit(getTaskList().getTasks())) {
+                commitCount++;
+            }
+        } finally {
+            storage.setDeferred(false);
+        }
+        return new BatchSummary(commandCount, errorCount, commitCount, System.nanoTime() - startTime);
+    }
+
+    private boolean executeQuietly(String userCommand) throws IOException {
+        try {
+            command.receiveUserCommand(userCommand);
+            command.executeUserCommand(parser, getTaskList(), storage, ui);
+            return true;
+        } catch (InvalidTaskArgumentException | InvalidDoneException | InvalidCommandException
+                | InvalidDeleteException | InvalidFindException | DateException | InvalidScheduleException
+                | InvalidTransferException e) {
+            return false;
+        }
+    }
+
     /**
      * Returns a response to the main window based on the user command received.
      * @param userCommand User command received by the Duke application.
@@ -85,10 +358,56 @@ public class Duke {
     public String getResponse(String userCommand) throws IOException {
         try {
             command.receiveUserCommand(userCommand);
-            return command.executeUserCommand(parser, tasks, storage, ui);
+            return command.executeUserCommand(parser, getTaskList(), storage, ui);
         } catch (InvalidTaskArgumentException | InvalidDoneException | InvalidCommandException
-                | InvalidDeleteException | InvalidFindException | DateException e) {
+                | InvalidDeleteException | InvalidFindException | DateException | InvalidScheduleException
+                | InvalidTransferException e) {
             return ui.showError(e.getMessage());
         }
     }
+
+    /**
+     * Indicates whether a user command only reads the tasks, so that its response may be written
+     * while another user command changes the tasks of a Duke application that shares them. User
+     * commands that cannot be parsed are answered without reading the tasks, so they count as
+     * read-only, while all user commands change the tasks if they have not been loaded yet.
+     * @param userCommand User command received by the Duke application.
+     * @return Boolean value indicating whether the user command leaves the tasks unchanged.
+     */
+    public boolean isReadOnly(String userCommand) {
+        if (tasks == null) {
+            return false;
+        }
+        try {
+            return parser.parseUserCommand(userCommand, tasks.getLength()).isReadOnly();
+        } catch (InvalidTaskArgumentException | InvalidDoneException | InvalidCommandException
+                | InvalidDeleteException | InvalidFindException | DateException | InvalidScheduleException
+                | InvalidTransferException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Writes the response to a user command as it is produced, so that long responses such as
+     * the listing of a large task list are streamed instead of being built as a single String.
+     * @param userCommand User command received by the Duke application.
+     * @param out Destination of the response.
+     * @return Boolean value indicating whether the user command was executed, rather than
+     * answered with an error.
+     * @throws IOException If an error occurs while accessing or creating the directory or file
+     * containing the tasks, or while writing the response.
+     */
+    public boolean writeResponse(String userCommand, Appendable out) throws IOException {
+        try {
+            Command receivedCommand = new Command();
+            receivedCommand.receiveUserCommand(userCommand);
+            receivedCommand.writeUserCommand(parser, getTaskList(), storage, ui, out);
+            return true;
+        } catch (InvalidTaskArgumentException | InvalidDoneException | InvalidCommandException
+                | InvalidDeleteException | InvalidFindException | DateException | InvalidScheduleException
+                | InvalidTransferException e) {
+            out.append(ui.showError(e.getMessage()));
+            return false;
+        }
+    }
 }
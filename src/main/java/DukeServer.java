@@ -0,0 +1,382 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Represents the server mode of the Duke application, which serves many users over HTTP from
+ * a single process. Each user has their own task list and storage system, kept in a directory
+ * named after the user, and sends user commands in the same language as the main window:
+ *
+ * <pre>POST /users/USER/commands</pre>
+ *
+ * <p>The body of the request is the user command, and the body of the response is the response
+ * of the Duke application. Requests are handled on virtual threads when the Java runtime
+ * supports them, and on a pool of platform threads otherwise.</p>
+ *
+ * <p>The Duke application of a user is loaded on their first command and kept in memory while
+ * they are active. Users who have been idle for too long, or the least recently active users
+ * once there are too many, are evicted: their pending changes are written to the hard disk and
+ * their Duke application is released, to be loaded again on their next command.</p>
+ *
+ * <p>The Duke applications of the users are built without the {@code -Dduke.*} switches that
+ * start threads, so that the number of threads does not grow with the number of users. Their
+ * task files are not watched, and their changes are either written on the thread of each
+ * command or handed to a single StorageWriter shared by every user.</p>
+ */
+public class DukeServer {
+
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_MAX_USERS = 10000;
+    public static final long DEFAULT_IDLE_SECONDS = 300;
+
+    private static final Pattern USER_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String USERS_PATH = "/users/";
+    private static final String COMMANDS_PATH = "/commands";
+    private static final int MAX_COMMAND_BYTES = 64 * 1024;
+    private static final String FAREWELL = "Bye. Hope to see you again soon!";
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService evictor;
+    private final Map<String, UserSession> sessions;
+    private final String dataDirectory;
+    private final StorageWriter sharedWriter;
+    private final int maxUsers;
+    private final long idleNanos;
+
+    /**
+     * Represents the Duke application of one user. Commands of the same user that change the
+     * tasks are executed one at a time, while commands that only read them run alongside, and
+     * a closed session is never reopened, so that a user never has two Duke applications
+     * writing to the same file.
+     */
+    private static class UserSession {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final String taskPath;
+        private volatile Duke duke;
+        private boolean isClosed;
+        private volatile long lastUsedNanos;
+
+        UserSession(String taskPath) {
+            this.taskPath = taskPath;
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Constructs a DukeServer that listens on the specified address, without starting it.
+     * @param address Address on which the DukeServer listens.
+     * @param dataDirectory Directory containing the directory of each user.
+     * @param maxUsers Number of users whose Duke application is kept in memory before the least
+     * recently active users are evicted.
+     * @param idleSeconds Number of seconds after which an inactive user is evicted.
+     * @throws IOException If the DukeServer cannot listen on the address.
+     */
+    public DukeServer(InetSocketAddress address, String dataDirectory, int maxUsers, long idleSeconds)
+            throws IOException {
+        this(address, dataDirectory, maxUsers, idleSeconds, null);
+    }
+
+    /**
+     * Constructs a DukeServer that listens on the specified address, without starting it, and
+     * hands the changes of every user to the specified StorageWriter. The StorageWriter is
+     * closed when the DukeServer is closed.
+     * @param address Address on which the DukeServer listens.
+     * @param dataDirectory Directory containing the directory of each user.
+     * @param maxUsers Number of users whose Duke application is kept in memory before the least
+     * recently active users are evicted.
+     * @param idleSeconds Number of seconds after which an inactive user is evicted.
+     * @param sharedWriter StorageWriter shared by every user, or null to write the changes of a
+     * user on the thread of their command.
+     * @throws IOException If the DukeServer cannot listen on the address.
+     */
+    public DukeServer(InetSocketAddress address, String dataDirectory, int maxUsers, long idleSeconds,
+            StorageWriter sharedWriter) throws IOException {
+        this.server = HttpServer.create(address, 0);
+        this.requestExecutor = newRequestExecutor();
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "duke-session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sessions = new ConcurrentHashMap<>();
+        this.dataDirectory = dataDirectory;
+        this.sharedWriter = sharedWriter;
+        this.maxUsers = maxUsers;
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+        server.createContext(USERS_PATH, this::handle);
+        server.setExecutor(requestExecutor);
+        long evictionInterval = Math.max(1, idleSeconds / 2);
+        evictor.scheduleWithFixedDelay(this::evictSessions, evictionInterval, evictionInterval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns an executor that runs each request on a new virtual thread if the Java runtime
+     * supports them, or on a pool of daemon platform threads otherwise.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            Method newVirtualThreadExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) newVirtualThreadExecutor.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "duke-server-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the address on which the DukeServer listens.
+     * @return Address on which the DukeServer listens.
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Returns the number of users whose Duke application is kept in memory.
+     * @return Number of active users.
+     */
+    public int getActiveUserCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Writes the response to a user command of the specified user, loading the Duke application
+     * of the user if it is not in memory. A "bye" command evicts the user. Commands that only
+     * read the tasks of a user who is in memory are executed without waiting for the command of
+     * the user that is changing the tasks.
+     * @param user Name of the user, made up of letters, digits, '_' and '-'.
+     * @param userCommand User command received from the user.
+     * @param out Destination of the response.
+     * @return Boolean value indicating whether the user command was executed, rather than
+     * answered with an error.
+     * @throws IOException If an error occurs while accessing or creating the directory or file
+     * containing the tasks of the user, or while writing the response.
+     */
+    public boolean writeResponse(String user, String userCommand, Appendable out) throws IOException {
+        assert USER_PATTERN.matcher(user).matches() : "The user name should be safe to use as a directory.";
+        while (true) {
+            UserSession session = getSession(user);
+            Duke loadedDuke = session.duke;
+            boolean isRead = loadedDuke != null && !userCommand.equals("bye") && loadedDuke.isReadOnly(userCommand);
+            if (isRead) {
+                session.lastUsedNanos = System.nanoTime();
+                return loadedDuke.writeResponse(userCommand, out);
+            }
+            session.lock.lock();
+            try {
+                if (session.isClosed) {
+                    continue;
+                }
+                session.lastUsedNanos = System.nanoTime();
+                if (userCommand.equals("bye")) {
+                    closeSession(user, session);
+                    out.append(FAREWELL).append(System.lineSeparator());
+                    return true;
+                }
+                if (session.duke == null) {
+                    session.duke = new Duke(createStorage(session.taskPath));
+                }
+                return session.duke.writeResponse(userCommand, out);
+            } finally {
+                session.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the storage system of a user, which saves their tasks in the same format as the
+     * main window but never starts a thread of its own.
+     */
+    private Storage createStorage(String taskPath) {
+        Storage storage = new Storage(taskPath, Boolean.getBoolean("duke.journal"));
+        storage.setColumnar(Boolean.getBoolean("duke.columnarTasks"));
+        if (sharedWriter != null) {
+            storage.setSharedWriter(sharedWriter);
+        }
+        return storage;
+    }
+
+    private UserSession getSession(String user) {
+        UserSession session = sessions.get(user);
+        if (session != null) {
+            return session;
+        }
+        session = sessions.computeIfAbsent(user, name -> new UserSession(dataDirectory + "/" + name + "/tasks.txt"));
+        if (sessions.size() > maxUsers) {
+            evictor.execute(this::evictSessions);
+        }
+        return session;
+    }
+
+    /**
+     * Evicts the users who have been idle for too long, and then the least recently active
+     * users until there are no more than the maximum number of users. Users with a command
+     * in progress are not evicted.
+     */
+    private void evictSessions() {
+        long now = System.nanoTime();
+        List<Map.Entry<String, UserSession>> idleSessions = new ArrayList<>();
+        List<Map.Entry<String, UserSession>> activeSessions = new ArrayList<>();
+        for (Map.Entry<String, UserSession> entry : sessions.entrySet()) {
+            boolean isIdle = now - entry.getValue().lastUsedNanos >= idleNanos;
+            (isIdle ? idleSessions : activeSessions).add(entry);
+        }
+        int excessCount = activeSessions.size() - maxUsers;
+        if (excessCount > 0) {
+            activeSessions.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos));
+            idleSessions.addAll(activeSessions.subList(0, excessCount));
+        }
+        for (Map.Entry<String, UserSession> entry : idleSessions) {
+            UserSession session = entry.getValue();
+            if (!session.lock.tryLock()) {
+                continue;
+            }
+            try {
+                closeSession(entry.getKey(), session);
+            } catch (IOException e) {
+                // The changes of the user stay in the journal or are lost, as if the process had exited.
+            } finally {
+                session.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the pending changes of a user and releases their Duke application. The lock of
+     * the session must be held.
+     */
+    private void closeSession(String user, UserSession session) throws IOException {
+        if (session.isClosed) {
+            return;
+        }
+        session.isClosed = true;
+        sessions.remove(user, session);
+        if (session.duke != null) {
+            session.duke.closeStorage();
+            session.duke = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            boolean isCommandPath = path.startsWith(USERS_PATH) && path.endsWith(COMMANDS_PATH);
+            String user = isCommandPath
+                    ? path.substring(USERS_PATH.length(), path.length() - COMMANDS_PATH.length())
+                    : "";
+            if (!USER_PATTERN.matcher(user).matches()) {
+                sendResponse(exchange, 404, "Not found: " + path);
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendResponse(exchange, 405, "Only POST is allowed.");
+                return;
+            }
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body.length > MAX_COMMAND_BYTES) {
+                sendResponse(exchange, 413, "Commands are limited to " + MAX_COMMAND_BYTES + " bytes.");
+                return;
+            }
+            String userCommand = new String(body, StandardCharsets.UTF_8).trim();
+            StringBuilder response = new StringBuilder();
+            boolean isExecuted;
+            try {
+                isExecuted = writeResponse(user, userCommand, response);
+            } catch (IOException e) {
+                sendResponse(exchange, 500, "The tasks could not be saved: " + e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                sendResponse(exchange, 500, "The command failed: " + e);
+                return;
+            }
+            sendResponse(exchange, isExecuted ? 200 : 400, response.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] readBody(InputStream in) throws IOException {
+        try (in) {
+            return in.readNBytes(MAX_COMMAND_BYTES + 1);
+        }
+    }
+
+    private static void sendResponse(HttpExchange exchange, int status, String response) throws IOException {
+        byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, responseBytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(responseBytes);
+        }
+    }
+
+    /**
+     * Stops accepting requests, waiting up to a second for the requests in progress, and writes
+     * the pending changes of every user to the hard disk, closing the shared StorageWriter if
+     * there is one. If the command statistics are written
+     * to a file, a final report is written.
+     * @throws IOException If an error occurs while writing the tasks of a user or the report.
+     */
+    public void close() throws IOException {
+        server.stop(1);
+        evictor.shutdownNow();
+        requestExecutor.shutdown();
+        IOException closeError = null;
+        for (Map.Entry<String, UserSession> entry : sessions.entrySet()) {
+            UserSession session = entry.getValue();
+            session.lock.lock();
+            try {
+                closeSession(entry.getKey(), session);
+            } catch (IOException e) {
+                closeError = e;
+            } finally {
+                session.lock.unlock();
+            }
+        }
+        if (sharedWriter != null) {
+            try {
+                sharedWriter.close();
+            } catch (IOException e) {
+                closeError = e;
+            }
+        }
+        String statsPath = System.getProperty("duke.stats.file");
+        if (statsPath != null) {
+            CommandStats.stopDumping();
+            CommandStats.dump(Paths.get(statsPath));
+        }
+        if (closeError != null) {
+            throw closeError;
+        }
+    }
+}
@@ -1,24 +1,138 @@
 /**
  * Represents an event. An event is a task that has a description of the activity,
- * and a date or time indicating when it occurs.
+ * and a date or time indicating when it occurs. An event may also have a date or time
+ * indicating when it ends.
  */
 public class Event extends Task {
 
-    private String at;
+    private static final String END_SEPARATOR = " | ";
+
+    private long at;
+    private String atText;
+    private long end;
 
     /**
-     * Constructs an Event with the specified description and date.
+     * Constructs a Event with the specified description and date. The date is kept as a
+     * timestamp if it is in the format of {@link TaskDate#format(long)}, and as text otherwise.
      * @param description Description of the Event.
      * @param at Date at which the Event occurs.
      */
     public Event(String description, String at) {
+        this(description, at, null);
+    }
+
+    /**
+     * Constructs a Event with the specified description, start date and end date. The dates
+     * are kept as timestamps if they are in the format of {@link TaskDate#format(long)}. If the
+     * start date is not, it is kept as text and the end date is ignored.
+     * @param description Description of the Event.
+     * @param at Date at which the Event starts.
+     * @param end Date at which the Event ends, or null if the Event has no end date.
+     */
+    public Event(String description, String at, String end) {
+        super(description);
+        setDates(at, end);
+    }
+
+    /**
+     * Constructs a Event with the specified description and timestamp.
+     * @param description Description of the Event.
+     * @param at Timestamp of the date at which the Event occurs.
+     */
+    public Event(String description, long at) {
+        this(description, at, TaskDate.NONE);
+    }
+
+    /**
+     * Constructs a Event with the specified description, start timestamp and end timestamp.
+     * @param description Description of the Event.
+     * @param at Timestamp of the date at which the Event starts.
+     * @param end Timestamp of the date at which the Event ends, or {@link TaskDate#NONE}.
+     */
+    public Event(String description, long at, long end) {
         super(description);
         this.at = at;
+        this.end = end;
+    }
+
+    /**
+     * Constructs a Event that is stored at the specified position of a binary task file.
+     * @param source Binary task file containing the Event.
+     * @param sourcePosition Position of the Event in the binary task file.
+     */
+    public Event(BinaryTaskFile source, int sourcePosition) {
+        super(source, sourcePosition);
+        String details = source.getDetails(sourcePosition);
+        int endPosition = details.indexOf(END_SEPARATOR);
+        boolean hasEnd = endPosition >= 0;
+        if (hasEnd) {
+            setDates(details.substring(0, endPosition), details.substring(endPosition + END_SEPARATOR.length()));
+        } else {
+            setDates(details, null);
+        }
+    }
+
+    private void setDates(String at, String end) {
+        this.at = TaskDate.parseFormatted(at);
+        this.atText = this.at == TaskDate.NONE ? at : null;
+        boolean hasEnd = end != null && this.at != TaskDate.NONE;
+        this.end = hasEnd ? TaskDate.parseFormatted(end) : TaskDate.NONE;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return at;
+    }
+
+    /**
+     * Returns the timestamp of the start of the Event, ordered before any time within the
+     * Event. The Event must have a date.
+     * @return Timestamp of the start of the Event.
+     */
+    public long getStart() {
+        return TaskDate.getStart(at);
+    }
+
+    /**
+     * Returns the timestamp just after the end of the Event. An Event without an end date
+     * lasts for the minute or day at which it occurs, and an Event ending on a date without
+     * a time lasts until the end of that day. The Event must have a date.
+     * @return Timestamp just after the end of the Event.
+     */
+    public long getEnd() {
+        if (end == TaskDate.NONE) {
+            return TaskDate.getEnd(at);
+        }
+        return TaskDate.hasTime(end) ? TaskDate.getStart(end) : TaskDate.getEnd(end);
+    }
+
+    /**
+     * Returns the timestamp of the date at which the Event ends, as it was given.
+     * @return Timestamp of the end date, or {@link TaskDate#NONE} if the Event has no end date.
+     */
+    public long getEndTimestamp() {
+        return end;
+    }
+
+    /**
+     * Returns the dates of the Event as they are displayed, which is the date as it was given
+     * if it could not be understood.
+     * @return Dates of the Event.
+     */
+    public String getAtText() {
+        if (at == TaskDate.NONE) {
+            return atText;
+        }
+        if (end == TaskDate.NONE) {
+            return TaskDate.format(at);
+        }
+        boolean isSameDay = TaskDate.hasTime(at) && TaskDate.hasTime(end) && TaskDate.isSameDay(at, end);
+        return TaskDate.format(at) + " to " + (isSameDay ? TaskDate.formatTime(end) : TaskDate.format(end));
     }
 
     @Override
     public String toString() {
-        return "[E]" + super.toString() + " (at: " + at + ")";
+        return "[E]" + super.toString() + " (at: " + getAtText() + ")";
     }
 
     /**
@@ -26,7 +140,10 @@ public class Event extends Task {
      * @return String representation of the Event.
      */
     public String getFormattedString() {
-        return "E | " + (super.isDone ? 1 : 0) + " | " + super.description + " | "
-                + at;
+        String formattedDates = at == TaskDate.NONE ? atText : TaskDate.format(at);
+        if (end != TaskDate.NONE) {
+            formattedDates += END_SEPARATOR + TaskDate.format(end);
+        }
+        return "E | " + (super.isDone ? 1 : 0) + " | " + getDescription() + " | " + formattedDates;
     }
 }
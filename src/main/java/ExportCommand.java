@@ -0,0 +1,39 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Represents a command to export all the tasks in the task list to a file in another format.
+ * The tasks are written to the file one at a time.
+ */
+public class ExportCommand extends ParsedCommand {
+
+    private final TaskFormat format;
+    private final Path path;
+
+    /**
+     * Constructs an ExportCommand that exports the tasks to the specified file.
+     * @param format Format of the file.
+     * @param path Path of the file, which is replaced if it exists.
+     */
+    public ExportCommand(TaskFormat format, Path path) {
+        this.format = format;
+        this.path = path;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) throws IOException {
+        List<Task> tasks = taskList.getTasks();
+        try (BufferedWriter out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            format.writeHeader(out);
+            for (Task task : tasks) {
+                format.write(task, out);
+            }
+            format.writeFooter(out);
+        }
+        return ui.showExport(tasks.size(), path.toString());
+    }
+}
@@ -0,0 +1,86 @@
+import java.util.ArrayList;
+
+/**
+ * Represents a command to find the tasks in the task list that match some keywords. A single
+ * keyword matches any task containing it. Several keywords match the tasks containing all of
+ * them as words, and groups of keywords can be separated by the word "or".
+ */
+public class FindCommand extends ParsedCommand {
+
+    private final ArrayList<String> keywords;
+    private final int page;
+    private final int pageSize;
+
+    /**
+     * Constructs a FindCommand for the specified keywords, showing all the matching tasks.
+     * @param keywords Keywords specified by the user, including any "or" separators.
+     */
+    public FindCommand(ArrayList<String> keywords) {
+        this(keywords, 0, 0);
+    }
+
+    /**
+     * Constructs a FindCommand for the specified keywords, showing a page of the matching tasks.
+     * @param keywords Keywords specified by the user, including any "or" separators.
+     * @param page Number of the page, starting from 1, or 0 to show all the matching tasks.
+     * @param pageSize Number of matching tasks on each page.
+     */
+    public FindCommand(ArrayList<String> keywords, int page, int pageSize) {
+        this.keywords = keywords;
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns the keywords to be found.
+     * @return Keywords specified by the user, including any "or" separators.
+     */
+    public ArrayList<String> getKeywords() {
+        return new ArrayList<>(keywords);
+    }
+
+    /**
+     * Returns the page of matching tasks to be shown.
+     * @return Number of the page, starting from 1, or 0 if all the matching tasks are shown.
+     */
+    public int getPage() {
+        return page;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) {
+        boolean hasSingleKeyword = keywords.size() == 1;
+        boolean isPaged = page > 0;
+        if (hasSingleKeyword) {
+            String keyword = keywords.get(0);
+            return isPaged ? taskList.findTask(keyword, page, pageSize, ui) : taskList.findTask(keyword, ui);
+        }
+        ArrayList<ArrayList<String>> keywordGroups = groupKeywords();
+        return isPaged
+                ? taskList.findTasks(keywordGroups, page, pageSize, ui)
+                : taskList.findTasks(keywordGroups, ui);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Splits the keywords into groups separated by the word "or".
+     */
+    private ArrayList<ArrayList<String>> groupKeywords() {
+        ArrayList<ArrayList<String>> keywordGroups = new ArrayList<>();
+        ArrayList<String> keywordGroup = new ArrayList<>();
+        for (String keyword : keywords) {
+            if (keyword.equalsIgnoreCase("or")) {
+                keywordGroups.add(keywordGroup);
+                keywordGroup = new ArrayList<>();
+            } else {
+                keywordGroup.add(keyword);
+            }
+        }
+        keywordGroups.add(keywordGroup);
+        return keywordGroups;
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Represents a command to show the periods of a day during which no events take place.
+ */
+public class FreeCommand extends ParsedCommand {
+
+    private final long day;
+
+    /**
+     * Constructs a FreeCommand for the specified day.
+     * @param day Timestamp of the day.
+     */
+    public FreeCommand(long day) {
+        this.day = day;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) {
+        return taskList.findFreeSlots(day, ui);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -0,0 +1,268 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+
+/**
+ * Represents the iCalendar format of tasks, as described in RFC 5545. Todos and deadlines are
+ * written as VTODO components, with the date of a deadline as its DUE date, and events are
+ * written as VEVENT components with a DTSTART and, if they have an end date, a DTEND:
+ *
+ * <pre>
+ * BEGIN:VCALENDAR
+ * VERSION:2.0
+ * PRODID:-//Duke//Duke Task List//EN
+ * BEGIN:VTODO
+ * UID:1-20201001T120000Z@duke
+ * DTSTAMP:20201001T120000Z
+ * SUMMARY:return book
+ * DUE;VALUE=DATE:20201010
+ * STATUS:NEEDS-ACTION
+ * END:VTODO
+ * END:VCALENDAR
+ * </pre>
+ *
+ * <p>Dates are written as floating local times, and times in UTC or another time zone are read
+ * as if they were local. iCalendar has no way to mark an event as done, so done events carry
+ * an X-DUKE-DONE property, and dates that Duke kept as text carry an X-DUKE-DATE property
+ * instead of a DUE or DTSTART. Lines longer than 75 bytes are folded, and components other
+ * than VTODO and VEVENT are skipped when reading.</p>
+ */
+public class ICalendarTaskFormat extends TaskFormat {
+
+    private static final String LINE_BREAK = "\r\n";
+    private static final int MAX_LINE_BYTES = 75;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final String timeStamp;
+    private long taskCount;
+    private String nextLine;
+
+    /**
+     * Constructs an ICalendarTaskFormat that stamps the tasks it writes with the current time.
+     */
+    public ICalendarTaskFormat() {
+        this.timeStamp = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS).format(DATE_TIME_FORMAT)
+                + "Z";
+        this.taskCount = 0;
+    }
+
+    @Override
+    public void writeHeader(Writer out) throws IOException {
+        writeLine("BEGIN:VCALENDAR", out);
+        writeLine("VERSION:2.0", out);
+        writeLine("PRODID:-//Duke//Duke Task List//EN", out);
+    }
+
+    @Override
+    public void write(Task task, Writer out) throws IOException {
+        taskCount++;
+        boolean isEvent = task instanceof Event;
+        String component = isEvent ? "VEVENT" : "VTODO";
+        writeLine("BEGIN:" + component, out);
+        writeLine("UID:" + taskCount + "-" + timeStamp + "@duke", out);
+        writeLine("DTSTAMP:" + timeStamp, out);
+        writeLine("SUMMARY:" + escape(task.getDescription()), out);
+        long timestamp = task.getTimestamp();
+        boolean isDated = task instanceof Deadline || isEvent;
+        if (isDated && timestamp == TaskDate.NONE) {
+            writeLine("X-DUKE-DATE:" + escape(getDate(task)), out);
+        } else if (isDated) {
+            writeLine(formatDate(isEvent ? "DTSTART" : "DUE", timestamp), out);
+        }
+        if (isEvent && ((Event) task).getEndTimestamp() != TaskDate.NONE) {
+            writeLine(formatDate("DTEND", ((Event) task).getEndTimestamp()), out);
+        }
+        if (!isEvent) {
+            writeLine(task.isDone() ? "STATUS:COMPLETED" : "STATUS:NEEDS-ACTION", out);
+        } else if (task.isDone()) {
+            writeLine("X-DUKE-DONE:TRUE", out);
+        }
+        writeLine("END:" + component, out);
+    }
+
+    @Override
+    public void writeFooter(Writer out) throws IOException {
+        writeLine("END:VCALENDAR", out);
+    }
+
+    private static String formatDate(String name, long timestamp) {
+        LocalDateTime dateTime = TaskDate.toDateTime(timestamp);
+        return TaskDate.hasTime(timestamp)
+                ? name + ":" + dateTime.format(DATE_TIME_FORMAT)
+                : name + ";VALUE=DATE:" + dateTime.format(DATE_FORMAT);
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\n", "\\n")
+                .replace("\r", "");
+    }
+
+    /**
+     * Writes a content line, folding it onto further lines that start with a space so that no
+     * line is longer than 75 bytes in UTF-8.
+     */
+    private static void writeLine(String line, Writer out) throws IOException {
+        int lineBytes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            boolean isPair = Character.isHighSurrogate(c) && i + 1 < line.length();
+            String character = isPair ? line.substring(i, i + 2) : String.valueOf(c);
+            int characterBytes = c < 0x80 ? 1 : character.getBytes(StandardCharsets.UTF_8).length;
+            if (lineBytes + characterBytes > MAX_LINE_BYTES) {
+                out.write(LINE_BREAK);
+                out.write(' ');
+                lineBytes = 1;
+            }
+            out.write(character);
+            lineBytes += characterBytes;
+            i += isPair ? 1 : 0;
+        }
+        out.write(LINE_BREAK);
+    }
+
+    @Override
+    public Task read(BufferedReader in) throws IOException {
+        String line = readLine(in);
+        while (line != null && !isTaskStart(line)) {
+            line = readLine(in);
+        }
+        if (line == null) {
+            return null;
+        }
+        String component = line.substring("BEGIN:".length()).toUpperCase();
+        HashMap<String, String> properties = new HashMap<>();
+        int depth = 1;
+        line = readLine(in);
+        while (line != null && depth > 0) {
+            String name = getName(line).toUpperCase();
+            if (name.equals("BEGIN")) {
+                depth++;
+            } else if (name.equals("END")) {
+                depth--;
+            } else if (depth == 1) {
+                properties.put(name, line);
+            }
+            line = depth > 0 ? readLine(in) : line;
+        }
+        if (line == null) {
+            throw new IllegalArgumentException("The " + component + " component is not closed.");
+        }
+        return toTask(component, properties);
+    }
+
+    private static boolean isTaskStart(String line) {
+        return line.equalsIgnoreCase("BEGIN:VTODO") || line.equalsIgnoreCase("BEGIN:VEVENT");
+    }
+
+    private static Task toTask(String component, HashMap<String, String> properties) {
+        String description = properties.containsKey("SUMMARY") ? unescape(getValue(properties.get("SUMMARY"))) : "";
+        String dateText = properties.containsKey("X-DUKE-DATE")
+                ? unescape(getValue(properties.get("X-DUKE-DATE")))
+                : null;
+        boolean isEvent = component.equals("VEVENT");
+        String date = isEvent ? parseDate(properties.get("DTSTART")) : parseDate(properties.get("DUE"));
+        date = date == null ? dateText : date;
+        if (isEvent) {
+            boolean isDone = properties.containsKey("X-DUKE-DONE")
+                    && getValue(properties.get("X-DUKE-DONE")).equalsIgnoreCase("TRUE");
+            return createTask("event", isDone, description, date, parseDate(properties.get("DTEND")));
+        }
+        boolean isDone = properties.containsKey("STATUS")
+                && getValue(properties.get("STATUS")).equalsIgnoreCase("COMPLETED");
+        return createTask(date == null ? "todo" : "deadline", isDone, description, date, null);
+    }
+
+    /**
+     * Parses the date of a content line into ISO 8601 format.
+     * @return Date in ISO 8601 format, or null if there is no content line.
+     */
+    private static String parseDate(String line) {
+        if (line == null) {
+            return null;
+        }
+        String value = getValue(line);
+        value = value.endsWith("Z") || value.endsWith("z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            return value.indexOf('T') >= 0
+                    ? TaskDate.formatIso(TaskDate.of(LocalDateTime.parse(value, DATE_TIME_FORMAT), true))
+                    : TaskDate.formatIso(TaskDate.of(LocalDate.parse(value, DATE_FORMAT)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("The date " + value + " is not an iCalendar date.", e);
+        }
+    }
+
+    /**
+     * Returns the name of the property of a content line, without its parameters.
+     */
+    private static String getName(String line) {
+        int end = 0;
+        while (end < line.length() && line.charAt(end) != ':' && line.charAt(end) != ';') {
+            end++;
+        }
+        return line.substring(0, end);
+    }
+
+    /**
+     * Returns the value of a content line, which follows the first colon outside the quoted
+     * parameter values.
+     */
+    private static String getValue(String line) {
+        boolean isInQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                isInQuotes = !isInQuotes;
+            } else if (c == ':' && !isInQuotes) {
+                return line.substring(i + 1);
+            }
+        }
+        return "";
+    }
+
+    private static String unescape(String text) {
+        StringBuilder unescapedText = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char escaped = text.charAt(++i);
+                unescapedText.append(escaped == 'n' || escaped == 'N' ? '\n' : escaped);
+            } else {
+                unescapedText.append(c);
+            }
+        }
+        return unescapedText.toString();
+    }
+
+    /**
+     * Reads the next content line, joining the folded lines that continue it. The line after
+     * the content line is read to see whether it continues it, and is kept for the next call.
+     * @return Next content line, or null at the end of the document.
+     */
+    private String readLine(BufferedReader in) throws IOException {
+        String line = nextLine == null ? in.readLine() : nextLine;
+        nextLine = null;
+        while (line != null && line.isEmpty()) {
+            line = in.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        StringBuilder contentLine = new StringBuilder(line);
+        String followingLine = in.readLine();
+        while (followingLine != null && (followingLine.startsWith(" ") || followingLine.startsWith("\t"))) {
+            contentLine.append(followingLine, 1, followingLine.length());
+            followingLine = in.readLine();
+        }
+        nextLine = followingLine;
+        return contentLine.toString();
+    }
+}
@@ -0,0 +1,32 @@
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.scene.image.Image;
+
+/**
+ * Represents a cache of the images bundled with the Duke application. Each image is decoded
+ * the first time it is needed and then shared by every window and dialog box that shows it.
+ */
+public class ImageCache {
+
+    private static final ConcurrentHashMap<String, Image> IMAGES = new ConcurrentHashMap<>();
+
+    private ImageCache() {
+    }
+
+    /**
+     * Returns the decoded image at the specified resource path, decoding it if it has not
+     * been needed before.
+     * @param resourcePath Path of the image among the resources of the Duke application.
+     * @return Decoded image.
+     */
+    public static Image get(String resourcePath) {
+        return IMAGES.computeIfAbsent(resourcePath, ImageCache::load);
+    }
+
+    private static Image load(String resourcePath) {
+        InputStream imageStream = ImageCache.class.getResourceAsStream(resourcePath);
+        assert imageStream != null : "The image should be bundled with the Duke application.";
+        return new Image(imageStream);
+    }
+}
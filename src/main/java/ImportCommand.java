@@ -0,0 +1,64 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * Represents a command to import the tasks in a file in another format, adding them to the end
+ * of the task list. The file is read one task at a time, and the tasks are added to the task
+ * list in chunks, so that only one chunk of tasks is held apart from the task list. The tasks
+ * are saved together once they have all been added, rather than one at a time.
+ *
+ * <p>Records of the file that cannot be understood are skipped and counted in the response.</p>
+ */
+public class ImportCommand extends ParsedCommand {
+
+    /** Number of tasks that are read before they are added to the task list. */
+    public static final int CHUNK_SIZE = 4096;
+
+    private final TaskFormat format;
+    private final Path path;
+
+    /**
+     * Constructs an ImportCommand that imports the tasks in the specified file.
+     * @param format Format of the file.
+     * @param path Path of the file.
+     */
+    public ImportCommand(TaskFormat format, Path path) {
+        this.format = format;
+        this.path = path;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) throws IOException {
+        int importedCount = 0;
+        int skippedCount = 0;
+        ArrayList<Task> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            boolean isEndOfFile = false;
+            while (!isEndOfFile) {
+                try {
+                    Task task = format.read(in);
+                    isEndOfFile = task == null;
+                    if (!isEndOfFile) {
+                        chunk.add(task);
+                    }
+                } catch (IllegalArgumentException e) {
+                    skippedCount++;
+                }
+                if (chunk.size() == CHUNK_SIZE || (isEndOfFile && !chunk.isEmpty())) {
+                    taskList.addTasks(chunk);
+                    importedCount += chunk.size();
+                    chunk.clear();
+                }
+            }
+        } finally {
+            if (importedCount > 0) {
+                storage.saveAddAll(taskList.getTasks());
+            }
+        }
+        return ui.showImport(importedCount, skippedCount, taskList.getLength());
+    }
+}
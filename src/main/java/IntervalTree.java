@@ -0,0 +1,175 @@
+import java.util.ArrayList;
+
+/**
+ * Represents an index of the events in the task list, ordered by the periods during which
+ * they take place. The index is a balanced binary search tree of periods ordered by their
+ * start, in which every node also records the latest end within its subtree. This lets the
+ * index find the events overlapping a period without checking the events that end before
+ * the period.
+ *
+ * <p>Deleted events are skipped by the task list and are removed when the index is rebuilt,
+ * as in {@link KeywordIndex}.</p>
+ */
+public class IntervalTree {
+
+    private Node root;
+    private int indexedTaskCount;
+    private int deletedTaskCount;
+
+    /**
+     * Represents a node of the IntervalTree, holding the period of one event.
+     */
+    private static class Node {
+        private final long start;
+        private final long end;
+        private final int taskId;
+        private long maxEnd;
+        private int height;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, int taskId) {
+            this.start = start;
+            this.end = end;
+            this.taskId = taskId;
+            this.maxEnd = end;
+            this.height = 1;
+        }
+    }
+
+    /**
+     * Constructs an empty IntervalTree.
+     */
+    public IntervalTree() {
+        this.root = null;
+        this.indexedTaskCount = 0;
+        this.deletedTaskCount = 0;
+    }
+
+    /**
+     * Adds a task to the IntervalTree if it is an event with a date.
+     * @param taskId ID of the task.
+     * @param task Task to be added.
+     */
+    public void addTask(int taskId, Task task) {
+        if (isIndexed(task)) {
+            Event event = (Event) task;
+            root = insert(root, new Node(event.getStart(), event.getEnd(), taskId));
+            indexedTaskCount++;
+        }
+    }
+
+    /**
+     * Records that a task has been deleted from the task list.
+     * @param task Deleted task.
+     */
+    public void deleteTask(Task task) {
+        if (isIndexed(task)) {
+            deletedTaskCount++;
+        }
+    }
+
+    /**
+     * Indicates whether the IntervalTree holds more deleted events than remaining events, and
+     * should be rebuilt.
+     * @return Boolean value indicating whether the IntervalTree should be rebuilt.
+     */
+    public boolean isStale() {
+        return deletedTaskCount > indexedTaskCount - deletedTaskCount;
+    }
+
+    /**
+     * Finds the events that take place during part of the specified period. The result may
+     * include the IDs of deleted tasks.
+     * @param from Timestamp of the start of the period.
+     * @param to Timestamp just after the end of the period.
+     * @return IDs of the events, in order of their start.
+     */
+    public ArrayList<Integer> findOverlapping(long from, long to) {
+        ArrayList<Integer> overlappingTaskIds = new ArrayList<>();
+        findOverlapping(root, from, to, overlappingTaskIds);
+        return overlappingTaskIds;
+    }
+
+    private void findOverlapping(Node node, long from, long to, ArrayList<Integer> overlappingTaskIds) {
+        boolean hasNoOverlap = node == null || node.maxEnd <= from;
+        if (hasNoOverlap) {
+            return;
+        }
+        findOverlapping(node.left, from, to, overlappingTaskIds);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end > from) {
+            overlappingTaskIds.add(node.taskId);
+        }
+        findOverlapping(node.right, from, to, overlappingTaskIds);
+    }
+
+    private boolean isIndexed(Task task) {
+        return task instanceof Event && task.getTimestamp() != TaskDate.NONE;
+    }
+
+    private static Node insert(Node node, Node newNode) {
+        if (node == null) {
+            return newNode;
+        }
+        boolean isBefore = newNode.start < node.start
+                || (newNode.start == node.start && newNode.taskId < node.taskId);
+        if (isBefore) {
+            node.left = insert(node.left, newNode);
+        } else {
+            node.right = insert(node.right, newNode);
+        }
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int balanceFactor = getHeight(node.left) - getHeight(node.right);
+        if (balanceFactor > 1) {
+            if (getHeight(node.left.left) < getHeight(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balanceFactor < -1) {
+            if (getHeight(node.right.right) < getHeight(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        update(node);
+        update(newRoot);
+        return newRoot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(getHeight(node.left), getHeight(node.right));
+        node.maxEnd = Math.max(node.end, Math.max(getMaxEnd(node.left), getMaxEnd(node.right)));
+    }
+
+    private static int getHeight(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long getMaxEnd(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+}
@@ -0,0 +1,15 @@
+/**
+ * Thrown to indicate that a command to view the tasks scheduled in a period is invalid.
+ * The command is invalid if the dates of the period are missing, or if there are more
+ * dates than expected.
+ */
+public class InvalidScheduleException extends Exception {
+
+    /**
+     * Constructs an InvalidScheduleException with the specified detail message.
+     * @param message Detail message.
+     */
+    public InvalidScheduleException(String message) {
+        super(message);
+    }
+}
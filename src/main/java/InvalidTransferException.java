@@ -0,0 +1,15 @@
+/**
+ * Thrown to indicate that a command to import or export tasks is invalid. The command is
+ * invalid if the format or file is missing, if the format is not supported, or if the file
+ * cannot be imported from or exported to.
+ */
+public class InvalidTransferException extends Exception {
+
+    /**
+     * Constructs an InvalidTransferException with the specified detail message.
+     * @param message Detail message.
+     */
+    public InvalidTransferException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,213 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+
+/**
+ * Represents the JSON Lines format of tasks, in which each line is a JSON object for one task:
+ *
+ * <pre>
+ * {"type":"todo","done":false,"description":"read book"}
+ * {"type":"deadline","done":true,"description":"return book","date":"2020-10-10"}
+ * {"type":"event","done":false,"description":"team lunch","date":"2020-09-15T12:00","end":"2020-09-15T13:00"}
+ * </pre>
+ *
+ * <p>The date and end date are left out of tasks that do not have them. When reading, other
+ * members of the objects are ignored, and the values of the members must be strings, booleans
+ * or null.</p>
+ */
+public class JsonLinesTaskFormat extends TaskFormat {
+
+    @Override
+    public void write(Task task, Writer out) throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        line.append("{\"type\":\"").append(getTypeName(task)).append("\",\"done\":").append(task.isDone());
+        line.append(",\"description\":");
+        appendString(task.getDescription(), line);
+        String date = getDate(task);
+        if (date != null) {
+            line.append(",\"date\":");
+            appendString(date, line);
+        }
+        String endDate = getEndDate(task);
+        if (endDate != null) {
+            line.append(",\"end\":");
+            appendString(endDate, line);
+        }
+        line.append('}').append('\n');
+        out.append(line);
+    }
+
+    private static void appendString(String value, StringBuilder line) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                line.append("\\\"");
+                break;
+            case '\\':
+                line.append("\\\\");
+                break;
+            case '\n':
+                line.append("\\n");
+                break;
+            case '\r':
+                line.append("\\r");
+                break;
+            case '\t':
+                line.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    line.append(String.format("\\u%04x", (int) c));
+                } else {
+                    line.append(c);
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    @Override
+    public Task read(BufferedReader in) throws IOException {
+        String line = in.readLine();
+        while (line != null && line.isBlank()) {
+            line = in.readLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        HashMap<String, String> members = new ObjectParser(line).parseObject();
+        return createTask(members.get("type"), "true".equals(members.get("done")), members.get("description"),
+                members.get("date"), members.get("end"));
+    }
+
+    /**
+     * Represents the parsing of a JSON object whose members have strings, booleans or null as
+     * their values.
+     */
+    private static class ObjectParser {
+
+        private final String text;
+        private int position;
+
+        private ObjectParser(String text) {
+            this.text = text;
+            this.position = 0;
+        }
+
+        /**
+         * Parses the JSON object into its members, with booleans kept as the strings "true" and
+         * "false", and members that are null left out.
+         */
+        private HashMap<String, String> parseObject() {
+            HashMap<String, String> members = new HashMap<>();
+            expect('{');
+            if (peek() == '}') {
+                position++;
+            } else {
+                char separator = ',';
+                while (separator == ',') {
+                    String name = parseString();
+                    expect(':');
+                    String value = parseValue();
+                    if (value != null) {
+                        members.put(name, value);
+                    }
+                    separator = next();
+                }
+                if (separator != '}') {
+                    throw new IllegalArgumentException("The members should be separated by commas.");
+                }
+            }
+            if (peek() != 0) {
+                throw new IllegalArgumentException("The line should hold a single JSON object.");
+            }
+            return members;
+        }
+
+        private String parseValue() {
+            if (peek() == '"') {
+                return parseString();
+            }
+            for (String literal : new String[] {"true", "false", "null"}) {
+                if (text.startsWith(literal, position)) {
+                    position += literal.length();
+                    return literal.equals("null") ? null : literal;
+                }
+            }
+            throw new IllegalArgumentException("The values should be strings, booleans or null.");
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < text.length() && text.charAt(position) != '"') {
+                char c = text.charAt(position++);
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw new IllegalArgumentException("The string has an incomplete escape.");
+                    }
+                    value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    position += 4;
+                    break;
+                default:
+                    value.append(escaped);
+                }
+            }
+            if (position >= text.length()) {
+                throw new IllegalArgumentException("The string is not closed.");
+            }
+            position++;
+            return value.toString();
+        }
+
+        /**
+         * Returns the next character that is not whitespace, without consuming it, or 0 at the
+         * end of the line.
+         */
+        private char peek() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+            return position < text.length() ? text.charAt(position) : 0;
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' in the JSON object.");
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * Represents an inverted index from the words in the tasks of the task list to the IDs of
+ * the tasks containing them. Words are compared case-insensitively, and the type and status
+ * of a task are not indexed, so marking a task as done does not change the index.
+ *
+ * <p>Deleted tasks are not removed from the index straight away. The task list skips their
+ * IDs when answering a search, and rebuilds the index once it holds more deleted tasks than
+ * remaining ones.</p>
+ */
+public class KeywordIndex {
+
+    private HashMap<String, PostingList> postings;
+    private int indexedTaskCount;
+    private int deletedTaskCount;
+
+    /**
+     * Constructs an empty KeywordIndex.
+     */
+    public KeywordIndex() {
+        this.postings = new HashMap<>();
+        this.indexedTaskCount = 0;
+        this.deletedTaskCount = 0;
+    }
+
+    /**
+     * Adds the words of a task to the KeywordIndex. Tasks must be added in ascending order of ID.
+     * @param taskId ID of the task.
+     * @param task Task to be added.
+     */
+    public void addTask(int taskId, Task task) {
+        for (String word : tokenize(task.toString(), Task.DISPLAY_PREFIX_LENGTH)) {
+            postings.computeIfAbsent(word, key -> new PostingList()).add(taskId);
+        }
+        indexedTaskCount++;
+    }
+
+    /**
+     * Records that a number of indexed tasks have been deleted from the task list.
+     * @param deletedCount Number of deleted tasks.
+     */
+    public void deleteTasks(int deletedCount) {
+        deletedTaskCount += deletedCount;
+    }
+
+    /**
+     * Indicates whether the KeywordIndex holds more deleted tasks than remaining tasks, and
+     * should be rebuilt.
+     * @return Boolean value indicating whether the KeywordIndex should be rebuilt.
+     */
+    public boolean isStale() {
+        return deletedTaskCount > indexedTaskCount - deletedTaskCount;
+    }
+
+    /**
+     * Finds the tasks that contain all the words of at least one of the specified groups of
+     * keywords. The result may include the IDs of deleted tasks.
+     * @param keywordGroups Groups of keywords.
+     * @return PostingList of the IDs of the matching tasks.
+     */
+    public PostingList find(ArrayList<ArrayList<String>> keywordGroups) {
+        PostingList matchingTasks = new PostingList();
+        for (ArrayList<String> keywords : keywordGroups) {
+            matchingTasks = PostingList.union(matchingTasks, findAll(keywords));
+        }
+        return matchingTasks;
+    }
+
+    private PostingList findAll(ArrayList<String> keywords) {
+        ArrayList<PostingList> keywordPostings = new ArrayList<>();
+        for (String keyword : keywords) {
+            for (String word : tokenize(keyword, 0)) {
+                PostingList wordPostings = postings.get(word);
+                if (wordPostings == null) {
+                    return new PostingList();
+                }
+                keywordPostings.add(wordPostings);
+            }
+        }
+        if (keywordPostings.isEmpty()) {
+            return new PostingList();
+        }
+        keywordPostings.sort(Comparator.comparingInt(PostingList::size));
+        PostingList matchingTasks = keywordPostings.get(0);
+        for (int i = 1; i < keywordPostings.size() && matchingTasks.size() > 0; i++) {
+            matchingTasks = PostingList.intersect(matchingTasks, keywordPostings.get(i));
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Splits text into lower-case words made up of letters and digits.
+     * @param text Text to be split.
+     * @param start Position in the text at which to start.
+     * @return List of words in the text.
+     */
+    public static ArrayList<String> tokenize(String text, int start) {
+        ArrayList<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = start; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (Character.isLetterOrDigit(character)) {
+                word.append(Character.toLowerCase(character));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+}
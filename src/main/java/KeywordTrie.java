@@ -0,0 +1,62 @@
+/**
+ * Represents a trie of lower-case keywords, each associated with a value. The trie looks up
+ * a word within a longer piece of text one character at a time, without copying the word.
+ * @param <V> Type of the values associated with the keywords.
+ */
+public class KeywordTrie<V> {
+
+    private static final int ALPHABET_SIZE = 26;
+
+    private Node<V> root;
+
+    /**
+     * Represents a node of the KeywordTrie, reached by the characters of a keyword prefix.
+     */
+    private static class Node<V> {
+        @SuppressWarnings("unchecked")
+        private final Node<V>[] children = (Node<V>[]) new Node<?>[ALPHABET_SIZE];
+        private V value;
+    }
+
+    /**
+     * Constructs an empty KeywordTrie.
+     */
+    public KeywordTrie() {
+        this.root = new Node<>();
+    }
+
+    /**
+     * Associates a keyword with a value in the KeywordTrie.
+     * @param keyword Keyword made up of lower-case letters.
+     * @param value Value associated with the keyword.
+     */
+    public void put(String keyword, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < keyword.length(); i++) {
+            int child = keyword.charAt(i) - 'a';
+            assert child >= 0 && child < ALPHABET_SIZE : "Keywords should be made up of lower-case letters.";
+            if (node.children[child] == null) {
+                node.children[child] = new Node<>();
+            }
+            node = node.children[child];
+        }
+        node.value = value;
+    }
+
+    /**
+     * Returns the value associated with the word at the specified part of a piece of text.
+     * @param text Text containing the word.
+     * @param start Position of the first character of the word.
+     * @param end Position just after the last character of the word.
+     * @return Value associated with the word, or null if the word is not a keyword.
+     */
+    public V get(String text, int start, int end) {
+        Node<V> node = root;
+        for (int i = start; i < end && node != null; i++) {
+            int child = text.charAt(i) - 'a';
+            boolean isLowerCaseLetter = child >= 0 && child < ALPHABET_SIZE;
+            node = isLowerCaseLetter ? node.children[child] : null;
+        }
+        return node == null ? null : node.value;
+    }
+}
@@ -0,0 +1,96 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Represents a histogram of durations in nanoseconds. Durations are counted in buckets that
+ * grow with the duration, each power of two being split into sixteen buckets, so that any
+ * percentile is known to within about six percent.
+ *
+ * <p>Recording a duration only updates atomic counters. It never locks and never allocates, so
+ * durations can be recorded from any thread while the histogram is being read.</p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration in the LatencyHistogram.
+     * @param nanos Duration in nanoseconds. Negative durations are recorded as zero.
+     */
+    public void record(long nanos) {
+        long duration = Math.max(0, nanos);
+        bucketCounts.incrementAndGet(getBucket(duration));
+        count.incrementAndGet();
+        long currentMax = max.get();
+        while (duration > currentMax && !max.compareAndSet(currentMax, duration)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of durations recorded in the LatencyHistogram.
+     * @return Number of durations recorded.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the longest duration recorded in the LatencyHistogram.
+     * @return Longest duration in nanoseconds, or 0 if no duration has been recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns a duration that is at least as long as the specified fraction of the recorded
+     * durations, rounded up to the end of its bucket.
+     * @param fraction Fraction of the recorded durations, between 0 and 1.
+     * @return Duration in nanoseconds, or 0 if no duration has been recorded.
+     */
+    public long getPercentile(double fraction) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += bucketCounts.get(i);
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT && total > 0; i++) {
+            seen += bucketCounts.get(i);
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(getBucketEnd(i), getMax());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the bucket of a duration. Durations shorter than the number of sub-buckets have a
+     * bucket each, and longer ones share a bucket with those that agree in their leading bits.
+     */
+    private static int getBucket(long duration) {
+        if (duration < SUB_BUCKET_COUNT) {
+            return (int) duration;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(duration);
+        int subBucket = (int) (duration >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long getBucketEnd(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKET_COUNT;
+        long bucketWidth = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS)) + bucketWidth - 1;
+    }
+}
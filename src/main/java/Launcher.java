@@ -3,6 +3,12 @@ import javafx.application.Application;
 public class Launcher {
 
     public static void main(String[] args) {
+        boolean isBatch = args.length > 0 && args[0].equals("--batch");
+        boolean isServer = args.length > 0 && args[0].equals("--server");
+        if (isBatch || isServer) {
+            Duke.main(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 }
@@ -0,0 +1,68 @@
+import java.io.IOException;
+
+/**
+ * Represents a command to show the tasks in the task list, either all at once or a page at
+ * a time.
+ */
+public class ListCommand extends ParsedCommand {
+
+    private final int page;
+    private final int pageSize;
+
+    /**
+     * Constructs a ListCommand that shows all the tasks in the task list.
+     */
+    public ListCommand() {
+        this(0, 0);
+    }
+
+    /**
+     * Constructs a ListCommand that shows a page of the tasks in the task list.
+     * @param page Number of the page, starting from 1, or 0 to show all the tasks.
+     * @param pageSize Number of tasks on each page.
+     */
+    public ListCommand(int page, int pageSize) {
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns the page of tasks to be shown.
+     * @return Number of the page, starting from 1, or 0 if all the tasks are shown.
+     */
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * Returns the number of tasks on each page.
+     * @return Number of tasks on each page.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) {
+        boolean isPaged = page > 0;
+        if (isPaged) {
+            return taskList.showPage(page, pageSize, ui);
+        }
+        return taskList.showList(ui);
+    }
+
+    @Override
+    public void write(TaskList taskList, Storage storage, Ui ui, Appendable out) throws IOException {
+        boolean isPaged = page > 0;
+        if (isPaged) {
+            out.append(execute(taskList, storage, ui));
+        } else {
+            taskList.writeList(ui, out);
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
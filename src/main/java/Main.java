@@ -1,4 +1,7 @@
+import java.io.IOException;
+
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
@@ -10,6 +13,7 @@ import javafx.stage.Stage;
 public class Main extends Application {
 
     private Duke duke;
+    private MainWindow mainWindow;
 
     @Override
     public void start(Stage stage) {
@@ -19,10 +23,24 @@ public class Main extends Application {
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
-            fxmlLoader.<MainWindow>getController().setDuke(duke);
+            mainWindow = fxmlLoader.getController();
+            mainWindow.setDuke(duke);
             stage.show();
+            if (Boolean.getBoolean("duke.exitOnFirstPrompt")) {
+                Platform.runLater(Platform::exit);
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() throws IOException {
+        if (mainWindow != null) {
+            mainWindow.close();
+        }
+        if (duke != null) {
+            duke.close();
+        }
+    }
 }
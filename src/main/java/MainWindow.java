@@ -1,53 +1,117 @@
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 
 
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
  */
 public class MainWindow extends AnchorPane {
+    private static final String WORKING_TEXT = "working\u2026";
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<DialogMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Duke duke;
+    private CommandExecutor commandExecutor;
+    private DialogHistory dialogHistory;
 
-    private Image userImage = new Image(this.getClass().getResourceAsStream("/images/900px-Duke-Guitar.png"));
-    private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/duke_jetsurf_orig.png"));
+    private Image userImage = ImageCache.get("/images/900px-Duke-Guitar.png");
+    private Image dukeImage = ImageCache.get("/images/duke_jetsurf_orig.png");
 
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        int maxMessages = Integer.getInteger("duke.dialog.maxMessages", DialogHistory.DEFAULT_MAX_MESSAGES);
+        String logPath = System.getProperty("duke.dialog.log", "data/dialog.log");
+        dialogHistory = new DialogHistory(maxMessages, Paths.get(logPath));
+        dialogList.setItems(dialogHistory.getMessages());
+        dialogList.setCellFactory(listView -> new DialogCell(listView, userImage, dukeImage));
     }
 
+    /**
+     * Sets the Duke application that executes the commands of the main window, starting the
+     * executor on which they are executed.
+     * @param d Duke application.
+     */
     public void setDuke(Duke d) {
         duke = d;
+        int maxPendingCommands = Integer.getInteger("duke.gui.maxPendingCommands",
+                CommandExecutor.DEFAULT_MAX_PENDING_COMMANDS);
+        commandExecutor = new CommandExecutor(duke, maxPendingCommands);
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Creates two dialog messages, one echoing user input and the other a placeholder for Duke's reply and then
+     * appends them to the dialog history. The command is executed off the JavaFX Application Thread, and the
+     * placeholder is replaced by the reply once it is ready. Clears the user input after submitting it, unless too
+     * many commands are already waiting, in which case the input is kept so that it can be sent again.
      */
     @FXML
     private void handleUserInput() throws IOException {
         String input = userInput.getText();
-        String response = duke.getResponse(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage)
-        );
+        CompletableFuture<String> response;
+        try {
+            response = commandExecutor.submit(input);
+        } catch (RejectedExecutionException e) {
+            updateSendButton();
+            return;
+        }
+        DialogMessage placeholder = DialogMessage.fromDuke(WORKING_TEXT);
+        dialogHistory.add(DialogMessage.fromUser(input), placeholder);
+        dialogList.scrollTo(dialogHistory.getMessages().size() - 1);
         userInput.clear();
+        updateSendButton();
+        response.whenComplete((reply, error) -> Platform.runLater(() -> showReply(placeholder, reply, error)));
+    }
+
+    private void showReply(DialogMessage placeholder, String reply, Throwable error) {
+        String text = reply;
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof UncheckedIOException) {
+                cause = cause.getCause();
+            }
+            text = "\u2639" + " OOPS!!! " + cause.getMessage();
+        }
+        try {
+            dialogHistory.replace(placeholder, DialogMessage.fromDuke(text));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        dialogList.scrollTo(dialogHistory.getMessages().size() - 1);
+        updateSendButton();
+    }
+
+    /**
+     * Disables the send button while too many commands are waiting to be executed.
+     */
+    private void updateSendButton() {
+        sendButton.setDisable(commandExecutor.isFull());
+    }
+
+    /**
+     * Executes the commands that are still waiting and releases the dialog history of the main window.
+     * @throws IOException If an error occurs while executing the commands or closing the conversation log.
+     */
+    public void close() throws IOException {
+        if (commandExecutor != null) {
+            commandExecutor.close();
+        }
+        dialogHistory.close();
     }
 }
@@ -0,0 +1,15 @@
+/**
+ * Represents a command to show the deadlines that are past due and not done yet.
+ */
+public class OverdueCommand extends ParsedCommand {
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) {
+        return taskList.findOverdue(ui);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
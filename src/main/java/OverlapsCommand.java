@@ -0,0 +1,28 @@
+/**
+ * Represents a command to show the events that take place during part of a time slot.
+ */
+public class OverlapsCommand extends ParsedCommand {
+
+    private final long from;
+    private final long to;
+
+    /**
+     * Constructs an OverlapsCommand for the specified time slot.
+     * @param from Timestamp of the start of the time slot.
+     * @param to Timestamp just after the end of the time slot.
+     */
+    public OverlapsCommand(long from, long to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) {
+        return taskList.findOverlapping(from, to, ui);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+import java.io.IOException;
+
+/**
+ * Represents a user command that has been parsed by the parser of the Duke application.
+ * Each type of user command knows how to direct the task list, storage and user interface
+ * to carry it out.
+ */
+public abstract class ParsedCommand {
+
+    /**
+     * Executes the ParsedCommand.
+     * @param taskList Task list of the Duke application.
+     * @param storage Storage system of the Duke application.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     * @throws IOException If an error occurs while saving the tasks.
+     */
+    public abstract String execute(TaskList taskList, Storage storage, Ui ui) throws IOException;
+
+    /**
+     * Executes the ParsedCommand, writing the response of the user interface as it is produced
+     * instead of returning it. Commands with long responses write them a piece at a time.
+     * @param taskList Task list of the Duke application.
+     * @param storage Storage system of the Duke application.
+     * @param ui User interface of the Duke application.
+     * @param out Destination of the response.
+     * @throws IOException If an error occurs while saving the tasks or writing the response.
+     */
+    public void write(TaskList taskList, Storage storage, Ui ui, Appendable out) throws IOException {
+        out.append(execute(taskList, storage, ui));
+    }
+
+    /**
+     * Indicates whether the ParsedCommand only reads the task list, so that it may be executed
+     * while another user command changes the task list.
+     * @return Boolean value indicating whether the ParsedCommand leaves the tasks unchanged.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+}
@@ -1,8 +1,10 @@
-import java.text.SimpleDateFormat;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.BitSet;
 
 /**
  * Represents the parser of the Duke application. The parser is responsible for
@@ -10,6 +12,61 @@ import java.util.Date;
  */
 public class Parser {
 
+    /** Number of tasks on each page of a paged list when no page size is specified. */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final KeywordTrie<CommandType> COMMAND_KEYWORDS = new KeywordTrie<>();
+
+    private final boolean isFileTransferAllowed;
+
+    /**
+     * Represents the types of user commands, identified by their first word.
+     */
+    private enum CommandType {
+        LIST, DONE, TODO, DEADLINE, EVENT, DELETE, FIND, DUE, BETWEEN, OVERDUE, OVERLAPS, FREE, STATS, IMPORT, EXPORT
+    }
+
+    /**
+     * Represents the ways in which the task numbers of a command can be invalid.
+     */
+    private enum PositionError {
+        INVALID_NUMBER, OUT_OF_BOUNDS
+    }
+
+    static {
+        COMMAND_KEYWORDS.put("list", CommandType.LIST);
+        COMMAND_KEYWORDS.put("done", CommandType.DONE);
+        COMMAND_KEYWORDS.put("todo", CommandType.TODO);
+        COMMAND_KEYWORDS.put("deadline", CommandType.DEADLINE);
+        COMMAND_KEYWORDS.put("event", CommandType.EVENT);
+        COMMAND_KEYWORDS.put("delete", CommandType.DELETE);
+        COMMAND_KEYWORDS.put("find", CommandType.FIND);
+        COMMAND_KEYWORDS.put("due", CommandType.DUE);
+        COMMAND_KEYWORDS.put("between", CommandType.BETWEEN);
+        COMMAND_KEYWORDS.put("overdue", CommandType.OVERDUE);
+        COMMAND_KEYWORDS.put("overlaps", CommandType.OVERLAPS);
+        COMMAND_KEYWORDS.put("free", CommandType.FREE);
+        COMMAND_KEYWORDS.put("stats", CommandType.STATS);
+        COMMAND_KEYWORDS.put("import", CommandType.IMPORT);
+        COMMAND_KEYWORDS.put("export", CommandType.EXPORT);
+    }
+
+    /**
+     * Constructs a Parser that accepts every type of user command.
+     */
+    public Parser() {
+        this(true);
+    }
+
+    /**
+     * Constructs a Parser that optionally refuses commands to import or export tasks, which
+     * read and write files anywhere the process may access.
+     * @param isFileTransferAllowed Whether commands to import or export tasks are accepted.
+     */
+    public Parser(boolean isFileTransferAllowed) {
+        this.isFileTransferAllowed = isFileTransferAllowed;
+    }
+
     /**
      * Parses the date or time of a deadline or event.
      * @param dateTime the date or time of a deadline or event
@@ -17,41 +74,30 @@ public class Parser {
      * @throws DateException If an error occurs while parsing the date or time.
      */
     public static String parseDateTime(String dateTime) throws DateException {
+        return TaskDate.format(parseTimestamp(dateTime));
+    }
+
+    /**
+     * Parses the date or time of a deadline or event into a timestamp.
+     * @param dateTime the date or time of a deadline or event
+     * @return Timestamp of the date or time.
+     * @throws DateException If an error occurs while parsing the date or time.
+     */
+    public static long parseTimestamp(String dateTime) throws DateException {
         try {
-            return processDateTime(dateTime);
-        } catch (java.time.format.DateTimeParseException | java.text.ParseException e) {
+            return TaskDate.parse(dateTime);
+        } catch (DateTimeParseException e) {
             throw new DateException("Sorry! I don't understand the date/time. Please specify the date/time "
                     + "in YYYY-MM-DD or YYYY-MM-DD HHMM format.");
         }
     }
 
-    private static String processDateTime(String dateTime) throws
-            java.time.format.DateTimeParseException, java.text.ParseException {
-        String[] dateTimes = dateTime.split(" ");
-        boolean hasOnlyDate = dateTimes.length == 1;
-        LocalDate localDate = LocalDate.parse(dateTimes[0]);
-        String processedDate = localDate.format(DateTimeFormatter.ofPattern("MMM d yyyy"));
-        if (hasOnlyDate) {
-            return processedDate;
-        }
-        int time = Integer.parseInt(dateTimes[1]);
-        String processedTime = processTime(time);
-        return processedDate + " " + processedTime;
-    }
-
-    private static String processTime(int time) throws java.text.ParseException {
-        int militaryTime = time;
-        Date date = new SimpleDateFormat("hhmm").parse(String.format("%04d", militaryTime));
-        SimpleDateFormat dateFormat = new SimpleDateFormat("hh:mm a");
-        return dateFormat.format(date);
-    }
-
     /**
-     * Parses the user command into a format that can be understood by the command
-     * component of the Duke application.
+     * Parses the user command into a command that can be executed by the Duke application.
+     * The user command is split into words once, and its type is looked up from its first word.
      * @param userCommand User command received by the Parser.
      * @param taskListSize Current size of the task list.
-     * @return List of user command details.
+     * @return Parsed command.
      * @throws InvalidDoneException If an error occurs while parsing a command to mark
      * tasks as done.
      * @throws InvalidTaskArgumentException If an error occurs while parsing a command
@@ -59,183 +105,396 @@ public class Parser {
      * @throws InvalidDeleteException If an error occurs while parsing a command to
      * delete tasks.
      * @throws InvalidCommandException If the user command type is invalid.
+     * @throws InvalidFindException If an error occurs while parsing a command to find tasks.
      * @throws DateException If an error occurs while parsing the dates of events or deadlines.
+     * @throws InvalidScheduleException If an error occurs while parsing a command to view the
+     * tasks scheduled in a period.
+     * @throws InvalidTransferException If an error occurs while parsing a command to import or
+     * export tasks.
      */
-    public ArrayList<String> parseUserCommand(String userCommand, int taskListSize)
+    public ParsedCommand parseUserCommand(String userCommand, int taskListSize)
             throws InvalidDoneException, InvalidTaskArgumentException, InvalidDeleteException,
-            InvalidCommandException, InvalidFindException, DateException {
-        ArrayList<String> userCommandDetails = new ArrayList<>();
-        if (isListCommand(userCommand)) {
-            return addListCommand(userCommandDetails);
-        } else if (isDoneCommand(userCommand)) {
-            return addDoneCommand(userCommandDetails, userCommand, taskListSize);
-        } else if (isTodoCommand(userCommand)) {
-            return addTodoCommand(userCommandDetails, userCommand);
-        } else if (isDeadlineCommand(userCommand)) {
-            return addDeadlineCommand(userCommandDetails, userCommand);
-        } else if (isEventCommand(userCommand)) {
-            return addEventCommand(userCommandDetails, userCommand);
-        } else if (isDeleteCommand(userCommand)) {
-            return addDeleteCommand(userCommandDetails, userCommand, taskListSize);
-        } else if (isFindCommand(userCommand)) {
-            return addFindCommand(userCommandDetails, userCommand);
-        } else {
-            throw new InvalidCommandException("\u2639" + " OOPS!!! I'm sorry, but I don't know what that means :-(");
-        }
-    }
-
-    private boolean isNumeric(String taskNumber) {
+            InvalidCommandException, InvalidFindException, DateException, InvalidScheduleException,
+            InvalidTransferException {
+        CommandParsedEvent event = new CommandParsedEvent();
+        event.begin();
+        ParsedCommand parsedCommand = null;
         try {
-            Integer.parseInt(taskNumber);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
+            parsedCommand = parseTokens(userCommand, taskListSize);
+            return parsedCommand;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                boolean isValid = parsedCommand != null;
+                event.setCommandType(isValid
+                        ? CommandStats.getCommandName(parsedCommand.getClass())
+                        : CommandStats.INVALID_COMMAND_NAME);
+                event.setCommandLength(userCommand.length());
+                event.setValid(isValid);
+                event.commit();
+            }
+        }
+    }
+
+    private ParsedCommand parseTokens(String userCommand, int taskListSize)
+            throws InvalidDoneException, InvalidTaskArgumentException, InvalidDeleteException,
+            InvalidCommandException, InvalidFindException, DateException, InvalidScheduleException,
+            InvalidTransferException {
+        CommandTokens tokens = CommandTokens.tokenize(userCommand);
+        CommandType commandType = tokens.size() == 0
+                ? null
+                : COMMAND_KEYWORDS.get(userCommand, tokens.getStart(0), tokens.getEnd(0));
+        if (commandType == null) {
+            throw getUnknownCommandException();
+        }
+        switch (commandType) {
+        case LIST:
+            return parseListCommand(tokens);
+        case DONE:
+            return parseDoneCommand(tokens, taskListSize);
+        case TODO:
+            return parseTodoCommand(tokens);
+        case DEADLINE:
+            return parseDeadlineCommand(tokens);
+        case EVENT:
+            return parseEventCommand(tokens);
+        case DELETE:
+            return parseDeleteCommand(tokens, taskListSize);
+        case FIND:
+            return parseFindCommand(tokens);
+        case DUE:
+            return parseDueCommand(tokens);
+        case BETWEEN:
+            return parseBetweenCommand(tokens);
+        case OVERDUE:
+            return parseOverdueCommand(tokens);
+        case OVERLAPS:
+            return parseOverlapsCommand(tokens);
+        case FREE:
+            return parseFreeCommand(tokens);
+        case STATS:
+            return parseStatsCommand(tokens);
+        case IMPORT:
+            return parseTransferCommand(tokens, true);
+        case EXPORT:
+            return parseTransferCommand(tokens, false);
+        default:
+            throw getUnknownCommandException();
+        }
+    }
+
+    private InvalidCommandException getUnknownCommandException() {
+        return new InvalidCommandException("\u2639" + " OOPS!!! I'm sorry, but I don't know what that means :-(");
+    }
+
+    private ParsedCommand parseListCommand(CommandTokens tokens) throws InvalidCommandException {
+        if (tokens.size() == 1) {
+            return new ListCommand();
+        }
+        if (!tokens.matches(1, "page")) {
+            throw getUnknownCommandException();
         }
+        boolean hasValidPage = getPageClauseStart(tokens, 1) == 1 && hasPositivePage(tokens, 1);
+        if (!hasValidPage) {
+            throw new InvalidCommandException("\u2639" + " OOPS!!! Please specify the page as a positive "
+                    + "number, optionally followed by a positive page size.");
+        }
+        return new ListCommand(tokens.getNumber(2), getPageSize(tokens, 1));
     }
 
-    private boolean isListCommand(String userCommand) {
-        return userCommand.equals("list");
+    /**
+     * Returns the index of the word "page" that starts a "page N [size K]" clause at the end
+     * of the user command, or the number of words if the user command does not end with one.
+     */
+    private int getPageClauseStart(CommandTokens tokens, int firstIndex) {
+        int size = tokens.size();
+        boolean hasPageSize = size - firstIndex >= 4 && tokens.matches(size - 4, "page") && tokens.isNumber(size - 3)
+                && tokens.matches(size - 2, "size") && tokens.isNumber(size - 1);
+        if (hasPageSize) {
+            return size - 4;
+        }
+        boolean hasPage = size - firstIndex >= 2 && tokens.matches(size - 2, "page") && tokens.isNumber(size - 1);
+        return hasPage ? size - 2 : size;
+    }
+
+    private boolean hasPositivePage(CommandTokens tokens, int pageClauseStart) {
+        boolean hasPageSize = tokens.size() - pageClauseStart == 4;
+        return tokens.getNumber(pageClauseStart + 1) > 0 && (!hasPageSize || tokens.getNumber(pageClauseStart + 3) > 0);
     }
 
-    private ArrayList<String> addListCommand(ArrayList<String> userCommandDetails) {
-        userCommandDetails.add("Show");
-        return userCommandDetails;
+    private int getPageSize(CommandTokens tokens, int pageClauseStart) {
+        boolean hasPageSize = tokens.size() - pageClauseStart == 4;
+        return hasPageSize ? tokens.getNumber(pageClauseStart + 3) : DEFAULT_PAGE_SIZE;
     }
 
-    private boolean isDoneCommand(String userCommand) {
-        return (userCommand.length() >= 4) && (userCommand.substring(0, 4).equals("done"));
+    private ParsedCommand parseStatsCommand(CommandTokens tokens) throws InvalidCommandException {
+        if (tokens.size() > 1) {
+            throw getUnknownCommandException();
+        }
+        return new StatsCommand();
     }
 
-    private ArrayList<String> addDoneCommand(ArrayList<String> userCommandDetails,
-           String userCommand, int taskListSize) throws InvalidDoneException {
-        boolean isTaskNumberNotSpecified = userCommand.length() <= 5;
+    private ParsedCommand parseDoneCommand(CommandTokens tokens, int taskListSize) throws InvalidDoneException {
+        boolean isTaskNumberNotSpecified = tokens.size() < 2;
         if (isTaskNumberNotSpecified) {
             throw new InvalidDoneException("\u2639" + " OOPS!!! The task to be marked as done is not "
                     + "specified.");
         }
-        boolean isTaskNumberInvalidInt = !isNumeric(userCommand.substring(5));
-        if (isTaskNumberInvalidInt) {
+        BitSet doneTaskPositions = new BitSet(taskListSize);
+        PositionError positionError = parseTaskPositions(tokens, taskListSize, doneTaskPositions);
+        if (positionError == PositionError.INVALID_NUMBER) {
             throw new InvalidDoneException("\u2639" + " OOPS!!! The task to be marked as done is not "
                     + "specified by a valid number.");
         }
-        int taskNumber = Integer.parseInt(userCommand.substring(5)) - 1;
-        boolean isTaskNumberOutOfBounds = (taskNumber < 0) || (taskNumber >= taskListSize);
-        if (isTaskNumberOutOfBounds) {
+        if (positionError == PositionError.OUT_OF_BOUNDS) {
             throw new InvalidDoneException("\u2639" + " OOPS!!! The number specified does not represent "
                     + "a valid task.");
         }
-        userCommandDetails.add("Done");
-        userCommandDetails.add(Integer.toString(taskNumber));
-        return userCommandDetails;
-    }
-
-    private boolean isTodoCommand(String userCommand) {
-        return (userCommand.length() >= 4) && (userCommand.substring(0, 4).equals("todo"));
+        return new DoneCommand(doneTaskPositions);
     }
 
-    private ArrayList<String> addTodoCommand(ArrayList<String> userCommandDetails,
-           String userCommand) throws InvalidTaskArgumentException {
-        boolean isTodoDescriptionMissing = userCommand.length() <= 5;
+    private ParsedCommand parseTodoCommand(CommandTokens tokens) throws InvalidTaskArgumentException {
+        boolean isTodoDescriptionMissing = tokens.size() < 2;
         if (isTodoDescriptionMissing) {
             throw new InvalidTaskArgumentException("\u2639" + " OOPS!!! The description of a todo cannot "
                     + "be empty.");
         }
-        userCommandDetails.add("Add");
-        userCommandDetails.add("ToDo");
-        userCommandDetails.add(userCommand.substring(5));
-        return userCommandDetails;
+        return new AddCommand(new ToDo(tokens.getRest(1)));
     }
 
-    private boolean isDeadlineCommand(String userCommand) {
-        return (userCommand.length() >= 8) && (userCommand.substring(0, 8).equals("deadline"));
-    }
-
-    private ArrayList<String> addDeadlineCommand(ArrayList<String> userCommandDetails,
-           String userCommand) throws InvalidTaskArgumentException, DateException {
-        boolean isDeadlineDescriptionDateMissing = (userCommand.length() <= 9)
-                || (userCommand.substring(9).split(" /by ").length < 2);
+    private ParsedCommand parseDeadlineCommand(CommandTokens tokens)
+            throws InvalidTaskArgumentException, DateException {
+        String deadlineDetails = tokens.size() < 2 ? "" : tokens.getRest(1);
+        int separatorPosition = deadlineDetails.indexOf(" /by ");
+        boolean isDeadlineDescriptionDateMissing = separatorPosition < 0
+                || deadlineDetails.substring(separatorPosition + 5).trim().isEmpty();
         if (isDeadlineDescriptionDateMissing) {
             throw new InvalidTaskArgumentException("\u2639" + " OOPS!!! The deadline is lacking a "
                     + "description/date.");
         }
-        userCommandDetails.add("Add");
-        userCommandDetails.add("Deadline");
-        String[] deadlineDetails = userCommand.substring(9).split(" /by ");
-        String deadlineDescription = deadlineDetails[0];
-        String deadlineDate = parseDateTime(deadlineDetails[1]);
-        userCommandDetails.add(deadlineDescription);
-        userCommandDetails.add(deadlineDate);
-        return userCommandDetails;
-    }
-
-    private boolean isEventCommand(String userCommand) {
-        return (userCommand.length() >= 5) && (userCommand.substring(0, 5).equals("event"));
+        String deadlineDescription = deadlineDetails.substring(0, separatorPosition);
+        long deadlineDate = parseTimestamp(deadlineDetails.substring(separatorPosition + 5));
+        return new AddCommand(new Deadline(deadlineDescription, deadlineDate));
     }
 
-    private ArrayList<String> addEventCommand(ArrayList<String> userCommandDetails,
-           String userCommand) throws InvalidTaskArgumentException, DateException {
-        boolean isEventDescriptionDateMissing = (userCommand.length() <= 6)
-                || (userCommand.substring(6).split(" /at ").length < 2);
+    private ParsedCommand parseEventCommand(CommandTokens tokens) throws InvalidTaskArgumentException, DateException {
+        String eventDetails = tokens.size() < 2 ? "" : tokens.getRest(1);
+        int separatorPosition = eventDetails.indexOf(" /at ");
+        boolean isEventDescriptionDateMissing = separatorPosition < 0
+                || eventDetails.substring(separatorPosition + 5).trim().isEmpty();
         if (isEventDescriptionDateMissing) {
             throw new InvalidTaskArgumentException("\u2639" + " OOPS!!! The event is lacking a "
                     + "description/date.");
         }
-        userCommandDetails.add("Add");
-        userCommandDetails.add("Event");
-        String[] eventDetails = userCommand.substring(6).split(" /at ");
-        String eventDescription = eventDetails[0];
-        String eventDate = parseDateTime(eventDetails[1]);
-        userCommandDetails.add(eventDescription);
-        userCommandDetails.add(eventDate);
-        return userCommandDetails;
+        String eventDescription = eventDetails.substring(0, separatorPosition);
+        String eventDates = eventDetails.substring(separatorPosition + 5);
+        int endSeparatorPosition = eventDates.indexOf(" /to ");
+        boolean hasEndDate = endSeparatorPosition >= 0;
+        if (!hasEndDate) {
+            return new AddCommand(new Event(eventDescription, parseTimestamp(eventDates)));
+        }
+        String eventStartDate = eventDates.substring(0, endSeparatorPosition);
+        long eventDate = parseTimestamp(eventStartDate);
+        long eventEndDate = parseEndTimestamp(eventStartDate, eventDates.substring(endSeparatorPosition + 5));
+        if (eventEndDate <= eventDate) {
+            throw new InvalidTaskArgumentException("\u2639" + " OOPS!!! The event cannot end before "
+                    + "it starts.");
+        }
+        return new AddCommand(new Event(eventDescription, eventDate, eventEndDate));
     }
 
-    private boolean isDeleteCommand(String userCommand) {
-        return (userCommand.length() >= 6) && (userCommand.substring(0, 6).equals("delete"));
+    /**
+     * Parses the end of an event, which may be given as a time on the day that the event starts.
+     */
+    private long parseEndTimestamp(String startDateTime, String endDateTime) throws DateException {
+        boolean hasOnlyTime = CommandTokens.isNumber(endDateTime);
+        if (hasOnlyTime) {
+            String startDate = startDateTime.trim().split(" ")[0];
+            return parseTimestamp(startDate + " " + endDateTime);
+        }
+        return parseTimestamp(endDateTime);
     }
 
-    private ArrayList<String> addDeleteCommand(ArrayList<String> userCommandDetails,
-           String userCommand, int taskListSize) throws InvalidDeleteException {
-        boolean isTaskNumberNotSpecified = userCommand.length() <= 7;
+    private ParsedCommand parseDeleteCommand(CommandTokens tokens, int taskListSize)
+            throws InvalidDeleteException {
+        boolean isTaskNumberNotSpecified = tokens.size() < 2;
         if (isTaskNumberNotSpecified) {
             throw new InvalidDeleteException("\u2639" + "OOPS!!! The tasks to be deleted are not "
                     + "specified.");
         }
-        userCommandDetails.add("Delete");
-        boolean isDeleteAll = userCommand.substring(7).equals("all");
+        boolean isDeleteAll = tokens.size() == 2 && tokens.matches(1, "all");
         if (isDeleteAll) {
-            userCommandDetails.add("All");
-        } else {
-            String[] deletedTaskPositions = userCommand.substring(7).split(" ");
-            for (int i = 0; i < deletedTaskPositions.length; i++) {
-                if (!isNumeric(deletedTaskPositions[i])) {
-                    throw new InvalidDeleteException("\u2639" + " OOPS!!! There is a task to be deleted "
-                            + " that is not specified by a valid number.");
+            return new DeleteAllCommand();
+        }
+        BitSet deletedTaskPositions = new BitSet(taskListSize);
+        PositionError positionError = parseTaskPositions(tokens, taskListSize, deletedTaskPositions);
+        if (positionError == PositionError.INVALID_NUMBER) {
+            throw new InvalidDeleteException("\u2639" + " OOPS!!! There is a task to be deleted "
+                    + " that is not specified by a valid number.");
+        }
+        if (positionError == PositionError.OUT_OF_BOUNDS) {
+            throw new InvalidDeleteException("\u2639" + " OOPS!!! There is a number specified "
+                    + "that does not represent a valid task.");
+        }
+        return new DeleteCommand(deletedTaskPositions);
+    }
+
+    /**
+     * Collects the positions of the tasks specified after the first word of a command. Tasks
+     * are specified by their numbers, which may be separated by spaces or commas, and ranges
+     * of tasks are specified by their first and last numbers joined by a hyphen.
+     * @return Error in the task numbers, or null if all the task numbers are valid.
+     */
+    private PositionError parseTaskPositions(CommandTokens tokens, int taskListSize, BitSet taskPositions) {
+        for (int i = 1; i < tokens.size(); i++) {
+            String taskNumbers = tokens.get(i);
+            int start = 0;
+            while (start <= taskNumbers.length()) {
+                int end = taskNumbers.indexOf(',', start);
+                end = end < 0 ? taskNumbers.length() : end;
+                int separator = taskNumbers.indexOf('-', start);
+                boolean isRange = separator >= 0 && separator < end;
+                int first = CommandTokens.parseNumber(taskNumbers, start, isRange ? separator : end);
+                int last = isRange ? CommandTokens.parseNumber(taskNumbers, separator + 1, end) : first;
+                if (first < 0 || last < first) {
+                    return PositionError.INVALID_NUMBER;
                 }
-                int deletedTaskNumber = Integer.parseInt(deletedTaskPositions[i]) - 1;
-                boolean isTaskNumberOutOfBounds = (deletedTaskNumber < 0) || (deletedTaskNumber >= taskListSize);
-                if (isTaskNumberOutOfBounds) {
-                    throw new InvalidDeleteException("\u2639" + " OOPS!!! There is a number specified "
-                            + "that does not represent a valid task.");
+                if (first < 1 || last > taskListSize) {
+                    return PositionError.OUT_OF_BOUNDS;
                 }
-                userCommandDetails.add(Integer.toString(deletedTaskNumber));
+                taskPositions.set(first - 1, last);
+                start = end + 1;
             }
         }
-        return userCommandDetails;
+        return null;
     }
 
-    private boolean isFindCommand(String userCommand) {
-        return (userCommand.length() >= 4) && (userCommand.substring(0, 4).equals("find"));
+    private ParsedCommand parseFindCommand(CommandTokens tokens) throws InvalidFindException {
+        if (tokens.size() < 2) {
+            throw new InvalidFindException("\u2639" + " OOPS!!! There are no keywords specified.");
+        }
+        int pageClauseStart = getPageClauseStart(tokens, 2);
+        ArrayList<String> keywords = new ArrayList<>();
+        for (int i = 1; i < pageClauseStart; i++) {
+            keywords.add(tokens.get(i));
+        }
+        boolean isPaged = pageClauseStart < tokens.size();
+        if (!isPaged) {
+            return new FindCommand(keywords);
+        }
+        if (!hasPositivePage(tokens, pageClauseStart)) {
+            throw new InvalidFindException("\u2639" + " OOPS!!! Please specify the page as a positive "
+                    + "number, optionally followed by a positive page size.");
+        }
+        return new FindCommand(keywords, tokens.getNumber(pageClauseStart + 1), getPageSize(tokens, pageClauseStart));
     }
 
-    private ArrayList<String> addFindCommand(ArrayList<String> userCommandDetails, String userCommand)
-            throws InvalidFindException {
-        userCommandDetails.add("Find");
-        if (userCommand.split(" ").length < 2) {
-            throw new InvalidFindException("\u2639" + " OOPS!!! There are no keywords specified.");
+    private ParsedCommand parseDueCommand(CommandTokens tokens)
+            throws InvalidCommandException, InvalidScheduleException, DateException {
+        boolean isDueBefore = tokens.size() >= 2 && tokens.matches(1, "before");
+        if (!isDueBefore) {
+            throw getUnknownCommandException();
+        }
+        ArrayList<String> dateTimes = groupDateTimes(tokens, 2);
+        if (dateTimes.size() != 1) {
+            throw new InvalidScheduleException("\u2639" + " OOPS!!! Please specify a single date for the "
+                    + "deadlines to be due before.");
+        }
+        return new DueCommand(parseTimestamp(dateTimes.get(0)));
+    }
+
+    private ParsedCommand parseBetweenCommand(CommandTokens tokens) throws InvalidScheduleException, DateException {
+        ArrayList<String> dateTimes = groupDateTimes(tokens, 1);
+        if (dateTimes.size() != 2) {
+            throw new InvalidScheduleException("\u2639" + " OOPS!!! Please specify the first and last "
+                    + "dates of the period.");
+        }
+        long from = parseTimestamp(dateTimes.get(0));
+        long to = TaskDate.getEnd(parseTimestamp(dateTimes.get(1)));
+        return new BetweenCommand(from, to);
+    }
+
+    private ParsedCommand parseOverdueCommand(CommandTokens tokens) throws InvalidCommandException {
+        if (tokens.size() > 1) {
+            throw getUnknownCommandException();
+        }
+        return new OverdueCommand();
+    }
+
+    private ParsedCommand parseOverlapsCommand(CommandTokens tokens) throws InvalidScheduleException, DateException {
+        if (tokens.size() != 4) {
+            throw new InvalidScheduleException("\u2639" + " OOPS!!! Please specify the time slot in "
+                    + "YYYY-MM-DD HHMM HHMM format.");
+        }
+        String date = tokens.get(1);
+        long from = parseTimestamp(date + " " + tokens.get(2));
+        long to = parseTimestamp(date + " " + tokens.get(3));
+        if (to <= from) {
+            throw new InvalidScheduleException("\u2639" + " OOPS!!! The time slot cannot end before it starts.");
+        }
+        return new OverlapsCommand(TaskDate.getStart(from), TaskDate.getStart(to));
+    }
+
+    private ParsedCommand parseFreeCommand(CommandTokens tokens) throws InvalidScheduleException, DateException {
+        if (tokens.size() != 2) {
+            throw new InvalidScheduleException("\u2639" + " OOPS!!! Please specify a single day in "
+                    + "YYYY-MM-DD format.");
+        }
+        return new FreeCommand(parseTimestamp(tokens.get(1)));
+    }
+
+    /**
+     * Parses a command to import tasks from, or export tasks to, a file in the format given by
+     * its second word. The rest of the command is the path of the file, which may hold spaces.
+     */
+    private ParsedCommand parseTransferCommand(CommandTokens tokens, boolean isImport)
+            throws InvalidTransferException {
+        if (!isFileTransferAllowed) {
+            throw new InvalidTransferException("\u2639" + " OOPS!!! Importing and exporting files is not"
+                    + " available here.");
+        }
+        if (tokens.size() < 3) {
+            throw new InvalidTransferException("\u2639" + " OOPS!!! Please specify the format ("
+                    + TaskFormat.FORMAT_NAMES + ") and the file.");
+        }
+        TaskFormat format = TaskFormat.forName(tokens.get(1));
+        if (format == null) {
+            throw new InvalidTransferException("\u2639" + " OOPS!!! The format should be "
+                    + TaskFormat.FORMAT_NAMES + ".");
+        }
+        Path path;
+        try {
+            path = Paths.get(tokens.getRest(2));
+        } catch (InvalidPathException e) {
+            throw new InvalidTransferException("\u2639" + " OOPS!!! The file name is not valid.");
+        }
+        if (isImport && !Files.isRegularFile(path)) {
+            throw new InvalidTransferException("\u2639" + " OOPS!!! There is no file named " + path
+                    + " to import.");
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        if (!isImport && (directory == null || !Files.isDirectory(directory))) {
+            throw new InvalidTransferException("\u2639" + " OOPS!!! There is no folder to export "
+                    + path + " to.");
+        }
+        return isImport ? new ImportCommand(format, path) : new ExportCommand(format, path);
+    }
+
+    /**
+     * Groups the words of a command, starting from the specified word, into dates that are
+     * each optionally followed by a time.
+     */
+    private ArrayList<String> groupDateTimes(CommandTokens tokens, int start) {
+        ArrayList<String> dateTimes = new ArrayList<>();
+        for (int i = start; i < tokens.size(); i++) {
+            boolean isTime = !dateTimes.isEmpty() && tokens.isNumber(i);
+            if (isTime) {
+                int lastPosition = dateTimes.size() - 1;
+                dateTimes.set(lastPosition, dateTimes.get(lastPosition) + " " + tokens.get(i));
+            } else {
+                dateTimes.add(tokens.get(i));
+            }
         }
-        String keyword = userCommand.split(" ")[1];
-        userCommandDetails.add(keyword);
-        return userCommandDetails;
+        return dateTimes;
     }
 }
@@ -0,0 +1,137 @@
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Represents a list of task IDs in ascending order. Posting lists are used by the indexes
+ * of the task list to record which tasks contain a particular keyword.
+ */
+public class PostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] taskIds;
+    private int size;
+
+    /**
+     * Constructs an empty PostingList.
+     */
+    public PostingList() {
+        this.taskIds = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Appends a task ID to the PostingList. The ID must not be smaller than the last ID in
+     * the PostingList, and is ignored if it is equal to the last ID.
+     * @param taskId Task ID to be appended.
+     */
+    public void add(int taskId) {
+        assert size == 0 || taskId >= taskIds[size - 1] : "Task IDs should be added in ascending order.";
+        if (size > 0 && taskIds[size - 1] == taskId) {
+            return;
+        }
+        if (size == taskIds.length) {
+            taskIds = Arrays.copyOf(taskIds, size * 2);
+        }
+        taskIds[size] = taskId;
+        size++;
+    }
+
+    /**
+     * Returns the task ID at the specified position of the PostingList.
+     * @param position Position in the PostingList.
+     * @return Task ID at the position.
+     */
+    public int get(int position) {
+        assert position < size : "The position should be within the posting list.";
+        return taskIds[position];
+    }
+
+    /**
+     * Returns the number of task IDs in the PostingList.
+     * @return Number of task IDs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the position of the specified task ID in the PostingList.
+     * @param taskId Task ID to be searched for.
+     * @return Position of the task ID, or a negative number if it is not in the PostingList.
+     */
+    public int indexOf(int taskId) {
+        return Arrays.binarySearch(taskIds, 0, size, taskId);
+    }
+
+    /**
+     * Removes the task IDs at the specified positions of the PostingList, moving the remaining
+     * task IDs up in a single pass.
+     * @param positions Positions of the task IDs to be removed.
+     */
+    public void removeAll(BitSet positions) {
+        int remainingSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (!positions.get(i)) {
+                taskIds[remainingSize] = taskIds[i];
+                remainingSize++;
+            }
+        }
+        size = remainingSize;
+    }
+
+    /**
+     * Removes all the task IDs from the PostingList.
+     */
+    public void clear() {
+        taskIds = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Returns the task IDs that are in both of the specified PostingLists.
+     * @param first First PostingList.
+     * @param second Second PostingList.
+     * @return PostingList of the common task IDs.
+     */
+    public static PostingList intersect(PostingList first, PostingList second) {
+        PostingList intersection = new PostingList();
+        int i = 0;
+        int j = 0;
+        while (i < first.size && j < second.size) {
+            if (first.taskIds[i] < second.taskIds[j]) {
+                i++;
+            } else if (first.taskIds[i] > second.taskIds[j]) {
+                j++;
+            } else {
+                intersection.add(first.taskIds[i]);
+                i++;
+                j++;
+            }
+        }
+        return intersection;
+    }
+
+    /**
+     * Returns the task IDs that are in either of the specified PostingLists.
+     * @param first First PostingList.
+     * @param second Second PostingList.
+     * @return PostingList of all the task IDs.
+     */
+    public static PostingList union(PostingList first, PostingList second) {
+        PostingList union = new PostingList();
+        int i = 0;
+        int j = 0;
+        while (i < first.size || j < second.size) {
+            boolean isFromFirst = j == second.size || (i < first.size && first.taskIds[i] <= second.taskIds[j]);
+            if (isFromFirst) {
+                union.add(first.taskIds[i]);
+                i++;
+            } else {
+                union.add(second.taskIds[j]);
+                j++;
+            }
+        }
+        return union;
+    }
+}
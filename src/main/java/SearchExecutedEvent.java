@@ -0,0 +1,61 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a JFR event recording a search of the task list, such as finding tasks by keyword
+ * or finding the events that overlap a period.
+ */
+@Name("duke.SearchExecuted")
+@Label("Search Executed")
+@Category({"Duke", "Search"})
+@Description("The task list was searched")
+public class SearchExecutedEvent extends jdk.jfr.Event {
+
+    @Label("Search Type")
+    private String searchType;
+
+    @Label("Task Count")
+    @Description("Number of tasks in the task list")
+    private int taskCount;
+
+    @Label("Candidate Count")
+    @Description("Number of tasks returned by the index, including deleted tasks and false matches")
+    private int candidateCount;
+
+    @Label("Match Count")
+    private int matchCount;
+
+    /**
+     * Sets the type of search, such as "keywords" or "overlap".
+     * @param searchType Type of search.
+     */
+    public void setSearchType(String searchType) {
+        this.searchType = searchType;
+    }
+
+    /**
+     * Sets the number of tasks in the task list.
+     * @param taskCount Number of tasks in the task list.
+     */
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Sets the number of tasks that had to be checked to find the matching tasks.
+     * @param candidateCount Number of candidate tasks.
+     */
+    public void setCandidateCount(int candidateCount) {
+        this.candidateCount = candidateCount;
+    }
+
+    /**
+     * Sets the number of tasks found.
+     * @param matchCount Number of matching tasks.
+     */
+    public void setMatchCount(int matchCount) {
+        this.matchCount = matchCount;
+    }
+}
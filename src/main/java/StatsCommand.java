@@ -0,0 +1,15 @@
+/**
+ * Represents a command to show how long each phase of the user commands executed so far took.
+ */
+public class StatsCommand extends ParsedCommand {
+
+    @Override
+    public String execute(TaskList taskList, Storage storage, Ui ui) {
+        return ui.showStats(CommandStats.getReport());
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -1,49 +1,202 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Represents the storage system of the Duke application. The storage system is responsible
  * for loading tasks from the hard disk whenever the Duke application starts up, and for
  * saving tasks in the hard disk whenever the task list changes.
+ *
+ * <p>In journaled mode, each change to the task list is appended to a journal file next to
+ * the task file instead of rewriting every task. The journal is replayed over the task file
+ * when the tasks are loaded, and is compacted into a fresh task file in the background once
+ * it grows past a size threshold.</p>
+ *
+ * <p>Tasks are saved as lines of text, unless the task file has the {@code .bin} extension,
+ * in which case they are saved in the binary format of {@link BinaryTaskFile}.</p>
+ *
+ * <p>Changes are normally written on the calling thread. Once a {@link StorageWriter} is
+ * started, or a StorageWriter shared with other storage systems is set, changes are instead
+ * queued and written in batches on the writer's thread, and {@link #flush()} waits until every
+ * queued change is on the hard disk. Journals are compacted on a single thread shared by every
+ * storage system, so that a process with many storage systems does not need a thread for
+ * each of them.</p>
+ *
+ * <p>Once a {@link TaskFileWatcher} is started, changes made to the task file by other programs
+ * are read back by {@link #readExternalChanges()}. The size and modification time of the task
+ * file are noted whenever the storage system reads or writes it, so that its own writes are
+ * not mistaken for changes.</p>
  */
 public class Storage {
 
+    /** Default size of the journal, in characters, after which it is compacted. */
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 1024 * 1024;
+
+    private static final String ADD_RECORD = "+";
+    private static final String DONE_RECORD = "x";
+    private static final String DELETE_RECORD = "-";
+    private static final String DELETE_ALL_RECORD = "*";
+    private static final String FIELD_SEPARATOR = " | ";
+
+    private static ExecutorService compactor;
+
     private String filepath;
+    private boolean isJournaled;
+    private long compactionThreshold;
+    private BufferedWriter journalWriter;
+    private long journalSize;
+    private final AtomicBoolean isCompacting;
+    private final Object writeLock;
+    private StorageWriter writer;
+    private boolean isWriterShared;
+    private boolean isDeferred;
+    private boolean hasDeferredChanges;
+    private boolean isColumnar;
+    private TaskFileWatcher watcher;
+    private long knownFileSize;
+    private FileTime knownFileTime;
 
     /**
      * Constructs a Storage object with the specified location for containing the tasks.
      * @param filepath Path of file containing the tasks.
      */
     public Storage(String filepath) {
+        this(filepath, false);
+    }
+
+    /**
+     * Constructs a Storage object with the specified location for containing the tasks,
+     * optionally recording changes to the tasks in a journal.
+     * @param filepath Path of file containing the tasks.
+     * @param isJournaled Whether changes to the tasks are appended to a journal.
+     */
+    public Storage(String filepath, boolean isJournaled) {
+        this(filepath, isJournaled, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs a Storage object with the specified location for containing the tasks,
+     * optionally recording changes to the tasks in a journal that is compacted once it
+     * reaches the specified size.
+     * @param filepath Path of file containing the tasks.
+     * @param isJournaled Whether changes to the tasks are appended to a journal.
+     * @param compactionThreshold Size of the journal, in characters, after which it is compacted.
+     */
+    public Storage(String filepath, boolean isJournaled, long compactionThreshold) {
         this.filepath = filepath;
+        this.isJournaled = isJournaled;
+        this.compactionThreshold = compactionThreshold;
+        this.isCompacting = new AtomicBoolean(false);
+        this.writeLock = new Object();
     }
 
     /**
-     * Loads tasks from the hard disk whenever the Duke application starts up.
-     * @return List of String objects representing the tasks in the hard disk.
+     * Loads tasks from the hard disk whenever the Duke application starts up. In journaled
+     * mode, the changes recorded in the journal are applied to the loaded tasks.
+     * @return List of tasks in the hard disk.
      * @throws IOException If an error occurs while accessing or creating the directory
      * or file containing the tasks.
      * @throws DukeException If the directory or file containing the tasks does not
      * exist yet.
      */
-    public ArrayList<String> load() throws IOException, DukeException {
+    public List<Task> load() throws IOException, DukeException {
+        StorageLoadedEvent event = new StorageLoadedEvent();
+        event.begin();
         boolean isDirectoryAndFileFound = createFile();
         if (!isDirectoryAndFileFound) {
+            if (isJournaled) {
+                discardJournal();
+            }
             throw new DukeException();
         }
-        File file = new File(filepath);
-        Scanner scanner = new Scanner(file);
-        ArrayList<String> tasks = new ArrayList<>();
-        while (scanner.hasNext()) {
-            tasks.add(scanner.nextLine());
+        if (isJournaled) {
+            recoverSnapshot();
+        }
+        List<Task> tasks = readTasks();
+        noteFileVersion();
+        if (isJournaled) {
+            tasks = replayJournal(tasks);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.setTaskCount(tasks.size());
+            event.setFileSize(Files.size(Paths.get(filepath)));
+            event.setJournalSize(journalSize);
+            event.setJournaled(isJournaled);
+            event.commit();
         }
-        scanner.close();
         return tasks;
     }
 
+    /**
+     * Converts a line of the task file into the task it represents.
+     * @param savedTask Line of the task file.
+     * @return Task represented by the line.
+     */
+    public static Task parseTask(String savedTask) {
+        String[] taskDetails = splitFields(savedTask);
+        String taskType = taskDetails[0];
+        Task processedTask = null;
+        if (taskType.equals("T")) {
+            String todoDescription = taskDetails[2];
+            processedTask = new ToDo(todoDescription);
+        }
+        if (taskType.equals("D")) {
+            String deadlineDescription = taskDetails[2];
+            String deadlineDate = taskDetails[3];
+            processedTask = new Deadline(deadlineDescription, deadlineDate);
+        }
+        if (taskType.equals("E")) {
+            String eventDescription = taskDetails[2];
+            String eventDate = taskDetails[3];
+            String eventEndDate = taskDetails.length > 4 ? taskDetails[4] : null;
+            processedTask = new Event(eventDescription, eventDate, eventEndDate);
+        }
+        boolean isTaskDone = taskDetails[1].equals("1");
+        if (isTaskDone && processedTask != null) {
+            processedTask.markAsDone();
+        }
+        return processedTask;
+    }
+
+    /**
+     * Splits a line of the task file at each field separator, dropping trailing empty fields
+     * as String.split does, but without compiling a regular expression for every line.
+     */
+    private static String[] splitFields(String savedTask) {
+        ArrayList<String> fields = new ArrayList<>(5);
+        int fieldStart = 0;
+        int separator = savedTask.indexOf(FIELD_SEPARATOR);
+        while (separator >= 0) {
+            fields.add(savedTask.substring(fieldStart, separator));
+            fieldStart = separator + FIELD_SEPARATOR.length();
+            separator = savedTask.indexOf(FIELD_SEPARATOR, fieldStart);
+        }
+        fields.add(savedTask.substring(fieldStart));
+        int fieldCount = fields.size();
+        while (fieldCount > 0 && fields.size() > 1 && fields.get(fieldCount - 1).isEmpty()) {
+            fieldCount--;
+        }
+        return fields.subList(0, fieldCount).toArray(new String[0]);
+    }
+
     /**
      * Creates the directory or file containing the tasks, if it does not exist yet.
      * @return Boolean value indicating whether the directory or file already exists.
@@ -52,7 +205,7 @@ public class Storage {
      */
     public boolean createFile() throws IOException {
         boolean isDirectoryAndFileFound = true;
-        File file = new File(filepath.substring(0, filepath.lastIndexOf("/")));
+        File file = new File(filepath).getAbsoluteFile().getParentFile();
         if (!file.isDirectory()) {
             isDirectoryAndFileFound = false;
             file.mkdirs();
@@ -65,12 +218,390 @@ public class Storage {
     }
 
     /**
-     * Saves the tasks in the specified task list to the hard disk.
+     * Saves the tasks in the specified task list to the hard disk. In journaled mode, the
+     * tasks are written to a fresh task file and the journal is emptied.
+     * @param tasks Task list.
+     * @throws IOException If an error occurs while accessing the directory or file containing
+     * the tasks.
+     */
+    public void save(List<Task> tasks) throws IOException {
+        synchronized (this) {
+            journalSize = 0;
+        }
+        submit(StorageChange.ofSnapshot(writer == null ? tasks : TaskList.copyTasks(tasks)));
+    }
+
+    /**
+     * Saves a task that has been added to the end of the task list.
+     * @param task Task that has been added.
+     * @param tasks Task list.
+     * @throws IOException If an error occurs while accessing the directory or file containing
+     * the tasks.
+     */
+    public void saveAdd(Task task, List<Task> tasks) throws IOException {
+        saveChange(ADD_RECORD + " " + task.getFormattedString(), tasks);
+    }
+
+    /**
+     * Saves tasks that have been added together to the end of the task list, such as the tasks
+     * of an import, with a single save of the whole task list.
+     * @param tasks Task list.
+     * @throws IOException If an error occurs while accessing the directory or file containing
+     * the tasks.
+     */
+    public void saveAddAll(List<Task> tasks) throws IOException {
+        long saveStart = System.nanoTime();
+        try {
+            synchronized (this) {
+                if (isDeferred) {
+                    hasDeferredChanges = true;
+                    return;
+                }
+            }
+            save(tasks);
+        } finally {
+            CommandStats.addNestedTime(CommandStats.Phase.SAVE, saveStart);
+        }
+    }
+
+    /**
+     * Saves tasks in the task list that have been marked as done.
+     * @param doneTaskPositions Positions of the tasks in the task list.
+     * @param tasks Task list.
+     * @throws IOException If an error occurs while accessing the directory or file containing
+     * the tasks.
+     */
+    public void saveDone(BitSet doneTaskPositions, List<Task> tasks) throws IOException {
+        saveChange(DONE_RECORD + formatPositions(doneTaskPositions), tasks);
+    }
+
+    /**
+     * Saves the deletion of the tasks at the specified positions of the task list.
+     * @param deletedTaskPositions Positions of the deleted tasks before they were deleted.
      * @param tasks Task list.
      * @throws IOException If an error occurs while accessing the directory or file containing
      * the tasks.
      */
-    public void save(ArrayList<Task> tasks) throws IOException {
+    public void saveDelete(BitSet deletedTaskPositions, List<Task> tasks) throws IOException {
+        saveChange(DELETE_RECORD + formatPositions(deletedTaskPositions), tasks);
+    }
+
+    /**
+     * Formats task positions for a journal record, writing consecutive positions as a range.
+     */
+    private static String formatPositions(BitSet taskPositions) {
+        StringBuilder formattedPositions = new StringBuilder();
+        int rangeStart = taskPositions.nextSetBit(0);
+        while (rangeStart >= 0) {
+            int rangeEnd = taskPositions.nextClearBit(rangeStart) - 1;
+            formattedPositions.append(' ').append(rangeStart);
+            if (rangeEnd > rangeStart) {
+                formattedPositions.append('-').append(rangeEnd);
+            }
+            rangeStart = taskPositions.nextSetBit(rangeEnd + 1);
+        }
+        return formattedPositions.toString();
+    }
+
+    /**
+     * Parses the task positions of a journal record, which are separated by spaces and may
+     * include ranges.
+     */
+    private static BitSet parsePositions(String formattedPositions, int taskCount) {
+        BitSet taskPositions = new BitSet(taskCount);
+        for (String range : formattedPositions.trim().split(" ")) {
+            int separator = range.indexOf('-');
+            int rangeStart = Integer.parseInt(separator < 0 ? range : range.substring(0, separator));
+            int rangeEnd = separator < 0 ? rangeStart : Integer.parseInt(range.substring(separator + 1));
+            if (rangeStart < 0 || rangeEnd < rangeStart || rangeEnd >= taskCount) {
+                throw new IndexOutOfBoundsException("Task position out of range: " + range);
+            }
+            taskPositions.set(rangeStart, rangeEnd + 1);
+        }
+        return taskPositions;
+    }
+
+    /**
+     * Saves the deletion of all the tasks in the task list.
+     * @param tasks Task list.
+     * @throws IOException If an error occurs while accessing the directory or file containing
+     * the tasks.
+     */
+    public void saveDeleteAll(List<Task> tasks) throws IOException {
+        saveChange(DELETE_ALL_RECORD, tasks);
+    }
+
+    /**
+     * Starts writing changes in batches on a background writer thread.
+     * @param maxLatencyMillis Time, in milliseconds, that a change may wait before it is written.
+     * @param maxBatchSize Maximum number of changes written together.
+     */
+    public synchronized void startWriter(long maxLatencyMillis, int maxBatchSize) {
+        if (writer == null) {
+            writer = new StorageWriter(maxLatencyMillis, maxBatchSize);
+        }
+    }
+
+    /**
+     * Starts writing changes in batches on a writer thread shared with other storage systems.
+     * The shared writer is flushed, but not closed, when the storage system is closed.
+     * @param sharedWriter StorageWriter shared with other storage systems.
+     */
+    public synchronized void setSharedWriter(StorageWriter sharedWriter) {
+        if (writer == null) {
+            writer = sharedWriter;
+            isWriterShared = true;
+        }
+    }
+
+    /**
+     * Waits until all the changes saved so far have been written to the hard disk.
+     * @throws IOException If an error occurs while writing the changes.
+     */
+    public void flush() throws IOException {
+        if (writer != null) {
+            writer.flush(this);
+        }
+    }
+
+    /**
+     * Starts watching the task file for changes made by other programs. The task file is only
+     * watched when it is a text file outside of journaled mode, as the journal and binary
+     * task files are only meant to be written by the Duke application.
+     * @param debounceMillis Time, in milliseconds, that the task file must be left alone before
+     *                       a change is reported.
+     * @throws IOException If the directory containing the task file cannot be watched.
+     */
+    public synchronized void startWatching(long debounceMillis) throws IOException {
+        if (watcher == null && !isJournaled && !isBinary()) {
+            watcher = new TaskFileWatcher(Paths.get(filepath), debounceMillis);
+        }
+    }
+
+    /**
+     * Reads the task file again if another program has changed it since the storage system
+     * last read or wrote it. Changes saved so far are written first, so that only changes made
+     * by other programs are read. While saves are deferred, the task file is not read, and a
+     * change is read once saves are no longer deferred.
+     * @return Lines of the task file, or null if no other program has changed it.
+     * @throws IOException If an error occurs while reading the task file.
+     */
+    public List<String> readExternalChanges() throws IOException {
+        synchronized (this) {
+            if (watcher == null || isDeferred || !watcher.takeChange()) {
+                return null;
+            }
+        }
+        flush();
+        synchronized (writeLock) {
+            Path path = Paths.get(filepath);
+            boolean isWrittenByOthers = Files.exists(path)
+                    && (Files.size(path) != knownFileSize || !Files.getLastModifiedTime(path).equals(knownFileTime));
+            if (!isWrittenByOthers) {
+                return null;
+            }
+            noteFileVersion();
+            ArrayList<String> lines = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(path, Charset.defaultCharset())) {
+                String line = reader.readLine();
+                while (line != null) {
+                    if (!line.isBlank()) {
+                        lines.add(line);
+                    }
+                    line = reader.readLine();
+                }
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * Sets whether tasks are loaded into a {@link TaskColumns}, which takes less memory than
+     * task objects, instead of a list of task objects.
+     * @param isColumnar Whether tasks are loaded into a TaskColumns.
+     */
+    public void setColumnar(boolean isColumnar) {
+        this.isColumnar = isColumnar;
+    }
+
+    /**
+     * Starts or stops deferring saves. While saves are deferred, changes to the tasks are only
+     * noted, and are written to the hard disk together by the next {@link #commit}.
+     * @param isDeferred Whether saves are deferred.
+     */
+    public synchronized void setDeferred(boolean isDeferred) {
+        this.isDeferred = isDeferred;
+    }
+
+    /**
+     * Writes the tasks to the hard disk in a single save if any change to them has been
+     * deferred since the last commit.
+     * @param tasks Task list.
+     * @return Boolean value indicating whether the tasks were written.
+     * @throws IOException If an error occurs while accessing the directory or file containing
+     * the tasks.
+     */
+    public boolean commit(List<Task> tasks) throws IOException {
+        synchronized (this) {
+            if (!hasDeferredChanges) {
+                return false;
+            }
+            hasDeferredChanges = false;
+        }
+        save(tasks);
+        return true;
+    }
+
+    /**
+     * Writes all the changes saved so far and closes the journal, waiting for any compaction
+     * in progress to complete.
+     * @throws IOException If an error occurs while writing the changes or closing the journal.
+     */
+    public void close() throws IOException {
+        StorageWriter closedWriter;
+        boolean isClosedWriterShared;
+        synchronized (this) {
+            closedWriter = writer;
+            isClosedWriterShared = isWriterShared;
+            writer = null;
+            isWriterShared = false;
+        }
+        if (closedWriter != null && isClosedWriterShared) {
+            closedWriter.flush(this);
+        } else if (closedWriter != null) {
+            closedWriter.close();
+        }
+        TaskFileWatcher closedWatcher;
+        synchronized (this) {
+            closedWatcher = watcher;
+            watcher = null;
+        }
+        if (closedWatcher != null) {
+            closedWatcher.close();
+        }
+        synchronized (writeLock) {
+            waitForCompaction();
+            closeJournal();
+        }
+    }
+
+    private void saveChange(String record, List<Task> tasks) throws IOException {
+        long saveStart = System.nanoTime();
+        try {
+            saveChangeUntimed(record, tasks);
+        } finally {
+            CommandStats.addNestedTime(CommandStats.Phase.SAVE, saveStart);
+        }
+    }
+
+    private void saveChangeUntimed(String record, List<Task> tasks) throws IOException {
+        synchronized (this) {
+            if (isDeferred) {
+                hasDeferredChanges = true;
+                return;
+            }
+        }
+        if (!isJournaled) {
+            save(tasks);
+            return;
+        }
+        boolean isCompactionDue;
+        synchronized (this) {
+            journalSize += record.length() + System.lineSeparator().length();
+            isCompactionDue = journalSize >= compactionThreshold && isCompacting.compareAndSet(false, true);
+            if (isCompactionDue) {
+                journalSize = 0;
+            }
+        }
+        submit(StorageChange.ofRecord(record));
+        if (isCompactionDue) {
+            submit(StorageChange.ofCompaction(TaskList.copyTasks(tasks)));
+        }
+    }
+
+    private void submit(StorageChange change) throws IOException {
+        StorageWriter currentWriter;
+        synchronized (this) {
+            currentWriter = writer;
+        }
+        if (currentWriter == null) {
+            writeChanges(List.of(change));
+        } else {
+            currentWriter.submit(this, change);
+        }
+    }
+
+    /**
+     * Writes a batch of changes to the hard disk. Changes before the last snapshot in the
+     * batch are covered by that snapshot and are skipped, and the journal records in the
+     * batch are flushed together.
+     * @param changes Changes to be written, in the order they were saved.
+     * @throws IOException If an error occurs while writing the changes.
+     */
+    void writeChanges(List<StorageChange> changes) throws IOException {
+        synchronized (writeLock) {
+            writeChangesInOrder(changes);
+        }
+    }
+
+    private void writeChangesInOrder(List<StorageChange> changes) throws IOException {
+        StorageFlushedEvent event = new StorageFlushedEvent();
+        event.begin();
+        int firstChange = 0;
+        for (int i = 0; i < changes.size(); i++) {
+            if (changes.get(i).getType() == StorageChange.Type.SNAPSHOT) {
+                firstChange = i;
+            }
+        }
+        for (int i = 0; i < firstChange; i++) {
+            if (changes.get(i).getType() == StorageChange.Type.COMPACTION) {
+                finishCompaction();
+            }
+        }
+        long recordBytes = 0;
+        int snapshotTaskCount = -1;
+        for (int i = firstChange; i < changes.size(); i++) {
+            StorageChange change = changes.get(i);
+            switch (change.getType()) {
+            case RECORD:
+                appendRecord(change.getRecord());
+                recordBytes += change.getRecord().length() + System.lineSeparator().length();
+                break;
+            case SNAPSHOT:
+                writeTasks(change.getTasks());
+                snapshotTaskCount = change.getTasks().size();
+                break;
+            case COMPACTION:
+                flushJournal();
+                startCompaction(change.getTasks());
+                break;
+            default:
+                assert false : "The storage change should be a record, snapshot, or compaction.";
+            }
+        }
+        flushJournal();
+        event.end();
+        if (event.shouldCommit()) {
+            boolean hasSnapshot = snapshotTaskCount >= 0;
+            event.setChangeCount(changes.size() - firstChange);
+            event.setTaskCount(hasSnapshot ? snapshotTaskCount : 0);
+            event.setBytesWritten(hasSnapshot ? recordBytes + Files.size(Paths.get(filepath)) : recordBytes);
+            event.commit();
+        }
+    }
+
+    private void writeTasks(List<Task> tasks) throws IOException {
+        if (isJournaled) {
+            waitForCompaction();
+            closeJournal();
+            writeSnapshot(formatTasks(tasks), getFullSnapshotPath(), getCompactingJournalPath(),
+                    getJournalPath());
+            return;
+        }
+        if (isBinary()) {
+            writeSnapshot(formatTasks(tasks), getSnapshotPath());
+            return;
+        }
         File file = new File(filepath);
         new FileWriter(file, false).close();
         FileWriter filewriter = new FileWriter(file, true);
@@ -78,5 +609,274 @@ public class Storage {
             filewriter.write(task.getFormattedString() + System.lineSeparator());
         }
         filewriter.close();
+        noteFileVersion();
+    }
+
+    /**
+     * Notes the size and modification time of the task file as it was last read or written by
+     * the storage system.
+     */
+    private void noteFileVersion() throws IOException {
+        Path path = Paths.get(filepath);
+        knownFileSize = Files.size(path);
+        knownFileTime = Files.getLastModifiedTime(path);
+    }
+
+    private List<Task> readTasks() throws IOException {
+        if (isBinary() && !isColumnar) {
+            return BinaryTaskFile.read(Paths.get(filepath)).getTasks();
+        }
+        List<Task> tasks = isColumnar ? new TaskColumns() : new ArrayList<>();
+        if (isBinary()) {
+            BinaryTaskFile binaryTaskFile = BinaryTaskFile.read(Paths.get(filepath));
+            for (int i = 0; i < binaryTaskFile.size(); i++) {
+                tasks.add(binaryTaskFile.getTask(i));
+            }
+            return tasks;
+        }
+        new TaskFileReader().read(Paths.get(filepath), tasks);
+        return tasks;
+    }
+
+    private void appendRecord(String record) throws IOException {
+        if (journalWriter == null) {
+            journalWriter = Files.newBufferedWriter(getJournalPath(), Charset.defaultCharset(),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        journalWriter.write(record + System.lineSeparator());
+    }
+
+    private void flushJournal() throws IOException {
+        if (journalWriter != null) {
+            journalWriter.flush();
+        }
+    }
+
+    /**
+     * Moves the journal aside and rewrites the task file from a copy of the task list on
+     * a background thread. Changes made in the meantime go to a new journal.
+     */
+    private void startCompaction(List<Task> tasks) throws IOException {
+        boolean isPreviousCompactionPending = Files.exists(getCompactingJournalPath());
+        if (isPreviousCompactionPending || !Files.exists(getJournalPath())) {
+            finishCompaction();
+            return;
+        }
+        closeJournal();
+        Files.move(getJournalPath(), getCompactingJournalPath(), StandardCopyOption.ATOMIC_MOVE);
+        getCompactor().execute(() -> {
+            try {
+                writeSnapshot(formatTasks(tasks), getSnapshotPath(), getCompactingJournalPath());
+            } catch (IOException e) {
+                // The moved journal is replayed again on the next load.
+            } finally {
+                finishCompaction();
+            }
+        });
+    }
+
+    /**
+     * Returns the executor that compacts the journals of every storage system, creating its
+     * daemon thread when it is first needed.
+     */
+    private static synchronized ExecutorService getCompactor() {
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "duke-journal-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return compactor;
+    }
+
+    private void finishCompaction() {
+        synchronized (isCompacting) {
+            isCompacting.set(false);
+            isCompacting.notifyAll();
+        }
+    }
+
+    private void waitForCompaction() throws IOException {
+        synchronized (isCompacting) {
+            while (isCompacting.get()) {
+                try {
+                    isCompacting.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while compacting the journal.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the specified task lines as the new task file. The lines are first written to a
+     * temporary file which is renamed to the snapshot file once complete, so that a snapshot
+     * file left behind by an interrupted compaction is known to cover the specified journals.
+     */
+    private void writeSnapshot(ArrayList<String> lines, Path snapshotPath, Path... coveredJournalPaths)
+            throws IOException {
+        Path temporaryPath = getTemporaryPath(snapshotPath);
+        if (isBinary()) {
+            BinaryTaskFile.write(lines, temporaryPath);
+        } else {
+            Files.write(temporaryPath, lines, Charset.defaultCharset());
+        }
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE);
+        for (Path journalPath : coveredJournalPaths) {
+            Files.deleteIfExists(journalPath);
+        }
+        Files.move(snapshotPath, Paths.get(filepath), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Completes a compaction that was interrupted by the application exiting after its
+     * snapshot was written, and discards snapshots that were only partially written.
+     */
+    private void recoverSnapshot() throws IOException {
+        Files.deleteIfExists(getTemporaryPath(getFullSnapshotPath()));
+        Files.deleteIfExists(getTemporaryPath(getSnapshotPath()));
+        if (Files.exists(getFullSnapshotPath())) {
+            Files.deleteIfExists(getCompactingJournalPath());
+            Files.deleteIfExists(getJournalPath());
+            Files.move(getFullSnapshotPath(), Paths.get(filepath), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+        if (Files.exists(getSnapshotPath())) {
+            Files.deleteIfExists(getCompactingJournalPath());
+            Files.move(getSnapshotPath(), Paths.get(filepath), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private List<Task> replayJournal(List<Task> tasks) throws IOException {
+        if (Files.exists(getCompactingJournalPath())) {
+            tasks = replay(tasks, getCompactingJournalPath());
+            writeSnapshot(formatTasks(tasks), getSnapshotPath(), getCompactingJournalPath());
+        }
+        if (Files.exists(getJournalPath())) {
+            tasks = replay(tasks, getJournalPath());
+            truncateTornRecord(getJournalPath());
+            journalSize = Files.size(getJournalPath());
+        }
+        return tasks;
+    }
+
+    /**
+     * Applies the records of a journal to the tasks. A last record that does not end with a line
+     * separator was only partially written before the application exited, and is skipped even
+     * if it can be parsed, since a cut-off task or position would change the wrong task.
+     */
+    private List<Task> replay(List<Task> tasks, Path journalPath) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, Charset.defaultCharset())) {
+            StringBuilder record = new StringBuilder();
+            int c = reader.read();
+            while (c >= 0) {
+                if (c == '\n') {
+                    int length = record.length();
+                    boolean hasCarriageReturn = length > 0 && record.charAt(length - 1) == '\r';
+                    tasks = applyRecord(tasks, record.substring(0, hasCarriageReturn ? length - 1 : length));
+                    record.setLength(0);
+                } else {
+                    record.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Cuts a partially written last record off the end of a journal, so that the records
+     * appended next start on a line of their own instead of continuing the cut-off record.
+     */
+    private static void truncateTornRecord(Path journalPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long end = size;
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            while (end > 0) {
+                lastByte.clear();
+                channel.read(lastByte, end - 1);
+                if (lastByte.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < size) {
+                channel.truncate(end);
+            }
+        }
+    }
+
+    private List<Task> applyRecord(List<Task> tasks, String record) {
+        try {
+            if (record.startsWith(ADD_RECORD + " ")) {
+                tasks.add(parseTask(record.substring(2)));
+            } else if (record.startsWith(DONE_RECORD + " ")) {
+                BitSet doneTaskPositions = parsePositions(record.substring(2), tasks.size());
+                for (int i = doneTaskPositions.nextSetBit(0); i >= 0; i = doneTaskPositions.nextSetBit(i + 1)) {
+                    Task doneTask = tasks.get(i);
+                    doneTask.markAsDone();
+                    tasks.set(i, doneTask);
+                }
+            } else if (record.startsWith(DELETE_RECORD + " ")) {
+                BitSet deletedTaskPositions = parsePositions(record.substring(2), tasks.size());
+                TaskList.removeTasks(tasks, deletedTaskPositions);
+            } else if (record.equals(DELETE_ALL_RECORD)) {
+                tasks.clear();
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            // A record that was only partially written before the application exited is skipped.
+        }
+        return tasks;
+    }
+
+    private void discardJournal() throws IOException {
+        Files.deleteIfExists(getJournalPath());
+        Files.deleteIfExists(getCompactingJournalPath());
+        Files.deleteIfExists(getSnapshotPath());
+        Files.deleteIfExists(getFullSnapshotPath());
+    }
+
+    private void closeJournal() throws IOException {
+        if (journalWriter != null) {
+            journalWriter.close();
+            journalWriter = null;
+        }
+    }
+
+    private ArrayList<String> formatTasks(List<Task> tasks) {
+        ArrayList<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.getFormattedString());
+        }
+        return lines;
+    }
+
+    private boolean isBinary() {
+        return filepath.endsWith(BinaryTaskFile.FILE_EXTENSION);
+    }
+
+    private Path getJournalPath() {
+        return Paths.get(filepath + ".journal");
+    }
+
+    private Path getCompactingJournalPath() {
+        return Paths.get(filepath + ".journal.compacting");
+    }
+
+    private Path getSnapshotPath() {
+        return Paths.get(filepath + ".snapshot");
+    }
+
+    private Path getFullSnapshotPath() {
+        return Paths.get(filepath + ".snapshot.full");
+    }
+
+    private Path getTemporaryPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".tmp");
     }
 }
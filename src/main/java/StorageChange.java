@@ -0,0 +1,89 @@
+import java.util.List;
+
+/**
+ * Represents a pending change to the tasks saved in the hard disk. A change is either a
+ * record appended to the journal, a snapshot of the whole task list, or a request to
+ * compact the journal into a snapshot of the task list.
+ */
+public class StorageChange {
+
+    /**
+     * Kinds of changes to the tasks saved in the hard disk.
+     */
+    public enum Type {
+        RECORD, SNAPSHOT, COMPACTION
+    }
+
+    private Type type;
+    private String record;
+    private List<Task> tasks;
+    private long submittedNanos;
+
+    private StorageChange(Type type, String record, List<Task> tasks) {
+        this.type = type;
+        this.record = record;
+        this.tasks = tasks;
+        this.submittedNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns a change that appends the specified record to the journal.
+     * @param record Journal record.
+     * @return Change that appends the record.
+     */
+    public static StorageChange ofRecord(String record) {
+        return new StorageChange(Type.RECORD, record, null);
+    }
+
+    /**
+     * Returns a change that replaces the saved tasks with the specified tasks.
+     * @param tasks Tasks to be saved.
+     * @return Change that saves the tasks.
+     */
+    public static StorageChange ofSnapshot(List<Task> tasks) {
+        return new StorageChange(Type.SNAPSHOT, null, tasks);
+    }
+
+    /**
+     * Returns a change that compacts the journal into the specified tasks.
+     * @param tasks Tasks covered by the journal so far.
+     * @return Change that compacts the journal.
+     */
+    public static StorageChange ofCompaction(List<Task> tasks) {
+        return new StorageChange(Type.COMPACTION, null, tasks);
+    }
+
+    /**
+     * Returns the kind of the StorageChange.
+     * @return Kind of the change.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the journal record appended by the StorageChange. Snapshots and compactions
+     * have no record and return null.
+     * @return Journal record of the change.
+     */
+    public String getRecord() {
+        return record;
+    }
+
+    /**
+     * Returns the tasks saved by a snapshot, or covered by a compaction, of the StorageChange.
+     * Journal records have no tasks and return null.
+     * @return Tasks of the change.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the time at which the StorageChange was submitted, as given by {@link System#nanoTime()}.
+     * @return Time of submission of the change, in nanoseconds.
+     */
+    public long getSubmittedNanos() {
+        return submittedNanos;
+    }
+}
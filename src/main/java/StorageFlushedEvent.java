@@ -0,0 +1,52 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a JFR event recording a batch of changes being written to the hard disk by the
+ * storage system, either directly or on the background writer thread.
+ */
+@Name("duke.StorageFlushed")
+@Label("Storage Flushed")
+@Category({"Duke", "Storage"})
+@Description("A batch of changes to the tasks was written to the hard disk")
+public class StorageFlushedEvent extends jdk.jfr.Event {
+
+    @Label("Change Count")
+    @Description("Number of changes written, excluding those covered by a later snapshot")
+    private int changeCount;
+
+    @Label("Task Count")
+    @Description("Number of tasks in the snapshot written, or 0 if only journal records were written")
+    private int taskCount;
+
+    @Label("Bytes Written")
+    @DataAmount(DataAmount.BYTES)
+    private long bytesWritten;
+
+    /**
+     * Sets the number of changes written.
+     * @param changeCount Number of changes written.
+     */
+    public void setChangeCount(int changeCount) {
+        this.changeCount = changeCount;
+    }
+
+    /**
+     * Sets the number of tasks in the snapshot written.
+     * @param taskCount Number of tasks in the snapshot.
+     */
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Sets the number of bytes written to the task file and the journal.
+     * @param bytesWritten Number of bytes written.
+     */
+    public void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+}
@@ -0,0 +1,62 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a JFR event recording the tasks being loaded from the hard disk when the Duke
+ * application starts up, including the replay of the journal in journaled mode.
+ */
+@Name("duke.StorageLoaded")
+@Label("Storage Loaded")
+@Category({"Duke", "Storage"})
+@Description("The tasks were loaded from the hard disk")
+public class StorageLoadedEvent extends jdk.jfr.Event {
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("File Size")
+    @DataAmount(DataAmount.BYTES)
+    private long fileSize;
+
+    @Label("Journal Size")
+    @DataAmount(DataAmount.BYTES)
+    private long journalSize;
+
+    @Label("Journaled")
+    private boolean isJournaled;
+
+    /**
+     * Sets the number of tasks loaded.
+     * @param taskCount Number of tasks loaded.
+     */
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Sets the size of the task file.
+     * @param fileSize Size, in bytes, of the task file.
+     */
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    /**
+     * Sets the size of the journal replayed onto the task file.
+     * @param journalSize Size, in bytes, of the journal.
+     */
+    public void setJournalSize(long journalSize) {
+        this.journalSize = journalSize;
+    }
+
+    /**
+     * Sets whether the storage system is in journaled mode.
+     * @param isJournaled Whether the storage system is in journaled mode.
+     */
+    public void setJournaled(boolean isJournaled) {
+        this.isJournaled = isJournaled;
+    }
+}
@@ -0,0 +1,204 @@
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents the background writer of the storage system. Changes submitted to the writer
+ * are written to the hard disk on a dedicated thread, and changes submitted in quick
+ * succession are written together as a single batch.
+ *
+ * <p>A batch is written once it holds the maximum number of changes, once its oldest
+ * change has waited for the maximum latency, or once a flush is requested.</p>
+ *
+ * <p>A StorageWriter may be shared by many storage systems, such as those of the users of a
+ * {@link DukeServer}, so that their changes are all written on one thread. The changes in a
+ * batch are written one storage system at a time, in the order they were submitted, and a
+ * change that cannot be written is reported to the storage system that submitted it.</p>
+ */
+public class StorageWriter {
+
+    /** Default time, in milliseconds, that a change may wait before its batch is written. */
+    public static final long DEFAULT_MAX_LATENCY_MILLIS = 50;
+
+    /** Default maximum number of changes written in a single batch. */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
+    private final long maxLatencyNanos;
+    private final int maxBatchSize;
+    private final ArrayDeque<PendingChange> pendingChanges;
+    private final HashMap<Storage, IOException> writeErrors;
+    private final Thread thread;
+    private long submittedCount;
+    private long writtenCount;
+    private long batchCount;
+    private int flushRequests;
+    private boolean isClosed;
+
+    /**
+     * Represents a change waiting to be written, along with the storage system that writes it.
+     */
+    private static class PendingChange {
+        private final Storage storage;
+        private final StorageChange change;
+
+        private PendingChange(Storage storage, StorageChange change) {
+            this.storage = storage;
+            this.change = change;
+        }
+    }
+
+    /**
+     * Constructs and starts a StorageWriter.
+     * @param maxLatencyMillis Time, in milliseconds, that a change may wait before its batch
+     *                         is written.
+     * @param maxBatchSize Maximum number of changes written in a single batch.
+     */
+    public StorageWriter(long maxLatencyMillis, int maxBatchSize) {
+        assert maxBatchSize > 0 : "A batch should hold at least one change.";
+        this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        this.maxBatchSize = maxBatchSize;
+        this.pendingChanges = new ArrayDeque<>();
+        this.writeErrors = new HashMap<>();
+        this.thread = new Thread(this::run, "duke-storage-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Submits a change to be written to the hard disk by the specified storage system.
+     * @param storage Storage system that writes the change.
+     * @param change Change to be written.
+     * @throws IOException If an earlier change of the storage system could not be written, or
+     * the writer is closed.
+     */
+    public synchronized void submit(Storage storage, StorageChange change) throws IOException {
+        throwWriteError(storage);
+        if (isClosed) {
+            throw new IOException("The storage writer has been closed.");
+        }
+        pendingChanges.add(new PendingChange(storage, change));
+        submittedCount++;
+        notifyAll();
+    }
+
+    /**
+     * Writes all the changes submitted so far, waiting until they are on the hard disk.
+     * @param storage Storage system whose failed changes are reported.
+     * @throws IOException If a change of the storage system could not be written.
+     */
+    public synchronized void flush(Storage storage) throws IOException {
+        long targetCount = submittedCount;
+        flushRequests++;
+        notifyAll();
+        try {
+            while (writtenCount < targetCount && thread.isAlive()) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing the storage writer.", e);
+        } finally {
+            flushRequests--;
+        }
+        throwWriteError(storage);
+    }
+
+    /**
+     * Writes all the changes submitted so far and stops the writer thread.
+     * @throws IOException If a change that has not been reported yet could not be written.
+     */
+    public void close() throws IOException {
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing the storage writer.", e);
+        }
+        synchronized (this) {
+            if (!writeErrors.isEmpty()) {
+                IOException error = writeErrors.values().iterator().next();
+                writeErrors.clear();
+                throw error;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of batches written so far.
+     * @return Number of batches written.
+     */
+    public synchronized long getBatchCount() {
+        return batchCount;
+    }
+
+    private void run() {
+        ArrayList<PendingChange> batch = takeBatch();
+        while (batch != null) {
+            LinkedHashMap<Storage, ArrayList<StorageChange>> changesByStorage = new LinkedHashMap<>();
+            for (PendingChange pendingChange : batch) {
+                changesByStorage.computeIfAbsent(pendingChange.storage, storage -> new ArrayList<>())
+                        .add(pendingChange.change);
+            }
+            for (Map.Entry<Storage, ArrayList<StorageChange>> entry : changesByStorage.entrySet()) {
+                try {
+                    entry.getKey().writeChanges(entry.getValue());
+                } catch (IOException e) {
+                    synchronized (this) {
+                        writeErrors.putIfAbsent(entry.getKey(), e);
+                    }
+                }
+            }
+            synchronized (this) {
+                writtenCount += batch.size();
+                batchCount++;
+                notifyAll();
+            }
+            batch = takeBatch();
+        }
+    }
+
+    private synchronized ArrayList<PendingChange> takeBatch() {
+        try {
+            while (pendingChanges.isEmpty() && !isClosed) {
+                wait();
+            }
+            while (!isBatchReady()) {
+                long waitedNanos = System.nanoTime() - pendingChanges.peek().change.getSubmittedNanos();
+                TimeUnit.NANOSECONDS.timedWait(this, maxLatencyNanos - waitedNanos);
+            }
+        } catch (InterruptedException e) {
+            isClosed = true;
+        }
+        if (pendingChanges.isEmpty()) {
+            return null;
+        }
+        ArrayList<PendingChange> batch = new ArrayList<>();
+        while (!pendingChanges.isEmpty() && batch.size() < maxBatchSize) {
+            batch.add(pendingChanges.poll());
+        }
+        return batch;
+    }
+
+    private boolean isBatchReady() {
+        if (pendingChanges.isEmpty() || isClosed || flushRequests > 0) {
+            return true;
+        }
+        long waitedNanos = System.nanoTime() - pendingChanges.peek().change.getSubmittedNanos();
+        return pendingChanges.size() >= maxBatchSize || waitedNanos >= maxLatencyNanos;
+    }
+
+    private void throwWriteError(Storage storage) throws IOException {
+        IOException error = writeErrors.remove(storage);
+        if (error != null) {
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Represents a pool of strings in which each distinct string is stored once, as UTF-8 bytes in
+ * a single shared array. Strings are referred to by the ID given when they were first added, and
+ * a new String is only created when a string is read back.
+ *
+ * <p>The pool only grows: a string stays in the pool after nothing refers to its ID anymore.</p>
+ */
+public class StringPool {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] bytes;
+    private int byteCount;
+    private int[] offsets;
+    private int stringCount;
+    private int[] table;
+
+    /**
+     * Constructs an empty StringPool.
+     */
+    public StringPool() {
+        this.bytes = new byte[INITIAL_CAPACITY * 8];
+        this.byteCount = 0;
+        this.offsets = new int[INITIAL_CAPACITY + 1];
+        this.stringCount = 0;
+        this.table = new int[INITIAL_CAPACITY * 2];
+    }
+
+    private StringPool(StringPool pool) {
+        this.bytes = Arrays.copyOf(pool.bytes, pool.byteCount);
+        this.byteCount = pool.byteCount;
+        this.offsets = Arrays.copyOf(pool.offsets, pool.stringCount + 1);
+        this.stringCount = pool.stringCount;
+        this.table = pool.table.clone();
+    }
+
+    /**
+     * Returns the number of distinct strings in the StringPool.
+     * @return Number of distinct strings.
+     */
+    public int size() {
+        return stringCount;
+    }
+
+    /**
+     * Adds a string to the StringPool, unless an equal string is already in the StringPool.
+     * @param string String to be added.
+     * @return ID of the string.
+     */
+    public int add(String string) {
+        byte[] stringBytes = string.getBytes(StandardCharsets.UTF_8);
+        int mask = table.length - 1;
+        int slot = spread(Arrays.hashCode(stringBytes)) & mask;
+        while (table[slot] != 0) {
+            int id = table[slot] - 1;
+            int start = offsets[id];
+            boolean isEqual = Arrays.equals(bytes, start, offsets[id + 1], stringBytes, 0, stringBytes.length);
+            if (isEqual) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int id = stringCount;
+        if (byteCount + stringBytes.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, byteCount + stringBytes.length));
+        }
+        System.arraycopy(stringBytes, 0, bytes, byteCount, stringBytes.length);
+        byteCount += stringBytes.length;
+        if (id + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[id + 1] = byteCount;
+        stringCount++;
+        table[slot] = id + 1;
+        if (stringCount * 2 > table.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the string with the specified ID.
+     * @param id ID of the string.
+     * @return String with the ID.
+     */
+    public String get(int id) {
+        assert id >= 0 && id < stringCount : "The ID should refer to a string in the pool.";
+        int start = offsets[id];
+        return new String(bytes, start, offsets[id + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a copy of the StringPool, trimmed to the strings it holds, that can be read
+     * while the StringPool keeps growing.
+     * @return Copy of the StringPool.
+     */
+    public StringPool copy() {
+        return new StringPool(this);
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int id = 0; id < stringCount; id++) {
+            int start = offsets[id];
+            int slot = spread(hashBytes(start, offsets[id + 1])) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+    }
+
+    /**
+     * Mixes the high bits of a hash into the low bits used to pick a slot of the table.
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns the same hash as {@link Arrays#hashCode(byte[])} for a range of the shared array.
+     */
+    private int hashBytes(int start, int end) {
+        int hash = 1;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash;
+    }
+}
@@ -5,8 +5,13 @@
  */
 public abstract class Task {
 
+    /** Number of characters before the description in the String representation of a Task. */
+    public static final int DISPLAY_PREFIX_LENGTH = "[T][ ] ".length();
+
     protected String description;
     protected boolean isDone;
+    private BinaryTaskFile source;
+    private int sourcePosition;
 
     /**
      * Constructs a Task with the specified description. The Task is marked
@@ -18,6 +23,46 @@ public abstract class Task {
         this.isDone = false;
     }
 
+    /**
+     * Constructs a Task that is stored at the specified position of a binary task file. The
+     * description of the Task is only decoded from the file when it is first needed.
+     * @param source Binary task file containing the Task.
+     * @param sourcePosition Position of the Task in the binary task file.
+     */
+    public Task(BinaryTaskFile source, int sourcePosition) {
+        this.source = source;
+        this.sourcePosition = sourcePosition;
+        this.isDone = source.isDone(sourcePosition);
+    }
+
+    /**
+     * Returns the description of the activity associated with the Task.
+     * @return Description of the Task.
+     */
+    public String getDescription() {
+        if (description == null) {
+            description = source.getDescription(sourcePosition);
+        }
+        return description;
+    }
+
+    /**
+     * Returns the timestamp of the date of the Task. Tasks without a date, and tasks whose
+     * date could not be understood, return {@link TaskDate#NONE}.
+     * @return Timestamp of the date of the Task.
+     */
+    public long getTimestamp() {
+        return TaskDate.NONE;
+    }
+
+    /**
+     * Indicates whether the Task is done.
+     * @return Boolean value indicating whether the Task is done.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
     /**
      * Marks a Task as done.
      */
@@ -35,7 +80,7 @@ public abstract class Task {
 
     @Override
     public String toString() {
-        return "[" + this.getStatusIcon() + "] " + this.description;
+        return "[" + this.getStatusIcon() + "] " + this.getDescription();
     }
 
     /**
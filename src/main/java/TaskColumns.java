@@ -0,0 +1,254 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Represents a list of tasks stored as columns of primitive values instead of as task objects:
+ * the type of each task in a byte array, whether it is done in a BitSet, its date in a long
+ * array, and its description as an ID in a {@link StringPool}, so that tasks with the same
+ * description share it. Columns that few tasks need, such as the end dates of events, are only
+ * allocated once a task needs them.
+ *
+ * <p>Reading a task creates a new task object from the columns, and the task object is not
+ * backed by the list: a change to a task, such as marking it as done, must be written back with
+ * {@link #set(int, Task)}.</p>
+ */
+public class TaskColumns extends AbstractList<Task> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final int NO_TEXT = -1;
+
+    private byte[] types;
+    private int[] descriptionIds;
+    private long[] timestamps;
+    private long[] ends;
+    private int[] dateTextIds;
+    private BitSet doneTasks;
+    private StringPool strings;
+    private int size;
+
+    /**
+     * Constructs an empty TaskColumns.
+     */
+    public TaskColumns() {
+        this.types = new byte[INITIAL_CAPACITY];
+        this.descriptionIds = new int[INITIAL_CAPACITY];
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.doneTasks = new BitSet();
+        this.strings = new StringPool();
+        this.size = 0;
+    }
+
+    private TaskColumns(TaskColumns columns) {
+        this.types = Arrays.copyOf(columns.types, columns.size);
+        this.descriptionIds = Arrays.copyOf(columns.descriptionIds, columns.size);
+        this.timestamps = Arrays.copyOf(columns.timestamps, columns.size);
+        this.ends = columns.ends == null ? null : Arrays.copyOf(columns.ends, columns.size);
+        this.dateTextIds = columns.dateTextIds == null ? null : Arrays.copyOf(columns.dateTextIds, columns.size);
+        this.doneTasks = (BitSet) columns.doneTasks.clone();
+        this.strings = columns.strings.copy();
+        this.size = columns.size;
+    }
+
+    /**
+     * Returns a copy of the TaskColumns that is not affected by later changes to the TaskColumns.
+     * The columns are copied as they are, without creating any task objects.
+     * @return Copy of the TaskColumns.
+     */
+    public TaskColumns copy() {
+        return new TaskColumns(this);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        String description = strings.get(descriptionIds[index]);
+        long timestamp = timestamps[index];
+        boolean hasDateText = timestamp == TaskDate.NONE && dateTextIds != null && dateTextIds[index] != NO_TEXT;
+        Task task;
+        switch (types[index]) {
+        case DEADLINE:
+            task = hasDateText
+                    ? new Deadline(description, strings.get(dateTextIds[index]))
+                    : new Deadline(description, timestamp);
+            break;
+        case EVENT:
+            task = hasDateText
+                    ? new Event(description, strings.get(dateTextIds[index]))
+                    : new Event(description, timestamp, ends == null ? TaskDate.NONE : ends[index]);
+            break;
+        default:
+            task = new ToDo(description);
+        }
+        if (doneTasks.get(index)) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previousTask = get(index);
+        write(index, task);
+        return previousTask;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        Objects.checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        if (index < size) {
+            moveTasks(index, index + 1, size - index);
+        }
+        size++;
+        write(index, task);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removedTask = get(index);
+        removeRange(index, index + 1);
+        return removedTask;
+    }
+
+    @Override
+    public void clear() {
+        types = new byte[INITIAL_CAPACITY];
+        descriptionIds = new int[INITIAL_CAPACITY];
+        timestamps = new long[INITIAL_CAPACITY];
+        ends = null;
+        dateTextIds = null;
+        doneTasks = new BitSet();
+        strings = new StringPool();
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        moveTasks(toIndex, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        doneTasks.clear(size, size + toIndex - fromIndex);
+        modCount++;
+    }
+
+    /**
+     * Removes the tasks at the specified positions, moving up the remaining tasks in a single
+     * pass over each column.
+     * @param positions Positions of the tasks to be removed.
+     */
+    public void removePositions(BitSet positions) {
+        int remainingTaskCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (!positions.get(i)) {
+                if (remainingTaskCount != i) {
+                    moveTask(i, remainingTaskCount);
+                }
+                remainingTaskCount++;
+            }
+        }
+        doneTasks.clear(remainingTaskCount, size);
+        size = remainingTaskCount;
+        modCount++;
+    }
+
+    /**
+     * Copies the columns of a number of tasks to another position, as System.arraycopy does.
+     */
+    private void moveTasks(int from, int to, int count) {
+        System.arraycopy(types, from, types, to, count);
+        System.arraycopy(descriptionIds, from, descriptionIds, to, count);
+        System.arraycopy(timestamps, from, timestamps, to, count);
+        if (ends != null) {
+            System.arraycopy(ends, from, ends, to, count);
+        }
+        if (dateTextIds != null) {
+            System.arraycopy(dateTextIds, from, dateTextIds, to, count);
+        }
+        BitSet movedDoneTasks = doneTasks.get(from, from + count);
+        doneTasks.clear(to, to + count);
+        for (int i = movedDoneTasks.nextSetBit(0); i >= 0; i = movedDoneTasks.nextSetBit(i + 1)) {
+            doneTasks.set(to + i);
+        }
+    }
+
+    private void moveTask(int from, int to) {
+        types[to] = types[from];
+        descriptionIds[to] = descriptionIds[from];
+        timestamps[to] = timestamps[from];
+        if (ends != null) {
+            ends[to] = ends[from];
+        }
+        if (dateTextIds != null) {
+            dateTextIds[to] = dateTextIds[from];
+        }
+        doneTasks.set(to, doneTasks.get(from));
+    }
+
+    /**
+     * Writes the values of a task into the columns at the specified position.
+     */
+    private void write(int index, Task task) {
+        descriptionIds[index] = strings.add(task.getDescription());
+        timestamps[index] = task.getTimestamp();
+        doneTasks.set(index, task.isDone());
+        long end = TaskDate.NONE;
+        String dateText = null;
+        if (task instanceof Deadline) {
+            types[index] = DEADLINE;
+            dateText = task.getTimestamp() == TaskDate.NONE ? ((Deadline) task).getByText() : null;
+        } else if (task instanceof Event) {
+            types[index] = EVENT;
+            Event event = (Event) task;
+            end = event.getEndTimestamp();
+            dateText = task.getTimestamp() == TaskDate.NONE ? event.getAtText() : null;
+        } else {
+            types[index] = TODO;
+        }
+        if (end != TaskDate.NONE && ends == null) {
+            ends = new long[types.length];
+            Arrays.fill(ends, TaskDate.NONE);
+        }
+        if (ends != null) {
+            ends[index] = end;
+        }
+        if (dateText != null && dateTextIds == null) {
+            dateTextIds = new int[types.length];
+            Arrays.fill(dateTextIds, NO_TEXT);
+        }
+        if (dateTextIds != null) {
+            dateTextIds[index] = dateText == null ? NO_TEXT : strings.add(dateText);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length + (types.length >> 1));
+        types = Arrays.copyOf(types, newCapacity);
+        descriptionIds = Arrays.copyOf(descriptionIds, newCapacity);
+        timestamps = Arrays.copyOf(timestamps, newCapacity);
+        if (ends != null) {
+            int oldCapacity = ends.length;
+            ends = Arrays.copyOf(ends, newCapacity);
+            Arrays.fill(ends, oldCapacity, newCapacity, TaskDate.NONE);
+        }
+        if (dateTextIds != null) {
+            int oldCapacity = dateTextIds.length;
+            dateTextIds = Arrays.copyOf(dateTextIds, newCapacity);
+            Arrays.fill(dateTextIds, oldCapacity, newCapacity, NO_TEXT);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Represents the dates of deadlines and events as compact timestamps. A timestamp holds the
+ * number of minutes since the epoch in local time, shifted left by one bit, with the lowest bit
+ * indicating whether a time of day was specified. Timestamps therefore sort in time order.
+ *
+ * <p>Dates are parsed and formatted by hand in the formats used by Duke, without creating
+ * any date objects or formatters. Formatted dates are also kept in a small cache, since the
+ * same dates tend to be displayed again and again. The cache is shared by all threads.</p>
+ */
+public class TaskDate {
+
+    /** Timestamp of a task whose date could not be understood. */
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy hh:mm a");
+    private static final String[] MONTH_NAMES = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private static final int DAYS_PER_ERA = 146097;
+    private static final int DAYS_BEFORE_EPOCH = 719468;
+    private static final int FORMAT_CACHE_BITS = 10;
+
+    private static final FormattedDate[] FORMAT_CACHE = new FormattedDate[1 << FORMAT_CACHE_BITS];
+
+    /**
+     * Represents a timestamp together with its formatted date. Entries of the format cache are
+     * immutable, so that threads sharing the cache always see a complete entry.
+     */
+    private static class FormattedDate {
+        private final long timestamp;
+        private final String text;
+
+        private FormattedDate(long timestamp, String text) {
+            this.timestamp = timestamp;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Returns the timestamp of the specified date and time.
+     * @param dateTime Date and time.
+     * @param hasTime Whether the time of day was specified.
+     * @return Timestamp of the date and time.
+     */
+    public static long of(LocalDateTime dateTime, boolean hasTime) {
+        long epochMinute = Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+        return (epochMinute << 1) | (hasTime ? 1 : 0);
+    }
+
+    /**
+     * Returns the timestamp of the start of the specified date.
+     * @param date Date.
+     * @return Timestamp of the date, without a time of day.
+     */
+    public static long of(LocalDate date) {
+        return of(date.atStartOfDay(), false);
+    }
+
+    private static long of(int year, int month, int day, int minuteOfDay, boolean hasTime) {
+        long epochMinute = toEpochDay(year, month, day) * MINUTES_PER_DAY + minuteOfDay;
+        return (epochMinute << 1) | (hasTime ? 1 : 0);
+    }
+
+    /**
+     * Parses a date in YYYY-MM-DD or YYYY-MM-DD HHMM format into a timestamp.
+     * @param dateTime Date specified by the user.
+     * @return Timestamp of the date.
+     * @throws DateTimeParseException If the date or time is not valid.
+     */
+    public static long parse(String dateTime) throws DateTimeParseException {
+        int start = skipSpaces(dateTime, 0);
+        int end = dateTime.length();
+        while (end > start && dateTime.charAt(end - 1) == ' ') {
+            end--;
+        }
+        boolean hasDateFormat = end - start >= 10 && dateTime.charAt(start + 4) == '-'
+                && dateTime.charAt(start + 7) == '-';
+        int year = hasDateFormat ? parseDigits(dateTime, start, start + 4) : -1;
+        int month = hasDateFormat ? parseDigits(dateTime, start + 5, start + 7) : -1;
+        int day = hasDateFormat ? parseDigits(dateTime, start + 8, start + 10) : -1;
+        if (year < 0 || !isValidDate(year, month, day)) {
+            throw new DateTimeParseException("The date should be in YYYY-MM-DD format.", dateTime, start);
+        }
+        int timeStart = start + 10;
+        boolean hasOnlyDate = timeStart == end;
+        if (hasOnlyDate) {
+            return of(year, month, day, 0, false);
+        }
+        boolean isTimeSeparated = dateTime.charAt(timeStart) == ' ';
+        timeStart = skipSpaces(dateTime, timeStart);
+        int militaryTime = isTimeSeparated && end - timeStart <= 4 ? parseDigits(dateTime, timeStart, end) : -1;
+        int hour = militaryTime / 100;
+        int minute = militaryTime % 100;
+        if (militaryTime < 0 || hour > 23 || minute > 59) {
+            throw new DateTimeParseException("The time should be in HHMM format.", dateTime, timeStart);
+        }
+        return of(year, month, day, hour * MINUTES_PER_HOUR + minute, true);
+    }
+
+    /**
+     * Parses a date that was formatted by {@link #format(long)} back into a timestamp.
+     * @param formattedDate Formatted date.
+     * @return Timestamp of the date, or {@link #NONE} if the date cannot be understood.
+     */
+    public static long parseFormatted(String formattedDate) {
+        long timestamp = parseFormattedFast(formattedDate);
+        if (timestamp != NONE) {
+            return timestamp;
+        }
+        try {
+            return of(LocalDateTime.parse(formattedDate, DATE_TIME_FORMAT), true);
+        } catch (DateTimeParseException e) {
+            // The date may have been saved without a time.
+        }
+        try {
+            return of(LocalDate.parse(formattedDate, DATE_FORMAT));
+        } catch (DateTimeParseException e) {
+            return NONE;
+        }
+    }
+
+    /**
+     * Parses a date in MMM d yyyy or MMM d yyyy hh:mm a format with English month names,
+     * which is how {@link #format(long)} writes dates.
+     */
+    private static long parseFormattedFast(String formattedDate) {
+        int length = formattedDate.length();
+        int month = length >= 10 ? parseMonth(formattedDate) : 0;
+        boolean hasOneDigitDay = length >= 10 && formattedDate.charAt(5) == ' ';
+        int yearStart = hasOneDigitDay ? 6 : 7;
+        boolean isDateSeparated = month > 0 && formattedDate.charAt(3) == ' ' && length >= yearStart + 4
+                && formattedDate.charAt(yearStart - 1) == ' ';
+        int day = isDateSeparated ? parseDigits(formattedDate, 4, yearStart - 1) : -1;
+        int year = isDateSeparated ? parseDigits(formattedDate, yearStart, yearStart + 4) : -1;
+        if (day < 0 || year < 0 || !isValidDate(year, month, day)) {
+            return NONE;
+        }
+        int timeStart = yearStart + 5;
+        boolean hasOnlyDate = length == yearStart + 4;
+        if (hasOnlyDate) {
+            return of(year, month, day, 0, false);
+        }
+        boolean hasTimeFormat = length == timeStart + 8 && formattedDate.charAt(timeStart - 1) == ' '
+                && formattedDate.charAt(timeStart + 2) == ':' && formattedDate.charAt(timeStart + 5) == ' '
+                && formattedDate.charAt(timeStart + 7) == 'M';
+        int hour = hasTimeFormat ? parseDigits(formattedDate, timeStart, timeStart + 2) : -1;
+        int minute = hasTimeFormat ? parseDigits(formattedDate, timeStart + 3, timeStart + 5) : -1;
+        char meridiem = hasTimeFormat ? formattedDate.charAt(timeStart + 6) : ' ';
+        boolean isTimeValid = hour >= 1 && hour <= 12 && minute >= 0 && minute <= 59
+                && (meridiem == 'A' || meridiem == 'P');
+        if (!isTimeValid) {
+            return NONE;
+        }
+        int hourOfDay = (hour % 12) + (meridiem == 'P' ? 12 : 0);
+        return of(year, month, day, hourOfDay * MINUTES_PER_HOUR + minute, true);
+    }
+
+    /**
+     * Formats a timestamp in MMM d yyyy or MMM d yyyy hh:mm a format. Recently formatted
+     * timestamps are returned from the format cache.
+     * @param timestamp Timestamp of a date.
+     * @return Formatted date.
+     */
+    public static String format(long timestamp) {
+        int slot = (int) ((timestamp * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - FORMAT_CACHE_BITS));
+        FormattedDate cachedDate = FORMAT_CACHE[slot];
+        if (cachedDate != null && cachedDate.timestamp == timestamp) {
+            return cachedDate.text;
+        }
+        String formattedDate = formatUncached(timestamp);
+        FORMAT_CACHE[slot] = new FormattedDate(timestamp, formattedDate);
+        return formattedDate;
+    }
+
+    private static String formatUncached(long timestamp) {
+        long epochMinute = timestamp >> 1;
+        long epochDay = Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+        int year = getYear(epochDay);
+        boolean hasFourDigitYear = year >= 1000 && year <= 9999;
+        if (!hasFourDigitYear) {
+            LocalDateTime dateTime = toDateTime(timestamp);
+            return hasTime(timestamp) ? dateTime.format(DATE_TIME_FORMAT) : dateTime.format(DATE_FORMAT);
+        }
+        int dayOfYear = getDayOfYearFromMarch(epochDay);
+        int monthFromMarch = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+        int month = monthFromMarch < 10 ? monthFromMarch + 3 : monthFromMarch - 9;
+        StringBuilder formattedDate = new StringBuilder(20);
+        formattedDate.append(MONTH_NAMES[month - 1]).append(' ').append(day).append(' ').append(year);
+        if (hasTime(timestamp)) {
+            formattedDate.append(' ');
+            appendTime(formattedDate, (int) Math.floorMod(epochMinute, MINUTES_PER_DAY));
+        }
+        return formattedDate.toString();
+    }
+
+    /**
+     * Formats the time of day of a timestamp in hh:mm a format.
+     * @param timestamp Timestamp of a date.
+     * @return Formatted time.
+     */
+    public static String formatTime(long timestamp) {
+        StringBuilder formattedTime = new StringBuilder(8);
+        appendTime(formattedTime, (int) Math.floorMod(timestamp >> 1, MINUTES_PER_DAY));
+        return formattedTime.toString();
+    }
+
+    /**
+     * Formats a timestamp in the ISO 8601 format used to exchange dates with other tools,
+     * YYYY-MM-DD or YYYY-MM-DDTHH:MM.
+     * @param timestamp Timestamp of a date.
+     * @return Formatted date.
+     */
+    public static String formatIso(long timestamp) {
+        LocalDateTime dateTime = toDateTime(timestamp);
+        return hasTime(timestamp) ? dateTime.toString() : dateTime.toLocalDate().toString();
+    }
+
+    /**
+     * Parses a date in ISO 8601 format, with or without a time of day, into a timestamp.
+     * Seconds are dropped.
+     * @param isoDate Date in YYYY-MM-DD or YYYY-MM-DDTHH:MM[:SS] format.
+     * @return Timestamp of the date.
+     * @throws DateTimeParseException If the date is not in ISO 8601 format.
+     */
+    public static long parseIso(String isoDate) throws DateTimeParseException {
+        boolean hasTime = isoDate.indexOf('T') >= 0;
+        return hasTime ? of(LocalDateTime.parse(isoDate), true) : of(LocalDate.parse(isoDate));
+    }
+
+    private static void appendTime(StringBuilder text, int minuteOfDay) {
+        int hourOfDay = minuteOfDay / MINUTES_PER_HOUR;
+        int hour = hourOfDay % 12 == 0 ? 12 : hourOfDay % 12;
+        int minute = minuteOfDay % MINUTES_PER_HOUR;
+        appendTwoDigits(text, hour);
+        text.append(':');
+        appendTwoDigits(text, minute);
+        text.append(hourOfDay < 12 ? " AM" : " PM");
+    }
+
+    private static void appendTwoDigits(StringBuilder text, int value) {
+        text.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Returns the date and time of a timestamp.
+     * @param timestamp Timestamp of a date.
+     * @return Date and time of the timestamp.
+     */
+    public static LocalDateTime toDateTime(long timestamp) {
+        return LocalDateTime.ofEpochSecond((timestamp >> 1) * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Indicates whether a timestamp has a time of day.
+     * @param timestamp Timestamp of a date.
+     * @return Boolean value indicating whether the time of day was specified.
+     */
+    public static boolean hasTime(long timestamp) {
+        return (timestamp & 1) == 1;
+    }
+
+    /**
+     * Indicates whether two timestamps fall on the same day.
+     * @param first Timestamp of the first date.
+     * @param second Timestamp of the second date.
+     * @return Boolean value indicating whether the dates are on the same day.
+     */
+    public static boolean isSameDay(long first, long second) {
+        return Math.floorDiv(first >> 1, MINUTES_PER_DAY) == Math.floorDiv(second >> 1, MINUTES_PER_DAY);
+    }
+
+    /**
+     * Returns the timestamp of the start of the period covered by a timestamp. The start is
+     * ordered before every timestamp within that period.
+     * @param timestamp Timestamp of a date.
+     * @return Timestamp of the start of the period covered by the timestamp.
+     */
+    public static long getStart(long timestamp) {
+        return timestamp & ~1L;
+    }
+
+    /**
+     * Returns the timestamp of the end of the period covered by a timestamp. A timestamp
+     * without a time of day covers the whole day.
+     * @param timestamp Timestamp of a date.
+     * @return Timestamp just after the period covered by the timestamp.
+     */
+    public static long getEnd(long timestamp) {
+        long epochMinute = timestamp >> 1;
+        return hasTime(timestamp) ? (epochMinute + 1) << 1 : (epochMinute + MINUTES_PER_DAY) << 1;
+    }
+
+    /**
+     * Returns the timestamp of the current date and time.
+     * @return Timestamp of the current date and time.
+     */
+    public static long now() {
+        return of(LocalDateTime.now(), true);
+    }
+
+    private static int skipSpaces(String text, int position) {
+        while (position < text.length() && text.charAt(position) == ' ') {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Returns the value of the digits in the specified part of a piece of text, or -1 if that
+     * part is empty or contains anything other than digits.
+     */
+    private static int parseDigits(String text, int start, int end) {
+        if (start >= end) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char character = text.charAt(i);
+            if (character < '0' || character > '9') {
+                return -1;
+            }
+            value = value * 10 + (character - '0');
+        }
+        return value;
+    }
+
+    private static int parseMonth(String text) {
+        for (int i = 0; i < MONTH_NAMES.length; i++) {
+            if (text.startsWith(MONTH_NAMES[i])) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isValidDate(int year, int month, int day) {
+        return month >= 1 && month <= 12 && day >= 1 && day <= getLengthOfMonth(year, month);
+    }
+
+    private static int getLengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            boolean isLeapYear = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return isLeapYear ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /**
+     * Returns the number of days from the epoch to a date, counting years from March so that
+     * the leap day falls at the end of a year.
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        int yearFromMarch = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(yearFromMarch, 400);
+        int yearOfEra = yearFromMarch - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (long) era * DAYS_PER_ERA + dayOfEra - DAYS_BEFORE_EPOCH;
+    }
+
+    private static int getYear(long epochDay) {
+        long dayFromEraStart = epochDay + DAYS_BEFORE_EPOCH;
+        long era = Math.floorDiv(dayFromEraStart, DAYS_PER_ERA);
+        int dayOfEra = (int) (dayFromEraStart - era * DAYS_PER_ERA);
+        int yearOfEra = getYearOfEra(dayOfEra);
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        boolean isInJanuaryOrFebruary = (5 * dayOfYear + 2) / 153 >= 10;
+        return (int) (yearOfEra + era * 400 + (isInJanuaryOrFebruary ? 1 : 0));
+    }
+
+    /**
+     * Returns the day of a date within its year, counting years from March.
+     */
+    private static int getDayOfYearFromMarch(long epochDay) {
+        int dayOfEra = Math.floorMod(epochDay + DAYS_BEFORE_EPOCH, DAYS_PER_ERA);
+        int yearOfEra = getYearOfEra(dayOfEra);
+        return dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    }
+
+    private static int getYearOfEra(int dayOfEra) {
+        return (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    }
+}
@@ -0,0 +1,142 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Represents the reader of task files in the text format of the Duke application. The file is
+ * read through a {@link FileChannel} in large chunks that end at a line break, and each chunk
+ * is parsed into tasks on the common fork-join pool while the next chunk is being read. The
+ * parsed chunks are then added to the task list in the order of the file.
+ *
+ * <p>A file that fits in a single chunk is parsed on the calling thread. Blank lines are
+ * skipped, and lines may end with either a line feed or a carriage return and line feed.</p>
+ */
+public class TaskFileReader {
+
+    /** Default size of a chunk, in bytes. */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    private final int chunkSize;
+
+    /**
+     * Constructs a TaskFileReader that reads task files in chunks of the default size.
+     */
+    public TaskFileReader() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a TaskFileReader that reads task files in chunks of the specified size.
+     * @param chunkSize Size of a chunk, in bytes. Chunks grow past this size to hold a line
+     * that is longer.
+     */
+    public TaskFileReader(int chunkSize) {
+        assert chunkSize > 0 : "The chunk size should be positive.";
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads the tasks in the specified task file and adds them to the end of the task list,
+     * in the order of the file.
+     * @param path Path of the task file.
+     * @param tasks Task list to which the tasks are added.
+     * @throws IOException If an error occurs while reading the task file.
+     */
+    public void read(Path path, List<Task> tasks) throws IOException {
+        Charset charset = Charset.defaultCharset();
+        ArrayList<ChunkParser> parsers = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            byte[] remainder = new byte[0];
+            boolean isEndOfFile = false;
+            while (!isEndOfFile) {
+                ByteBuffer chunk = ByteBuffer.allocate(Math.max(chunkSize, remainder.length * 2));
+                chunk.put(remainder);
+                isEndOfFile = fill(channel, chunk);
+                int chunkEnd = isEndOfFile ? chunk.position() : lastLineEnd(chunk);
+                remainder = Arrays.copyOfRange(chunk.array(), chunkEnd, chunk.position());
+                if (chunkEnd == 0) {
+                    continue;
+                }
+                ChunkParser parser = new ChunkParser(chunk.array(), chunkEnd, charset);
+                if (isEndOfFile && parsers.isEmpty()) {
+                    tasks.addAll(parser.compute());
+                    return;
+                }
+                parser.fork();
+                parsers.add(parser);
+            }
+        }
+        for (ChunkParser parser : parsers) {
+            tasks.addAll(parser.join());
+        }
+    }
+
+    /**
+     * Reads from the channel until the chunk is full or the end of the file is reached.
+     * @return Boolean value indicating whether the end of the file was reached.
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer chunk) throws IOException {
+        while (chunk.hasRemaining()) {
+            if (channel.read(chunk) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the position after the last line feed in the chunk, or 0 if the chunk holds no
+     * line feed, in which case its line continues into the next chunk.
+     */
+    private static int lastLineEnd(ByteBuffer chunk) {
+        byte[] bytes = chunk.array();
+        for (int i = chunk.position() - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Represents the parsing of the lines in one chunk of a task file into tasks.
+     */
+    private static class ChunkParser extends RecursiveTask<List<Task>> {
+
+        private final byte[] bytes;
+        private final int length;
+        private final Charset charset;
+
+        private ChunkParser(byte[] bytes, int length, Charset charset) {
+            this.bytes = bytes;
+            this.length = length;
+            this.charset = charset;
+        }
+
+        @Override
+        protected List<Task> compute() {
+            ArrayList<Task> tasks = new ArrayList<>();
+            int lineStart = 0;
+            while (lineStart < length) {
+                int lineEnd = lineStart;
+                while (lineEnd < length && bytes[lineEnd] != '\n') {
+                    lineEnd++;
+                }
+                int textEnd = lineEnd > lineStart && bytes[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+                String line = new String(bytes, lineStart, textEnd - lineStart, charset);
+                if (!line.isBlank()) {
+                    tasks.add(Storage.parseTask(line));
+                }
+                lineStart = lineEnd + 1;
+            }
+            return tasks;
+        }
+    }
+}
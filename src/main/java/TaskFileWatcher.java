@@ -0,0 +1,120 @@
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a watcher of the task file, which notices when the task file is written while the
+ * Duke application is running, such as by a sync tool or a text editor.
+ *
+ * <p>Programs often write a file in several steps, so a change is only reported once the task
+ * file has been left alone for the debounce time, and a burst of writes is reported as a single
+ * change. The watcher only reports that the task file was written; the storage system tells
+ * its own writes apart from those of other programs.</p>
+ *
+ * <p>Each watcher has its own watch service and thread, which suits the single task file of
+ * the main window. The {@link DukeServer} does not watch the task files of its users.</p>
+ */
+public class TaskFileWatcher {
+
+    /** Default time, in milliseconds, that the task file must be left alone before a change is reported. */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 200;
+
+    private final Path fileName;
+    private final long debounceNanos;
+    private final WatchService watchService;
+    private final Thread thread;
+    private boolean isChanged;
+
+    /**
+     * Constructs and starts a TaskFileWatcher that watches the specified task file.
+     * @param filePath Path of the task file.
+     * @param debounceMillis Time, in milliseconds, that the task file must be left alone before
+     *                       a change is reported.
+     * @throws IOException If the directory containing the task file cannot be watched.
+     */
+    public TaskFileWatcher(Path filePath, long debounceMillis) throws IOException {
+        Path absolutePath = filePath.toAbsolutePath();
+        this.fileName = absolutePath.getFileName();
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.watchService = absolutePath.getFileSystem().newWatchService();
+        absolutePath.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::run, "duke-task-file-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Returns whether the task file has been written since the last call, and clears the change.
+     * @return Boolean value indicating whether the task file has been written.
+     */
+    public synchronized boolean takeChange() {
+        boolean wasChanged = isChanged;
+        isChanged = false;
+        return wasChanged;
+    }
+
+    /**
+     * Stops watching the task file.
+     * @throws IOException If an error occurs while closing the watch service.
+     */
+    public void close() throws IOException {
+        watchService.close();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for writes to the task file, reporting a change once no write has been seen for the
+     * debounce time, until the watcher is closed or the directory can no longer be watched.
+     */
+    private void run() {
+        boolean isWritten = false;
+        long quietTime = 0;
+        try {
+            boolean isWatched = true;
+            while (isWatched) {
+                long remainingNanos = quietTime - System.nanoTime();
+                WatchKey key;
+                if (!isWritten) {
+                    key = watchService.take();
+                } else {
+                    key = remainingNanos > 0 ? watchService.poll(remainingNanos, TimeUnit.NANOSECONDS) : null;
+                }
+                if (key == null) {
+                    reportChange();
+                    isWritten = false;
+                    continue;
+                }
+                if (isTaskFileWritten(key)) {
+                    isWritten = true;
+                    quietTime = System.nanoTime() + debounceNanos;
+                }
+                isWatched = key.reset();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // The watcher has been closed.
+        }
+    }
+
+    private boolean isTaskFileWritten(WatchKey key) {
+        boolean isTaskFileWritten = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            boolean isLost = event.kind() == StandardWatchEventKinds.OVERFLOW;
+            isTaskFileWritten |= isLost || fileName.equals(event.context());
+        }
+        return isTaskFileWritten;
+    }
+
+    private synchronized void reportChange() {
+        isChanged = true;
+    }
+}
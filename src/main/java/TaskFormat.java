@@ -0,0 +1,170 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Represents a format in which tasks are exported to, and imported from, other tools. Tasks
+ * are written and read one at a time, so that a task list of any size can be moved through a
+ * format without holding the whole document in memory.
+ *
+ * <p>Dates are exchanged in ISO 8601 format, except for dates that Duke kept as text because
+ * it could not understand them, which are exchanged as they are. A TaskFormat may keep track
+ * of the document it is writing, so a new TaskFormat is used for each document.</p>
+ */
+public abstract class TaskFormat {
+
+    /** Names of the supported formats, as they are given in commands. */
+    public static final String FORMAT_NAMES = "csv, jsonl or ics";
+
+    /**
+     * Returns a new TaskFormat with the specified name.
+     * @param name Name of the format: csv, jsonl or ics.
+     * @return TaskFormat with the name, or null if no format has the name.
+     */
+    public static TaskFormat forName(String name) {
+        switch (name.toLowerCase()) {
+        case "csv":
+            return new CsvTaskFormat();
+        case "jsonl":
+            return new JsonLinesTaskFormat();
+        case "ics":
+            return new ICalendarTaskFormat();
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Writes whatever comes before the first task of a document in the TaskFormat.
+     * @param out Destination of the document.
+     * @throws IOException If an error occurs while writing.
+     */
+    public void writeHeader(Writer out) throws IOException {
+        // Most formats have no header.
+    }
+
+    /**
+     * Writes a task to a document in the TaskFormat.
+     * @param task Task to be written.
+     * @param out Destination of the document.
+     * @throws IOException If an error occurs while writing.
+     */
+    public abstract void write(Task task, Writer out) throws IOException;
+
+    /**
+     * Writes whatever comes after the last task of a document in the TaskFormat.
+     * @param out Destination of the document.
+     * @throws IOException If an error occurs while writing.
+     */
+    public void writeFooter(Writer out) throws IOException {
+        // Most formats have no footer.
+    }
+
+    /**
+     * Reads the next task from a document in the TaskFormat.
+     * @param in Source of the document.
+     * @return Next task, or null if there are no more tasks in the document.
+     * @throws IOException If an error occurs while reading.
+     * @throws IllegalArgumentException If the next record of the document cannot be understood.
+     * The record has been read, so the task after it can still be read.
+     */
+    public abstract Task read(BufferedReader in) throws IOException;
+
+    /**
+     * Returns the name of the type of a task: todo, deadline or event.
+     */
+    protected static String getTypeName(Task task) {
+        if (task instanceof Deadline) {
+            return "deadline";
+        }
+        return task instanceof Event ? "event" : "todo";
+    }
+
+    /**
+     * Returns the date of a deadline or event in ISO 8601 format, or as text if it is kept as
+     * text, or null if the task has no date.
+     */
+    protected static String getDate(Task task) {
+        if (task.getTimestamp() != TaskDate.NONE) {
+            return TaskDate.formatIso(task.getTimestamp());
+        }
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getByText();
+        }
+        return task instanceof Event ? ((Event) task).getAtText() : null;
+    }
+
+    /**
+     * Returns the end date of an event in ISO 8601 format, or null if the task has no end date.
+     */
+    protected static String getEndDate(Task task) {
+        boolean hasEndDate = task instanceof Event && ((Event) task).getEndTimestamp() != TaskDate.NONE;
+        return hasEndDate ? TaskDate.formatIso(((Event) task).getEndTimestamp()) : null;
+    }
+
+    private static String joinLines(String text) {
+        return text.replace("\r\n", " ").replace('\r', ' ').replace('\n', ' ');
+    }
+
+    /**
+     * Creates a task from the fields of a record, keeping a date that is not in ISO 8601 format
+     * as text. Line breaks in the description and the date, which formats such as CSV and JSON
+     * allow, are replaced with spaces, since the task file holds one task per line.
+     * @throws IllegalArgumentException If the type is unknown, or a field that the type needs
+     * is missing.
+     */
+    protected static Task createTask(String typeName, boolean isDone, String description, String date,
+            String endDate) {
+        if (description == null) {
+            throw new IllegalArgumentException("The task has no description.");
+        }
+        description = joinLines(description);
+        date = date == null ? null : joinLines(date);
+        boolean hasDate = date != null && !date.isEmpty();
+        boolean hasEndDate = endDate != null && !endDate.isEmpty();
+        Task task;
+        switch (typeName == null ? "" : typeName.toLowerCase()) {
+        case "todo":
+            task = new ToDo(description);
+            break;
+        case "deadline":
+            if (!hasDate) {
+                throw new IllegalArgumentException("The deadline has no date.");
+            }
+            long by = parseDate(date);
+            task = by == TaskDate.NONE ? new Deadline(description, date) : new Deadline(description, by);
+            break;
+        case "event":
+            if (!hasDate) {
+                throw new IllegalArgumentException("The event has no date.");
+            }
+            long at = parseDate(date);
+            long end = hasEndDate ? parseDate(endDate) : TaskDate.NONE;
+            task = at == TaskDate.NONE ? new Event(description, date) : new Event(description, at, end);
+            break;
+        default:
+            throw new IllegalArgumentException("The task type should be todo, deadline or event.");
+        }
+        if (isDone) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    /**
+     * Parses a date in ISO 8601 format, returning {@link TaskDate#NONE} if it is in another format.
+     * Dates kept as text rarely start with a digit, so they are turned away before the parser
+     * throws an exception for them.
+     */
+    private static long parseDate(String date) {
+        if (!Character.isDigit(date.charAt(0))) {
+            return TaskDate.NONE;
+        }
+        try {
+            return TaskDate.parseIso(date);
+        } catch (DateTimeParseException e) {
+            return TaskDate.NONE;
+        }
+    }
+}
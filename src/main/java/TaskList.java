@@ -1,67 +1,55 @@
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Represents the task list of the Duke application. The task list is responsible
  * for storing and modifying tasks.
+ *
+ * <p>Each task is given an ID when it enters the task list. IDs increase in the order of the
+ * tasks, so the indexes of the task list can refer to tasks by ID while their positions
+ * change as other tasks are deleted.</p>
  */
 public class TaskList {
 
-    private ArrayList<Task> tasks;
+    private List<Task> tasks;
+    private PostingList taskIds;
+    private int nextTaskId;
+    private KeywordIndex keywordIndex;
+    private TrigramIndex trigramIndex;
+    private TemporalIndex deadlineIndex;
+    private TemporalIndex eventIndex;
+    private IntervalTree intervalTree;
+
+    /**
+     * Represents the indexes of a TaskList, each of which is built when a search first needs it.
+     */
+    enum IndexType {
+        KEYWORD, TRIGRAM, DEADLINE, EVENT, INTERVAL
+    }
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
-     * Constructs a TaskList containing the tasks saved in the hard disk.
+     * Constructs a TaskList containing the tasks saved in the hard disk. The TaskList keeps
+     * the tasks in the specified list, which may be a {@link TaskColumns}.
      * @param savedTasks List of tasks saved in the hard disk.
      */
-    public TaskList(ArrayList<String> savedTasks) {
-        ArrayList<Task> tasks = new ArrayList<>();
-        for (String savedTask : savedTasks) {
-            Task processedTask = processTask(savedTask);
-            tasks.add(processedTask);
-        }
-        this.tasks = tasks;
-    }
-
-    private Task processTask(String savedTask) {
-        String[] taskDetails = savedTask.split(" \\| ");
-        String taskType = taskDetails[0];
-        Task processedTask = null;
-        if (taskType.equals("T")) {
-            String todoDescription = taskDetails[2];
-            ToDo todo = new ToDo(todoDescription);
-            boolean isTodoDone = taskDetails[1].equals("1");
-            if (isTodoDone) {
-                todo.markAsDone();
-            }
-            processedTask = todo;
-        }
-        if (taskType.equals("D")) {
-            String deadlineDescription = taskDetails[2];
-            String deadlineDate = taskDetails[3];
-            Deadline deadline = new Deadline(deadlineDescription, deadlineDate);
-            boolean isDeadlineDone = taskDetails[1].equals("1");
-            if (isDeadlineDone) {
-                deadline.markAsDone();
-            }
-            processedTask = deadline;
+    public TaskList(List<Task> savedTasks) {
+        this.tasks = savedTasks;
+        this.taskIds = new PostingList();
+        this.nextTaskId = 0;
+        for (int i = 0; i < savedTasks.size(); i++) {
+            taskIds.add(nextTaskId);
+            nextTaskId++;
         }
-        if (taskType.equals("E")) {
-            String eventDescription = taskDetails[2];
-            String eventDate = taskDetails[3];
-            Event event = new Event(eventDescription, eventDate);
-            boolean isEventDone = taskDetails[1].equals("1");
-            if (isEventDone) {
-                event.markAsDone();
-            }
-            processedTask = event;
-        }
-        return processedTask;
     }
 
     /**
@@ -76,22 +64,41 @@ public class TaskList {
      * Returns the TaskList.
      * @return TaskList.
      */
-    public ArrayList<Task> getTasks() {
+    public List<Task> getTasks() {
         return tasks;
     }
 
     /**
-     * Creates and sends a list of String objects representing the tasks in the TaskList
-     * to the user interface of the Duke application to retrieve the corresponding response.
+     * Sends the tasks in the TaskList to the user interface of the Duke application to
+     * retrieve the corresponding response.
      * @param ui User interface of the Duke application.
      * @return Response of the user interface.
      */
     public String showList(Ui ui) {
-        ArrayList<Task> displayedTasks = new ArrayList<>();
-        for (Task task : tasks) {
-            displayedTasks.add(task);
-        }
-        return ui.showList(displayedTasks);
+        return ui.showList(Collections.unmodifiableList(tasks));
+    }
+
+    /**
+     * Sends a page of the tasks in the TaskList to the user interface of the Duke application
+     * to retrieve the corresponding response.
+     * @param page Number of the page, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     */
+    public String showPage(int page, int pageSize, Ui ui) {
+        return ui.showListPage(Collections.unmodifiableList(tasks), page, pageSize);
+    }
+
+    /**
+     * Writes the response of the user interface of the Duke application that displays the
+     * tasks in the TaskList, without building the whole response in memory.
+     * @param ui User interface of the Duke application.
+     * @param out Destination of the response.
+     * @throws IOException If an error occurs while writing the response.
+     */
+    public void writeList(Ui ui, Appendable out) throws IOException {
+        ui.writeList(Collections.unmodifiableList(tasks), out);
     }
 
     /**
@@ -104,33 +111,71 @@ public class TaskList {
     public String markDone(int taskPosition, Ui ui) {
         Task doneTask = tasks.get(taskPosition);
         doneTask.markAsDone();
+        tasks.set(taskPosition, doneTask);
         return ui.showDone(doneTask);
     }
 
+    /**
+     * Marks specified tasks in the TaskList as done and retrieves the corresponding
+     * response from the user interface of the Duke application.
+     * @param doneTaskPositions Positions of the tasks to be marked as done in the task list.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     */
+    public String markDone(BitSet doneTaskPositions, Ui ui) {
+        ArrayList<Task> doneTasks = new ArrayList<>();
+        for (int i = doneTaskPositions.nextSetBit(0); i >= 0; i = doneTaskPositions.nextSetBit(i + 1)) {
+            Task doneTask = tasks.get(i);
+            doneTask.markAsDone();
+            tasks.set(i, doneTask);
+            doneTasks.add(doneTask);
+        }
+        return ui.showDone(doneTasks);
+    }
+
     /**
      * Deletes specified tasks in the TaskList and retrieves the corresponding response
-     * from the user interface of the Duke application.
-     * @param deletedTaskPositions ArrayList containing the positions of the tasks to be
-     *                             deleted in the task list.
+     * from the user interface of the Duke application. The remaining tasks are moved up
+     * in a single pass over the TaskList.
+     * @param deletedTaskPositions Positions of the tasks to be deleted in the task list.
      * @param ui User interface of the Duke application.
      * @return Response of the user interface.
      */
-    public String deleteTasks(ArrayList<String> deletedTaskPositions, Ui ui) {
-        ArrayList<Task> removedTasks = new ArrayList<>();
-        ArrayList<Task> remainingTasks = new ArrayList<>();
-        for (int i = 0; i < tasks.size(); i++) {
-            String taskPosition = Integer.toString(i);
-            if (deletedTaskPositions.contains(taskPosition)) {
-                removedTasks.add(tasks.get(i));
-            } else {
-                remainingTasks.add(tasks.get(i));
-            }
+    public String deleteTasks(BitSet deletedTaskPositions, Ui ui) {
+        ArrayList<Task> removedTasks = removeTaskPositions(deletedTaskPositions);
+        return ui.showDelete(removedTasks, tasks.size());
+    }
+
+    /**
+     * Removes the tasks at the specified positions from the TaskList and from the indexes that
+     * have been built.
+     * @return Removed tasks.
+     */
+    private ArrayList<Task> removeTaskPositions(BitSet deletedTaskPositions) {
+        ArrayList<Task> removedTasks = new ArrayList<>(deletedTaskPositions.cardinality());
+        for (int i = deletedTaskPositions.nextSetBit(0); i >= 0; i = deletedTaskPositions.nextSetBit(i + 1)) {
+            removedTasks.add(tasks.get(i));
         }
-        tasks.clear();
-        for (Task task : remainingTasks) {
-            tasks.add(task);
+        removeTasks(tasks, deletedTaskPositions);
+        taskIds.removeAll(deletedTaskPositions);
+        if (keywordIndex != null) {
+            keywordIndex.deleteTasks(removedTasks.size());
         }
-        return ui.showDelete(removedTasks, tasks.size());
+        if (trigramIndex != null) {
+            trigramIndex.deleteTasks(removedTasks.size());
+        }
+        for (Task task : removedTasks) {
+            if (deadlineIndex != null) {
+                deadlineIndex.deleteTask(task);
+            }
+            if (eventIndex != null) {
+                eventIndex.deleteTask(task);
+            }
+            if (intervalTree != null) {
+                intervalTree.deleteTask(task);
+            }
+        }
+        return removedTasks;
     }
 
     /**
@@ -145,6 +190,12 @@ public class TaskList {
             removedTasks.add(task);
         }
         tasks.clear();
+        taskIds.clear();
+        keywordIndex = null;
+        trigramIndex = null;
+        deadlineIndex = null;
+        eventIndex = null;
+        intervalTree = null;
         return ui.showDelete(removedTasks, tasks.size());
     }
 
@@ -156,24 +207,520 @@ public class TaskList {
      * @return Response of the user interface.
      */
     public String addTask(Task task, Ui ui) {
+        ArrayList<Task> conflictingTasks = new ArrayList<>();
+        boolean isScheduledEvent = task instanceof Event && task.getTimestamp() != TaskDate.NONE;
+        if (isScheduledEvent) {
+            Event event = (Event) task;
+            intervalTree = getIntervalTree();
+            conflictingTasks = findOverlappingEvents(event.getStart(), event.getEnd());
+        }
+        appendTask(task);
+        return ui.showAdd(task, tasks.size(), conflictingTasks);
+    }
+
+    /**
+     * Adds the specified tasks to the end of the TaskList, in order. Unlike
+     * {@link #addTask(Task, Ui)}, the tasks are not checked for overlaps with the events in the
+     * TaskList, so that many tasks can be added at once.
+     * @param addedTasks Tasks to be added.
+     */
+    public void addTasks(List<Task> addedTasks) {
+        for (Task task : addedTasks) {
+            appendTask(task);
+        }
+    }
+
+    /**
+     * Brings the TaskList in line with the lines of the task file after another program has
+     * changed it. The lines are compared with the tasks in the TaskList from both ends, and only
+     * the lines between the first and the last difference are parsed into tasks, which replace
+     * the tasks between those differences. Lines that cannot be parsed are left out.
+     *
+     * <p>When the changes are at the end of the TaskList, or only delete tasks, the indexes are
+     * kept up to date. Otherwise the tasks are given new IDs in order, and the indexes are
+     * rebuilt when they are next needed.</p>
+     * @param savedTasks Lines of the task file.
+     * @return Number of tasks that were deleted, replaced or added.
+     */
+    public int syncTasks(List<String> savedTasks) {
+        TasksReloadedEvent event = new TasksReloadedEvent();
+        event.begin();
+        int oldSize = tasks.size();
+        int newSize = savedTasks.size();
+        int start = 0;
+        while (start < oldSize && start < newSize
+                && tasks.get(start).getFormattedString().equals(savedTasks.get(start))) {
+            start++;
+        }
+        int endOffset = 0;
+        while (endOffset < oldSize - start && endOffset < newSize - start
+                && tasks.get(oldSize - 1 - endOffset).getFormattedString()
+                        .equals(savedTasks.get(newSize - 1 - endOffset))) {
+            endOffset++;
+        }
+        int oldEnd = oldSize - endOffset;
+        int newEnd = newSize - endOffset;
+        ArrayList<Task> changedTasks = new ArrayList<>(newEnd - start);
+        for (int i = start; i < newEnd; i++) {
+            Task task = parseSavedTask(savedTasks.get(i));
+            if (task != null) {
+                changedTasks.add(task);
+            }
+        }
+        BitSet replacedTaskPositions = new BitSet(oldEnd);
+        replacedTaskPositions.set(start, oldEnd);
+        boolean isIndexKept = oldEnd == oldSize || changedTasks.isEmpty();
+        if (isIndexKept) {
+            removeTaskPositions(replacedTaskPositions);
+            for (Task task : changedTasks) {
+                appendTask(task);
+            }
+        } else {
+            removeTasks(tasks, replacedTaskPositions);
+            tasks.addAll(start, changedTasks);
+            renumberTasks();
+        }
+        int changedCount = Math.max(oldEnd, start + changedTasks.size()) - start;
+        event.end();
+        if (event.shouldCommit()) {
+            event.setTaskCount(tasks.size());
+            event.setChangedTaskCount(changedCount);
+            event.setIndexKept(isIndexKept);
+            event.commit();
+        }
+        return changedCount;
+    }
+
+    private static Task parseSavedTask(String savedTask) {
+        try {
+            return Storage.parseTask(savedTask);
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gives the tasks in the TaskList new IDs in order and drops the indexes, which refer to
+     * the old IDs.
+     */
+    private void renumberTasks() {
+        taskIds.clear();
+        nextTaskId = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            taskIds.add(nextTaskId);
+            nextTaskId++;
+        }
+        keywordIndex = null;
+        trigramIndex = null;
+        deadlineIndex = null;
+        eventIndex = null;
+        intervalTree = null;
+    }
+
+    /**
+     * Adds a task to the end of the TaskList, giving it the next ID and adding it to the
+     * indexes that have been built.
+     */
+    private void appendTask(Task task) {
+        int taskId = nextTaskId;
+        nextTaskId++;
         tasks.add(task);
-        return ui.showAdd(task, tasks.size());
+        taskIds.add(taskId);
+        if (keywordIndex != null) {
+            keywordIndex.addTask(taskId, task);
+        }
+        if (trigramIndex != null) {
+            trigramIndex.addTask(taskId, task);
+        }
+        if (deadlineIndex != null) {
+            deadlineIndex.addTask(taskId, task);
+        }
+        if (eventIndex != null) {
+            eventIndex.addTask(taskId, task);
+        }
+        if (intervalTree != null) {
+            intervalTree.addTask(taskId, task);
+        }
     }
 
     /**
-     * Finds the tasks in the TaskList that match
-     * Finds all the tasks in the TaskList that match the specified keyword.
+     * Finds all the tasks in the TaskList that match the specified keyword. Where possible,
+     * only the tasks that contain every trigram of the keyword are checked.
      * @param keyword Keyword specified by the user.
      * @param ui User interface of the Duke application.
      * @return Response of the user interface.
      */
     public String findTask(String keyword, Ui ui) {
+        return ui.showFind(getMatchingTasks(keyword));
+    }
+
+    /**
+     * Finds a page of the tasks in the TaskList that match the specified keyword.
+     * @param keyword Keyword specified by the user.
+     * @param page Number of the page, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     */
+    public String findTask(String keyword, int page, int pageSize, Ui ui) {
+        return ui.showFindPage(getMatchingTasks(keyword), page, pageSize);
+    }
+
+    /**
+     * Finds all the tasks in the TaskList that contain every word of at least one of the
+     * specified groups of keywords. Words are matched case-insensitively using the keyword
+     * index of the TaskList.
+     * @param keywordGroups Groups of keywords specified by the user.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     */
+    public String findTasks(ArrayList<ArrayList<String>> keywordGroups, Ui ui) {
+        return ui.showFind(getMatchingTasks(keywordGroups));
+    }
+
+    /**
+     * Finds a page of the tasks in the TaskList that contain every word of at least one of
+     * the specified groups of keywords.
+     * @param keywordGroups Groups of keywords specified by the user.
+     * @param page Number of the page, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     */
+    public String findTasks(ArrayList<ArrayList<String>> keywordGroups, int page, int pageSize, Ui ui) {
+        return ui.showFindPage(getMatchingTasks(keywordGroups), page, pageSize);
+    }
+
+    private ArrayList<String> getMatchingTasks(String keyword) {
+        SearchExecutedEvent event = new SearchExecutedEvent();
+        event.begin();
         ArrayList<String> matchingTasks = new ArrayList<>();
-        for (Task task : tasks) {
-            if (task.toString().contains(keyword)) {
-                matchingTasks.add(task.toString());
+        if (!TrigramIndex.canFind(keyword)) {
+            for (Task task : tasks) {
+                String displayedTask = task.toString();
+                if (displayedTask.contains(keyword)) {
+                    matchingTasks.add(displayedTask);
+                }
+            }
+            commitSearchEvent(event, "substring", tasks.size(), matchingTasks.size());
+            return matchingTasks;
+        }
+        PostingList candidateTaskIds = getTrigramIndex().findCandidates(keyword);
+        for (int i = 0; i < candidateTaskIds.size(); i++) {
+            int taskPosition = taskIds.indexOf(candidateTaskIds.get(i));
+            boolean isTaskDeleted = taskPosition < 0;
+            if (isTaskDeleted) {
+                continue;
+            }
+            String displayedTask = tasks.get(taskPosition).toString();
+            if (displayedTask.contains(keyword)) {
+                matchingTasks.add(displayedTask);
+            }
+        }
+        commitSearchEvent(event, "substring", candidateTaskIds.size(), matchingTasks.size());
+        return matchingTasks;
+    }
+
+    private ArrayList<String> getMatchingTasks(ArrayList<ArrayList<String>> keywordGroups) {
+        SearchExecutedEvent event = new SearchExecutedEvent();
+        event.begin();
+        PostingList matchingTaskIds = getKeywordIndex().find(keywordGroups);
+        ArrayList<String> matchingTasks = new ArrayList<>();
+        for (int i = 0; i < matchingTaskIds.size(); i++) {
+            int taskPosition = taskIds.indexOf(matchingTaskIds.get(i));
+            boolean isTaskDeleted = taskPosition < 0;
+            if (!isTaskDeleted) {
+                matchingTasks.add(tasks.get(taskPosition).toString());
+            }
+        }
+        commitSearchEvent(event, "keywords", matchingTaskIds.size(), matchingTasks.size());
+        return matchingTasks;
+    }
+
+    /**
+     * Records a search of the TaskList in the JFR event that was begun when the search started,
+     * if JFR is recording such events.
+     */
+    private void commitSearchEvent(SearchExecutedEvent event, String searchType, int candidateCount,
+            int matchCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setSearchType(searchType);
+            event.setTaskCount(tasks.size());
+            event.setCandidateCount(candidateCount);
+            event.setMatchCount(matchCount);
+            event.commit();
+        }
+    }
+
+    /**
+     * Finds all the deadlines in the TaskList that are due before the specified date, in the
+     * order that they are due.
+     * @param before Timestamp of the date.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     */
+    public String findDueBefore(long before, Ui ui) {
+        deadlineIndex = getTemporalIndex(deadlineIndex, Deadline.class);
+        return ui.showSchedule(findScheduledTasks(deadlineIndex, Long.MIN_VALUE + 1, before));
+    }
+
+    /**
+     * Finds all the deadlines and events in the TaskList that are dated within the specified
+     * period, in time order.
+     * @param from Timestamp of the start of the period.
+     * @param to Timestamp just after the end of the period.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     */
+    public String findBetween(long from, long to, Ui ui) {
+        deadlineIndex = getTemporalIndex(deadlineIndex, Deadline.class);
+        eventIndex = getTemporalIndex(eventIndex, Event.class);
+        ArrayList<Task> deadlines = findScheduledTasks(deadlineIndex, from, to);
+        ArrayList<Task> events = findScheduledTasks(eventIndex, from, to);
+        ArrayList<Task> scheduledTasks = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < deadlines.size() || j < events.size()) {
+            boolean isDeadlineNext = j == events.size()
+                    || (i < deadlines.size() && deadlines.get(i).getTimestamp() <= events.get(j).getTimestamp());
+            if (isDeadlineNext) {
+                scheduledTasks.add(deadlines.get(i));
+                i++;
+            } else {
+                scheduledTasks.add(events.get(j));
+                j++;
+            }
+        }
+        return ui.showSchedule(scheduledTasks);
+    }
+
+    /**
+     * Finds all the deadlines in the TaskList that are not done and are past due, in the order
+     * that they were due. A deadline without a time of day is past due once its day is over.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     */
+    public String findOverdue(Ui ui) {
+        long now = TaskDate.now();
+        deadlineIndex = getTemporalIndex(deadlineIndex, Deadline.class);
+        ArrayList<Task> overdueTasks = new ArrayList<>();
+        for (Task task : findScheduledTasks(deadlineIndex, Long.MIN_VALUE + 1, now)) {
+            boolean isOverdue = !task.isDone() && TaskDate.getEnd(task.getTimestamp()) <= now;
+            if (isOverdue) {
+                overdueTasks.add(task);
+            }
+        }
+        return ui.showOverdue(overdueTasks);
+    }
+
+    /**
+     * Finds all the events in the TaskList that take place during part of the specified
+     * period, in order of their start.
+     * @param from Timestamp of the start of the period.
+     * @param to Timestamp just after the end of the period.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     */
+    public String findOverlapping(long from, long to, Ui ui) {
+        intervalTree = getIntervalTree();
+        return ui.showOverlapping(findOverlappingEvents(from, to));
+    }
+
+    /**
+     * Finds the periods of the specified day during which no event takes place.
+     * @param day Timestamp of the day.
+     * @param ui User interface of the Duke application.
+     * @return Response of the user interface.
+     */
+    public String findFreeSlots(long day, Ui ui) {
+        long dayStart = TaskDate.getStart(day);
+        long dayEnd = TaskDate.getEnd(dayStart);
+        intervalTree = getIntervalTree();
+        ArrayList<String> freeSlots = new ArrayList<>();
+        long freeSlotStart = dayStart;
+        for (Task task : findOverlappingEvents(dayStart, dayEnd)) {
+            Event event = (Event) task;
+            if (event.getStart() > freeSlotStart) {
+                freeSlots.add(TaskDate.formatTime(freeSlotStart) + " to " + TaskDate.formatTime(event.getStart()));
+            }
+            freeSlotStart = Math.max(freeSlotStart, event.getEnd());
+        }
+        if (freeSlotStart < dayEnd) {
+            freeSlots.add(TaskDate.formatTime(freeSlotStart) + " to " + TaskDate.formatTime(dayEnd));
+        }
+        return ui.showFreeSlots(freeSlots);
+    }
+
+    private ArrayList<Task> findOverlappingEvents(long from, long to) {
+        SearchExecutedEvent event = new SearchExecutedEvent();
+        event.begin();
+        ArrayList<Task> overlappingTasks = new ArrayList<>();
+        int candidateCount = 0;
+        for (int overlappingTaskId : intervalTree.findOverlapping(from, to)) {
+            candidateCount++;
+            int taskPosition = taskIds.indexOf(overlappingTaskId);
+            boolean isTaskDeleted = taskPosition < 0;
+            if (!isTaskDeleted) {
+                overlappingTasks.add(tasks.get(taskPosition));
+            }
+        }
+        commitSearchEvent(event, "overlap", candidateCount, overlappingTasks.size());
+        return overlappingTasks;
+    }
+
+    /**
+     * Returns the interval tree of the events in the TaskList, building it when it does not
+     * exist yet or when it holds too many deleted events. Once built, the interval tree is kept
+     * up to date so that new events can be checked for conflicts.
+     */
+    private IntervalTree getIntervalTree() {
+        if (intervalTree == null || intervalTree.isStale()) {
+            intervalTree = new IntervalTree();
+            for (int i = 0; i < tasks.size(); i++) {
+                intervalTree.addTask(taskIds.get(i), tasks.get(i));
+            }
+        }
+        return intervalTree;
+    }
+
+    private ArrayList<Task> findScheduledTasks(TemporalIndex temporalIndex, long from, long to) {
+        SearchExecutedEvent event = new SearchExecutedEvent();
+        event.begin();
+        ArrayList<Task> scheduledTasks = new ArrayList<>();
+        int candidateCount = 0;
+        for (PostingList scheduledTaskIds : temporalIndex.findBetween(from, to)) {
+            candidateCount += scheduledTaskIds.size();
+            for (int i = 0; i < scheduledTaskIds.size(); i++) {
+                int taskPosition = taskIds.indexOf(scheduledTaskIds.get(i));
+                boolean isTaskDeleted = taskPosition < 0;
+                if (!isTaskDeleted) {
+                    scheduledTasks.add(tasks.get(taskPosition));
+                }
+            }
+        }
+        commitSearchEvent(event, "date range", candidateCount, scheduledTasks.size());
+        return scheduledTasks;
+    }
+
+    /**
+     * Removes the tasks at the specified positions of a list of tasks, moving up the remaining
+     * tasks in a single pass over the list.
+     * @param tasks List of tasks.
+     * @param positions Positions of the tasks to be removed.
+     */
+    static void removeTasks(List<Task> tasks, BitSet positions) {
+        if (tasks instanceof TaskColumns) {
+            ((TaskColumns) tasks).removePositions(positions);
+            return;
+        }
+        int remainingTaskCount = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (!positions.get(i)) {
+                tasks.set(remainingTaskCount, tasks.get(i));
+                remainingTaskCount++;
+            }
+        }
+        tasks.subList(remainingTaskCount, tasks.size()).clear();
+    }
+
+    /**
+     * Returns a copy of a list of tasks that is not affected by later changes to the list. The
+     * tasks themselves are shared, except in a {@link TaskColumns}, whose columns are copied.
+     * @param tasks List of tasks.
+     * @return Copy of the list.
+     */
+    static List<Task> copyTasks(List<Task> tasks) {
+        if (tasks instanceof TaskColumns) {
+            return ((TaskColumns) tasks).copy();
+        }
+        return new ArrayList<>(tasks);
+    }
+
+    /**
+     * Indicates whether the specified index of the TaskList exists and is up to date, so that
+     * searches that use it read it without building or rebuilding it.
+     * @param indexType Type of the index.
+     * @return Boolean value indicating whether the index is up to date.
+     */
+    boolean hasFreshIndex(IndexType indexType) {
+        switch (indexType) {
+        case KEYWORD:
+            return keywordIndex != null && !keywordIndex.isStale();
+        case TRIGRAM:
+            return trigramIndex != null && !trigramIndex.isStale();
+        case DEADLINE:
+            return deadlineIndex != null && !deadlineIndex.isStale();
+        case EVENT:
+            return eventIndex != null && !eventIndex.isStale();
+        default:
+            return intervalTree != null && !intervalTree.isStale();
+        }
+    }
+
+    /**
+     * Builds the specified index of the TaskList if it does not exist yet or holds too many
+     * deleted tasks. Once built, an index is kept up to date as tasks are added and deleted.
+     * @param indexType Type of the index.
+     */
+    void buildIndex(IndexType indexType) {
+        switch (indexType) {
+        case KEYWORD:
+            keywordIndex = getKeywordIndex();
+            break;
+        case TRIGRAM:
+            trigramIndex = getTrigramIndex();
+            break;
+        case DEADLINE:
+            deadlineIndex = getTemporalIndex(deadlineIndex, Deadline.class);
+            break;
+        case EVENT:
+            eventIndex = getTemporalIndex(eventIndex, Event.class);
+            break;
+        default:
+            intervalTree = getIntervalTree();
+        }
+    }
+
+    /**
+     * Returns the specified temporal index, building it from the tasks in the TaskList when
+     * it does not exist yet or when it holds too many deleted tasks.
+     */
+    private TemporalIndex getTemporalIndex(TemporalIndex temporalIndex, Class<? extends Task> taskType) {
+        if (temporalIndex == null || temporalIndex.isStale()) {
+            temporalIndex = new TemporalIndex(taskType);
+            for (int i = 0; i < tasks.size(); i++) {
+                temporalIndex.addTask(taskIds.get(i), tasks.get(i));
+            }
+        }
+        return temporalIndex;
+    }
+
+    /**
+     * Returns the keyword index of the TaskList, building it from the tasks in the TaskList
+     * when it is first needed or when it holds too many deleted tasks.
+     */
+    private KeywordIndex getKeywordIndex() {
+        if (keywordIndex == null || keywordIndex.isStale()) {
+            keywordIndex = new KeywordIndex();
+            for (int i = 0; i < tasks.size(); i++) {
+                keywordIndex.addTask(taskIds.get(i), tasks.get(i));
+            }
+        }
+        return keywordIndex;
+    }
+
+    /**
+     * Returns the trigram index of the TaskList, building it from the tasks in the TaskList
+     * when it is first needed or when it holds too many deleted tasks.
+     */
+    private TrigramIndex getTrigramIndex() {
+        if (trigramIndex == null || trigramIndex.isStale()) {
+            trigramIndex = new TrigramIndex();
+            for (int i = 0; i < tasks.size(); i++) {
+                trigramIndex.addTask(taskIds.get(i), tasks.get(i));
             }
         }
-        return ui.showFind(matchingTasks);
+        return trigramIndex;
     }
 }
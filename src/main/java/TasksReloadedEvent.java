@@ -0,0 +1,48 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a JFR event recording the task list being brought in line with the task file
+ * after another program changed the task file.
+ */
+@Name("duke.TasksReloaded")
+@Label("Tasks Reloaded")
+@Category({"Duke", "Storage"})
+@Description("The task list was updated with changes made to the task file by another program")
+public class TasksReloadedEvent extends jdk.jfr.Event {
+
+    @Label("Task Count")
+    private int taskCount;
+
+    @Label("Changed Task Count")
+    private int changedTaskCount;
+
+    @Label("Index Kept")
+    private boolean isIndexKept;
+
+    /**
+     * Sets the number of tasks in the task list after the update.
+     * @param taskCount Number of tasks in the task list.
+     */
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Sets the number of tasks that were deleted, replaced or added.
+     * @param changedTaskCount Number of tasks changed.
+     */
+    public void setChangedTaskCount(int changedTaskCount) {
+        this.changedTaskCount = changedTaskCount;
+    }
+
+    /**
+     * Sets whether the indexes of the task list were kept up to date, rather than dropped.
+     * @param isIndexKept Whether the indexes were kept.
+     */
+    public void setIndexKept(boolean isIndexKept) {
+        this.isIndexKept = isIndexKept;
+    }
+}
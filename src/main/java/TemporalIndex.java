@@ -0,0 +1,76 @@
+import java.util.Collection;
+import java.util.TreeMap;
+
+/**
+ * Represents an index of the tasks of a particular type in the task list, ordered by the
+ * timestamps of their dates. The index finds the tasks dated within a period in time order,
+ * without checking the tasks outside the period.
+ *
+ * <p>Deleted tasks are skipped by the task list and are removed when the index is rebuilt,
+ * as in {@link KeywordIndex}.</p>
+ */
+public class TemporalIndex {
+
+    private Class<? extends Task> taskType;
+    private TreeMap<Long, PostingList> postings;
+    private int indexedTaskCount;
+    private int deletedTaskCount;
+
+    /**
+     * Constructs an empty TemporalIndex for tasks of the specified type.
+     * @param taskType Type of the tasks in the TemporalIndex.
+     */
+    public TemporalIndex(Class<? extends Task> taskType) {
+        this.taskType = taskType;
+        this.postings = new TreeMap<>();
+        this.indexedTaskCount = 0;
+        this.deletedTaskCount = 0;
+    }
+
+    /**
+     * Adds a task to the TemporalIndex if it is of the indexed type and has a date. Tasks
+     * must be added in ascending order of ID.
+     * @param taskId ID of the task.
+     * @param task Task to be added.
+     */
+    public void addTask(int taskId, Task task) {
+        if (isIndexed(task)) {
+            postings.computeIfAbsent(task.getTimestamp(), key -> new PostingList()).add(taskId);
+            indexedTaskCount++;
+        }
+    }
+
+    /**
+     * Records that a task has been deleted from the task list.
+     * @param task Deleted task.
+     */
+    public void deleteTask(Task task) {
+        if (isIndexed(task)) {
+            deletedTaskCount++;
+        }
+    }
+
+    /**
+     * Indicates whether the TemporalIndex holds more deleted tasks than remaining tasks, and
+     * should be rebuilt.
+     * @return Boolean value indicating whether the TemporalIndex should be rebuilt.
+     */
+    public boolean isStale() {
+        return deletedTaskCount > indexedTaskCount - deletedTaskCount;
+    }
+
+    /**
+     * Finds the tasks whose timestamps are within the specified period. The result may include
+     * the IDs of deleted tasks.
+     * @param from Timestamp of the start of the period.
+     * @param to Timestamp just after the end of the period.
+     * @return PostingLists of the IDs of the tasks, in ascending order of timestamp.
+     */
+    public Collection<PostingList> findBetween(long from, long to) {
+        return postings.subMap(from, true, to, false).values();
+    }
+
+    private boolean isIndexed(Task task) {
+        return taskType.isInstance(task) && task.getTimestamp() != TaskDate.NONE;
+    }
+}
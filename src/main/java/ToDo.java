@@ -13,6 +13,15 @@ public class ToDo extends Task {
         super(description);
     }
 
+    /**
+     * Constructs a ToDo that is stored at the specified position of a binary task file.
+     * @param source Binary task file containing the ToDo.
+     * @param sourcePosition Position of the ToDo in the binary task file.
+     */
+    public ToDo(BinaryTaskFile source, int sourcePosition) {
+        super(source, sourcePosition);
+    }
+
     @Override
     public String toString() {
         return "[T]" + super.toString();
@@ -23,6 +32,6 @@ public class ToDo extends Task {
      * @return String representation of the ToDo.
      */
     public String getFormattedString() {
-        return "T | " + (super.isDone ? 1 : 0) + " | " + super.description;
+        return "T | " + (super.isDone ? 1 : 0) + " | " + getDescription();
     }
 }
@@ -0,0 +1,113 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * Represents an index from every three-character sequence (trigram) in the tasks of the task
+ * list to the IDs of the tasks containing it. The index narrows down the tasks that can contain
+ * a keyword, so that only those tasks need to be checked by a substring search.
+ *
+ * <p>Only the part of a task after its type and status is indexed, so marking a task as done
+ * does not change the index. Deleted tasks are skipped by the task list and are removed when
+ * the index is rebuilt, as in {@link KeywordIndex}.</p>
+ */
+public class TrigramIndex {
+
+    private static final String[] TASK_PREFIXES = {
+        "[T][\u2713] ", "[T][\u2718] ", "[D][\u2713] ", "[D][\u2718] ", "[E][\u2713] ", "[E][\u2718] "
+    };
+
+    private HashMap<Long, PostingList> postings;
+    private int indexedTaskCount;
+    private int deletedTaskCount;
+
+    /**
+     * Constructs an empty TrigramIndex.
+     */
+    public TrigramIndex() {
+        this.postings = new HashMap<>();
+        this.indexedTaskCount = 0;
+        this.deletedTaskCount = 0;
+    }
+
+    /**
+     * Adds the trigrams of a task to the TrigramIndex. Tasks must be added in ascending order of ID.
+     * @param taskId ID of the task.
+     * @param task Task to be added.
+     */
+    public void addTask(int taskId, Task task) {
+        String displayedTask = task.toString();
+        for (int i = Task.DISPLAY_PREFIX_LENGTH; i + 3 <= displayedTask.length(); i++) {
+            postings.computeIfAbsent(getTrigram(displayedTask, i), key -> new PostingList()).add(taskId);
+        }
+        indexedTaskCount++;
+    }
+
+    /**
+     * Records that a number of indexed tasks have been deleted from the task list.
+     * @param deletedCount Number of deleted tasks.
+     */
+    public void deleteTasks(int deletedCount) {
+        deletedTaskCount += deletedCount;
+    }
+
+    /**
+     * Indicates whether the TrigramIndex holds more deleted tasks than remaining tasks, and
+     * should be rebuilt.
+     * @return Boolean value indicating whether the TrigramIndex should be rebuilt.
+     */
+    public boolean isStale() {
+        return deletedTaskCount > indexedTaskCount - deletedTaskCount;
+    }
+
+    /**
+     * Indicates whether the TrigramIndex can narrow down the tasks containing the specified
+     * keyword. This is not the case for keywords shorter than a trigram, or for keywords that
+     * can overlap the type and status of a task.
+     * @param keyword Keyword specified by the user.
+     * @return Boolean value indicating whether the TrigramIndex can be used for the keyword.
+     */
+    public static boolean canFind(String keyword) {
+        if (keyword.length() < 3) {
+            return false;
+        }
+        for (String taskPrefix : TASK_PREFIXES) {
+            for (int i = 0; i < taskPrefix.length(); i++) {
+                boolean isOverlapping = taskPrefix.startsWith(keyword, i)
+                        || keyword.startsWith(taskPrefix.substring(i));
+                if (isOverlapping) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the tasks that contain every trigram of the specified keyword. These tasks include
+     * all the tasks containing the keyword, and may include the IDs of deleted tasks.
+     * @param keyword Keyword for which {@link #canFind(String)} holds.
+     * @return PostingList of the IDs of the candidate tasks.
+     */
+    public PostingList findCandidates(String keyword) {
+        assert canFind(keyword) : "The keyword should be long enough and should not overlap a task prefix.";
+        ArrayList<PostingList> trigramPostings = new ArrayList<>();
+        for (int i = 0; i + 3 <= keyword.length(); i++) {
+            PostingList candidates = postings.get(getTrigram(keyword, i));
+            if (candidates == null) {
+                return new PostingList();
+            }
+            trigramPostings.add(candidates);
+        }
+        trigramPostings.sort(Comparator.comparingInt(PostingList::size));
+        PostingList candidates = trigramPostings.get(0);
+        for (int i = 1; i < trigramPostings.size() && candidates.size() > 0; i++) {
+            candidates = PostingList.intersect(candidates, trigramPostings.get(i));
+        }
+        return candidates;
+    }
+
+    private static long getTrigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+}
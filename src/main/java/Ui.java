@@ -1,4 +1,6 @@
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -56,11 +58,7 @@ public class Ui {
      * @return Response of the user interface.
      */
     public String showError(String errorMessage) {
-        String response = "";
-        response += showLine();
-        response += errorMessage + System.lineSeparator();
-        response += showLine();
-        return response;
+        return showLine() + errorMessage + System.lineSeparator() + showLine();
     }
 
     /**
@@ -70,29 +68,61 @@ public class Ui {
      * @return Response of the user interface.
      */
     public String showDone(Task task) {
-        String response = "";
-        response += showLine();
-        response += "Nice! I've marked this task as done:" + System.lineSeparator();
-        response += "   " + task + System.lineSeparator();
-        response += showLine();
+        long renderStart = System.nanoTime();
+        String response = showLine() + "Nice! I've marked this task as done:" + System.lineSeparator()
+                + "   " + task + System.lineSeparator() + showLine();
+        CommandStats.addNestedTime(CommandStats.Phase.RENDER, renderStart);
         return response;
     }
 
+    /**
+     * Returns a response indicating that specified tasks in the task list of the Duke
+     * application have been marked as done.
+     * @param tasks ArrayList of tasks that have been marked as done.
+     * @return Response of the user interface.
+     */
+    public String showDone(ArrayList<Task> tasks) {
+        if (tasks.size() == 1) {
+            return showDone(tasks.get(0));
+        }
+        long renderStart = System.nanoTime();
+        StringBuilder response = new StringBuilder();
+        response.append(showLine());
+        response.append("Nice! I've marked these tasks as done:").append(System.lineSeparator());
+        for (Task task : tasks) {
+            response.append("   ").append(task).append(System.lineSeparator());
+        }
+        response.append(showLine());
+        CommandStats.addNestedTime(CommandStats.Phase.RENDER, renderStart);
+        return response.toString();
+    }
+
     /**
      * Returns a response indicating that a specified task has been added to the task list
-     * of the Duke application. The response also indicates the updated size of the task list.
+     * of the Duke application, along with the events in the task list that it overlaps.
+     * The response also indicates the updated size of the task list.
      * @param task Task that has been added to the task list.
      * @param taskListSize Updated size of the task list.
+     * @param conflictingTasks ArrayList of events in the task list that overlap the task.
      * @return Response of the user interface.
      */
-    public String showAdd(Task task, int taskListSize) {
-        String response = "";
-        response += showLine();
-        response += "Got it. I've added this task:" + System.lineSeparator();
-        response += "    " + task + System.lineSeparator();
-        response += "Now you have " + taskListSize + " tasks in the list." + System.lineSeparator();
-        response += showLine();
-        return response;
+    public String showAdd(Task task, int taskListSize, ArrayList<Task> conflictingTasks) {
+        long renderStart = System.nanoTime();
+        StringBuilder response = new StringBuilder();
+        response.append(showLine());
+        response.append("Got it. I've added this task:").append(System.lineSeparator());
+        response.append("    ").append(task).append(System.lineSeparator());
+        if (!conflictingTasks.isEmpty()) {
+            response.append("Note that it overlaps with these events:").append(System.lineSeparator());
+            for (Task conflictingTask : conflictingTasks) {
+                response.append("    ").append(conflictingTask).append(System.lineSeparator());
+            }
+        }
+        response.append("Now you have ").append(taskListSize).append(" tasks in the list.")
+                .append(System.lineSeparator());
+        response.append(showLine());
+        CommandStats.addNestedTime(CommandStats.Phase.RENDER, renderStart);
+        return response.toString();
     }
 
     /**
@@ -103,48 +133,202 @@ public class Ui {
      * @return Response of the user interface.
      */
     public String showDelete(ArrayList<Task> tasks, int taskListSize) {
-        String response = "";
-        response += showLine();
-        response += "Noted. I've removed these tasks: " + System.lineSeparator();
+        long renderStart = System.nanoTime();
+        StringBuilder response = new StringBuilder();
+        response.append(showLine());
+        response.append("Noted. I've removed these tasks: ").append(System.lineSeparator());
         for (Task task : tasks) {
-            response += "   " + task + System.lineSeparator();
+            response.append("   ").append(task).append(System.lineSeparator());
         }
-        response += "Now you have " + taskListSize + " tasks in the list." + System.lineSeparator();
-        response += showLine();
-        return response;
+        response.append("Now you have ").append(taskListSize).append(" tasks in the list.")
+                .append(System.lineSeparator());
+        response.append(showLine());
+        CommandStats.addNestedTime(CommandStats.Phase.RENDER, renderStart);
+        return response.toString();
     }
 
     /**
      * Returns a response that displays the tasks in the task list of the Duke application.
-     * @param tasks ArrayList of tasks in the task list.
+     * @param tasks List of tasks in the task list.
      * @return Response of the user interface.
      */
-    public String showList(ArrayList<Task> tasks) {
-        String response = "";
-        response += showLine();
-        response += "Here are the tasks in your list:" + System.lineSeparator();
-        for (int i = 0; i < tasks.size(); i++) {
-            response += (i + 1) + "." + tasks.get(i).toString() + System.lineSeparator();
-        }
-        response += showLine();
-        return response;
+    public String showList(List<Task> tasks) {
+        return showTasks("Here are the tasks in your list:", tasks, 0, tasks.size(), "");
+    }
+
+    /**
+     * Writes a response that displays the tasks in the task list of the Duke application,
+     * one task at a time, so that a long task list is never held in memory as a single String.
+     * @param tasks List of tasks in the task list.
+     * @param out Destination of the response.
+     * @throws IOException If an error occurs while writing the response.
+     */
+    public void writeList(List<Task> tasks, Appendable out) throws IOException {
+        writeTasks("Here are the tasks in your list:", tasks, 0, tasks.size(), "", out);
+    }
+
+    /**
+     * Returns a response that displays a page of the tasks in the task list of the Duke
+     * application. Tasks keep their positions in the task list.
+     * @param tasks List of tasks in the task list.
+     * @param page Number of the page, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     * @return Response of the user interface.
+     */
+    public String showListPage(List<Task> tasks, int page, int pageSize) {
+        return showPage("Here are the tasks in your list", tasks, page, pageSize, "");
     }
 
     /**
      * Returns a response indicating the tasks in the task list of the Duke application
      * that match a given keyword.
-     * @param tasks ArrayList of tasks in the task list that match a given keyword.
+     * @param tasks List of tasks in the task list that match a given keyword.
+     * @return Response of the user interface.
+     */
+    public String showFind(List<String> tasks) {
+        return showTasks("Here are the matching tasks in your list:", tasks, 0, tasks.size(), "   ");
+    }
+
+    /**
+     * Returns a response indicating a page of the tasks in the task list of the Duke
+     * application that match a given keyword.
+     * @param tasks List of tasks in the task list that match a given keyword.
+     * @param page Number of the page, starting from 1.
+     * @param pageSize Number of tasks on each page.
+     * @return Response of the user interface.
+     */
+    public String showFindPage(List<String> tasks, int page, int pageSize) {
+        return showPage("Here are the matching tasks in your list", tasks, page, pageSize, "   ");
+    }
+
+    /**
+     * Returns a response indicating the deadlines and events in the task list of the Duke
+     * application that are dated within a period.
+     * @param tasks ArrayList of tasks in the task list dated within the period.
+     * @return Response of the user interface.
+     */
+    public String showSchedule(ArrayList<Task> tasks) {
+        return showTasks("Here are the tasks in that period:", tasks, 0, tasks.size(), "   ");
+    }
+
+    /**
+     * Returns a response indicating the deadlines in the task list of the Duke application
+     * that are past due and not done yet.
+     * @param tasks ArrayList of overdue tasks in the task list.
      * @return Response of the user interface.
      */
-    public String showFind(ArrayList<String> tasks) {
-        String response = "";
-        response += showLine();
-        response += "Here are the matching tasks in your list:" + System.lineSeparator();
-        for (int i = 0; i < tasks.size(); i++) {
-            response += "   " + (i + 1) + "." + tasks.get(i) + System.lineSeparator();
+    public String showOverdue(ArrayList<Task> tasks) {
+        return showTasks("Here are the overdue tasks in your list:", tasks, 0, tasks.size(), "   ");
+    }
+
+    /**
+     * Returns a response indicating the events in the task list of the Duke application that
+     * overlap a period.
+     * @param tasks ArrayList of events in the task list overlapping the period.
+     * @return Response of the user interface.
+     */
+    public String showOverlapping(ArrayList<Task> tasks) {
+        return showTasks("Here are the events during that time:", tasks, 0, tasks.size(), "   ");
+    }
+
+    /**
+     * Returns a response indicating the periods of a day during which no event in the task
+     * list of the Duke application takes place.
+     * @param freeSlots ArrayList of the free periods of the day.
+     * @return Response of the user interface.
+     */
+    public String showFreeSlots(ArrayList<String> freeSlots) {
+        String header = freeSlots.isEmpty()
+                ? "You have no free time on that day."
+                : "Here are your free slots on that day:";
+        return showTasks(header, freeSlots, 0, freeSlots.size(), "   ");
+    }
+
+    private String showPage(String header, List<?> items, int page, int pageSize, String indent) {
+        int pageCount = Math.max(1, (items.size() + pageSize - 1) / pageSize);
+        if (page > pageCount) {
+            return showError("\u2639" + " OOPS!!! There " + (pageCount == 1 ? "is only 1 page." : "are only "
+                    + pageCount + " pages."));
         }
-        response += showLine();
-        return response;
+        int from = (page - 1) * pageSize;
+        int to = Math.min(items.size(), from + pageSize);
+        return showTasks(header + " (page " + page + " of " + pageCount + "):", items, from, to, indent);
+    }
+
+    private String showTasks(String header, List<?> items, int from, int to, String indent) {
+        StringBuilder response = new StringBuilder();
+        try {
+            writeTasks(header, items, from, to, indent, response);
+        } catch (IOException e) {
+            throw new AssertionError("Appending to a StringBuilder should not fail.", e);
+        }
+        return response.toString();
+    }
+
+    /**
+     * Writes a numbered range of items between two lines, numbering each item by its position
+     * in the whole list.
+     */
+    private void writeTasks(String header, List<?> items, int from, int to, String indent, Appendable out)
+            throws IOException {
+        long renderStart = System.nanoTime();
+        try {
+            out.append(showLine());
+            out.append(header).append(System.lineSeparator());
+            for (int i = from; i < to; i++) {
+                out.append(indent).append(Integer.toString(i + 1)).append('.').append(String.valueOf(items.get(i)))
+                        .append(System.lineSeparator());
+            }
+            out.append(showLine());
+        } finally {
+            CommandStats.addNestedTime(CommandStats.Phase.RENDER, renderStart);
+        }
+    }
+
+    /**
+     * Returns a response indicating that the tasks in the task list of the Duke application
+     * have been exported to a file.
+     * @param taskCount Number of tasks exported.
+     * @param fileName Name of the file.
+     * @return Response of the user interface.
+     */
+    public String showExport(int taskCount, String fileName) {
+        return showLine() + "Got it. I've exported " + taskCount + " tasks to " + fileName + "."
+                + System.lineSeparator() + showLine();
+    }
+
+    /**
+     * Returns a response indicating that tasks have been imported from a file into the task
+     * list of the Duke application. The response also indicates the number of records of the
+     * file that could not be understood, and the updated size of the task list.
+     * @param importedCount Number of tasks imported.
+     * @param skippedCount Number of records skipped.
+     * @param taskListSize Updated size of the task list.
+     * @return Response of the user interface.
+     */
+    public String showImport(int importedCount, int skippedCount, int taskListSize) {
+        StringBuilder response = new StringBuilder();
+        response.append(showLine());
+        response.append("Got it. I've imported ").append(importedCount).append(" tasks.")
+                .append(System.lineSeparator());
+        if (skippedCount > 0) {
+            response.append("I skipped ").append(skippedCount).append(" records that I couldn't understand.")
+                    .append(System.lineSeparator());
+        }
+        response.append("Now you have ").append(taskListSize).append(" tasks in the list.")
+                .append(System.lineSeparator());
+        response.append(showLine());
+        return response.toString();
+    }
+
+    /**
+     * Returns a response that displays the statistics of the user commands executed by the Duke
+     * application.
+     * @param report Report of the command statistics.
+     * @return Response of the user interface.
+     */
+    public String showStats(String report) {
+        return showLine() + "Here are the command statistics:" + System.lineSeparator() + report + showLine();
     }
 
     /**
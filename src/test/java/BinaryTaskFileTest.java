@@ -0,0 +1,76 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BinaryTaskFileTest {
+
+    private static final List<String> SAVED_TASKS = List.of(
+            "T | 0 | read book",
+            "D | 0 | return book | Oct 10 2021",
+            "D | 1 | submit report | next monday",
+            "E | 0 | team lunch | Sep 15 2020 12:00 PM to 01:00 PM",
+            "E | 1 | sports day | every friday");
+
+    /** Task with a description that takes several bytes per character in UTF-8. */
+    private static final String UNICODE_TASK = "T | 1 | caf\u00e9 \u2615 \ud83d\ude00";
+
+    @TempDir
+    Path tempDir;
+
+    private static ArrayList<String> formatTasks(List<Task> tasks) {
+        ArrayList<String> savedTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            savedTasks.add(task.getFormattedString());
+        }
+        return savedTasks;
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        ArrayList<String> savedTasks = new ArrayList<>(SAVED_TASKS);
+        savedTasks.add(UNICODE_TASK);
+        Path path = tempDir.resolve("tasks.bin");
+        BinaryTaskFile.write(savedTasks, path);
+        assertEquals(savedTasks, formatTasks(BinaryTaskFile.open(path).getTasks()));
+        assertEquals(savedTasks, formatTasks(BinaryTaskFile.read(path).getTasks()));
+    }
+
+    @Test
+    public void testSave_tasksStillUndecoded_replacesFile() throws IOException, DukeException {
+        ArrayList<String> savedTasks = new ArrayList<>(SAVED_TASKS);
+        savedTasks.add(UNICODE_TASK);
+        Path path = tempDir.resolve("tasks.bin");
+        BinaryTaskFile.write(savedTasks, path);
+        Storage storage = new Storage(path.toString());
+        List<Task> tasks = storage.load();
+        tasks.get(1).markAsDone();
+        tasks.add(new ToDo("buy pen"));
+        storage.save(tasks);
+        storage.close();
+
+        ArrayList<String> expectedTasks = new ArrayList<>(savedTasks);
+        expectedTasks.set(1, "D | 1 | return book | Oct 10 2021");
+        expectedTasks.add("T | 0 | buy pen");
+        assertEquals(expectedTasks, formatTasks(tasks));
+        assertEquals(expectedTasks, formatTasks(new Storage(path.toString()).load()));
+    }
+
+    @Test
+    public void testConvert_textToBinaryAndBack_keepsTasks() throws IOException {
+        Path textPath = tempDir.resolve("tasks.txt");
+        Path binaryPath = tempDir.resolve("tasks.bin");
+        Path convertedPath = tempDir.resolve("converted.txt");
+        Files.write(textPath, SAVED_TASKS, Charset.defaultCharset());
+        BinaryTaskFile.convertToBinary(textPath, binaryPath);
+        BinaryTaskFile.convertToText(binaryPath, convertedPath);
+        assertEquals(SAVED_TASKS, Files.readAllLines(convertedPath, Charset.defaultCharset()));
+    }
+}
@@ -0,0 +1,81 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentTaskListTest {
+
+    @Test
+    public void testFindWhileAddingAndDeleting() throws Exception {
+        ConcurrentTaskList taskList = new ConcurrentTaskList();
+        Ui writerUi = new Ui();
+        taskList.addTask(new ToDo("read book"), writerUi);
+        ExecutorService readers = Executors.newFixedThreadPool(3);
+        ArrayList<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(readers.submit(() -> {
+                Ui readerUi = new Ui();
+                for (int j = 0; j < 1000; j++) {
+                    taskList.findTask("read book", readerUi);
+                    taskList.showList(readerUi);
+                }
+                return null;
+            }));
+        }
+        for (int i = 0; i < 1000; i++) {
+            taskList.addTask(new ToDo("borrow pen " + i), writerUi);
+            BitSet deletedTaskPositions = new BitSet();
+            deletedTaskPositions.set(1);
+            taskList.deleteTasks(deletedTaskPositions, writerUi);
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        readers.shutdown();
+        ArrayList<String> expectedTasks = new ArrayList<>();
+        expectedTasks.add("[T][\u2718] read book");
+        assertEquals(writerUi.showFind(expectedTasks), taskList.findTask("read book", writerUi));
+        assertEquals(1, taskList.getTasks().size());
+    }
+
+    @Test
+    public void testDeleteTasks_positionOutOfRange_leavesTasksUnchanged() {
+        ConcurrentTaskList taskList = new ConcurrentTaskList();
+        Ui ui = new Ui();
+        taskList.addTask(new ToDo("read book"), ui);
+        taskList.addTask(new ToDo("borrow pen"), ui);
+        BitSet taskPositions = new BitSet();
+        taskPositions.set(0);
+        taskPositions.set(2);
+        assertThrows(IndexOutOfBoundsException.class, () -> taskList.deleteTasks(taskPositions, ui));
+        assertThrows(IndexOutOfBoundsException.class, () -> taskList.markDone(taskPositions, ui));
+        assertEquals(2, taskList.getLength());
+        assertEquals("[T][\u2718] read book", taskList.getTasks().get(0).toString());
+    }
+
+    @Test
+    public void testFindTask_buildsOnlyIndexesUsed() {
+        ConcurrentTaskList taskList = new ConcurrentTaskList();
+        Ui ui = new Ui();
+        taskList.addTask(new ToDo("read book"), ui);
+        taskList.findTask("book", ui);
+        assertTrue(taskList.hasFreshIndex(TaskList.IndexType.TRIGRAM));
+        assertFalse(taskList.hasFreshIndex(TaskList.IndexType.KEYWORD));
+        assertFalse(taskList.hasFreshIndex(TaskList.IndexType.DEADLINE));
+        assertFalse(taskList.hasFreshIndex(TaskList.IndexType.EVENT));
+        assertFalse(taskList.hasFreshIndex(TaskList.IndexType.INTERVAL));
+
+        taskList.findOverdue(ui);
+        assertTrue(taskList.hasFreshIndex(TaskList.IndexType.DEADLINE));
+        assertFalse(taskList.hasFreshIndex(TaskList.IndexType.EVENT));
+        assertFalse(taskList.hasFreshIndex(TaskList.IndexType.INTERVAL));
+    }
+}
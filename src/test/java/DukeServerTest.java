@@ -0,0 +1,112 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DukeServerTest {
+
+    private static final int USER_COUNT = 500;
+
+    /** Number of threads the server may start, however many users it serves. */
+    private static final int MAX_SERVER_THREADS = 16;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWriteResponse_manyUsers_threadCountStaysBounded() throws IOException {
+        System.setProperty("duke.watchTasks", "true");
+        System.setProperty("duke.asyncWrites", "true");
+        int threadCountBefore = Thread.activeCount();
+        DukeServer server = new DukeServer(new InetSocketAddress(0), tempDir.toString(), USER_COUNT * 2,
+                DukeServer.DEFAULT_IDLE_SECONDS, new StorageWriter(StorageWriter.DEFAULT_MAX_LATENCY_MILLIS,
+                StorageWriter.DEFAULT_MAX_BATCH_SIZE));
+        try {
+            for (int i = 0; i < USER_COUNT; i++) {
+                StringBuilder response = new StringBuilder();
+                assertTrue(server.writeResponse("user" + i, "todo read book " + i, response));
+            }
+            assertEquals(USER_COUNT, server.getActiveUserCount());
+            int threadCount = Thread.activeCount() - threadCountBefore;
+            assertTrue(threadCount <= MAX_SERVER_THREADS, threadCount + " threads for " + USER_COUNT + " users");
+        } finally {
+            System.clearProperty("duke.watchTasks");
+            System.clearProperty("duke.asyncWrites");
+            server.close();
+        }
+        for (int i = 0; i < USER_COUNT; i += USER_COUNT / 5) {
+            Path taskPath = tempDir.resolve("user" + i).resolve("tasks.txt");
+            assertEquals(List.of("T | 0 | read book " + i), Files.readAllLines(taskPath, Charset.defaultCharset()));
+        }
+    }
+
+    @Test
+    public void testWriteResponse_readsWhileChangingTasks_keepsEveryChange() throws Exception {
+        DukeServer server = new DukeServer(new InetSocketAddress(0), tempDir.toString(), 10,
+                DukeServer.DEFAULT_IDLE_SECONDS);
+        ExecutorService readers = Executors.newFixedThreadPool(3);
+        try {
+            assertTrue(server.writeResponse("alice", "todo read book", new StringBuilder()));
+            ArrayList<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                results.add(readers.submit(() -> {
+                    for (int j = 0; j < 300; j++) {
+                        StringBuilder response = new StringBuilder();
+                        assertTrue(server.writeResponse("alice", j % 2 == 0 ? "list" : "find read book", response));
+                        assertTrue(response.toString().contains("read book"));
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < 300; i++) {
+                assertTrue(server.writeResponse("alice", "todo borrow pen " + i, new StringBuilder()));
+                assertTrue(server.writeResponse("alice", "delete 2", new StringBuilder()));
+            }
+            assertTrue(server.writeResponse("alice", "todo borrow pen", new StringBuilder()));
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            readers.shutdown();
+            server.close();
+        }
+        Path taskPath = tempDir.resolve("alice").resolve("tasks.txt");
+        assertEquals(List.of("T | 0 | read book", "T | 0 | borrow pen"),
+                Files.readAllLines(taskPath, Charset.defaultCharset()));
+    }
+
+    @Test
+    public void testWriteResponse_transferCommands_refused() throws IOException {
+        DukeServer server = new DukeServer(new InetSocketAddress(0), tempDir.toString(), 10,
+                DukeServer.DEFAULT_IDLE_SECONDS);
+        Path bobTaskPath = tempDir.resolve("bob").resolve("tasks.txt");
+        Path secretPath = tempDir.resolve("secret.csv");
+        Files.write(secretPath, List.of("todo,false,secret plan,,"), Charset.defaultCharset());
+        try {
+            assertTrue(server.writeResponse("bob", "todo read book", new StringBuilder()));
+            StringBuilder response = new StringBuilder();
+            assertFalse(server.writeResponse("mallory", "export csv " + bobTaskPath, response));
+            assertTrue(response.toString().contains("not available"), response.toString());
+            assertFalse(server.writeResponse("mallory", "import csv " + secretPath, new StringBuilder()));
+            StringBuilder listResponse = new StringBuilder();
+            assertTrue(server.writeResponse("mallory", "list", listResponse));
+            assertFalse(listResponse.toString().contains("secret plan"), listResponse.toString());
+        } finally {
+            server.close();
+        }
+        assertEquals(List.of("T | 0 | read book"), Files.readAllLines(bobTaskPath, Charset.defaultCharset()));
+    }
+}
@@ -3,6 +3,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 
 import org.junit.jupiter.api.Test;
 
@@ -12,10 +13,54 @@ public class ParserTest {
     public void testFind() {
         try {
             ArrayList<String> expectedList = new ArrayList<>();
-            expectedList.add("Find");
             expectedList.add("book");
             Parser parser = new Parser();
-            assertEquals(expectedList, parser.parseUserCommand("find book", 10));
+            FindCommand findCommand = (FindCommand) parser.parseUserCommand("find book", 10);
+            assertEquals(expectedList, findCommand.getKeywords());
+        } catch (Exception e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testFindMultipleKeywords() {
+        try {
+            ArrayList<String> expectedList = new ArrayList<>();
+            expectedList.add("read");
+            expectedList.add("or");
+            expectedList.add("book");
+            Parser parser = new Parser();
+            FindCommand findCommand = (FindCommand) parser.parseUserCommand("find read  or book", 10);
+            assertEquals(expectedList, findCommand.getKeywords());
+        } catch (Exception e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testFindPage() {
+        try {
+            ArrayList<String> expectedList = new ArrayList<>();
+            expectedList.add("book");
+            Parser parser = new Parser();
+            FindCommand findCommand = (FindCommand) parser.parseUserCommand("find book page 2 size 5", 10);
+            assertEquals(expectedList, findCommand.getKeywords());
+            assertEquals(2, findCommand.getPage());
+        } catch (Exception e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testDelete() {
+        try {
+            Parser parser = new Parser();
+            DeleteCommand deleteCommand = (DeleteCommand) parser.parseUserCommand("delete 3  1,5-7", 10);
+            BitSet expectedPositions = new BitSet();
+            expectedPositions.set(0);
+            expectedPositions.set(2);
+            expectedPositions.set(4, 7);
+            assertEquals(expectedPositions, deleteCommand.getTaskPositions());
         } catch (Exception e) {
             fail();
         }
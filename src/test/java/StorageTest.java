@@ -0,0 +1,142 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StorageTest {
+
+    private static final List<String> SAVED_TASKS = List.of(
+            "T | 0 | read book",
+            "D | 0 | return book | Oct 10 2021",
+            "E | 0 | team lunch | Sep 15 2020 12:00 PM to 01:00 PM");
+
+    @TempDir
+    Path tempDir;
+
+    private static ArrayList<String> formatTasks(List<Task> tasks) {
+        ArrayList<String> savedTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            savedTasks.add(task.getFormattedString());
+        }
+        return savedTasks;
+    }
+
+    private static void writeJournal(Path journalPath, String... records) throws IOException {
+        StringBuilder journal = new StringBuilder();
+        for (String record : records) {
+            journal.append(record).append(System.lineSeparator());
+        }
+        Files.write(journalPath, journal.toString().getBytes(Charset.defaultCharset()));
+    }
+
+    private List<String> loadJournaled(Path taskPath) throws IOException, DukeException {
+        Storage storage = new Storage(taskPath.toString(), true);
+        try {
+            return formatTasks(storage.load());
+        } finally {
+            storage.close();
+        }
+    }
+
+    @Test
+    public void testLoad_journalOverSnapshot_replaysJournal() throws IOException, DukeException {
+        Path taskPath = tempDir.resolve("tasks.txt");
+        Files.write(taskPath, SAVED_TASKS, Charset.defaultCharset());
+        writeJournal(tempDir.resolve("tasks.txt.journal"), "+ T | 0 | buy pen", "x 0-1", "- 2", "+ T | 0 | wash car");
+
+        List<String> expectedTasks = List.of(
+                "T | 1 | read book",
+                "D | 1 | return book | Oct 10 2021",
+                "T | 0 | buy pen",
+                "T | 0 | wash car");
+        assertEquals(expectedTasks, loadJournaled(taskPath));
+        assertEquals(expectedTasks, loadJournaled(taskPath));
+    }
+
+    @Test
+    public void testLoad_compactionLeftHalfDone_replaysMovedJournalOnce() throws IOException, DukeException {
+        Path taskPath = tempDir.resolve("tasks.txt");
+        Files.write(taskPath, SAVED_TASKS, Charset.defaultCharset());
+        writeJournal(tempDir.resolve("tasks.txt.journal.compacting"), "+ T | 0 | buy pen", "- 0");
+        Files.write(tempDir.resolve("tasks.txt.snapshot.tmp"), List.of("D | 0 | return bo"), Charset.defaultCharset());
+        writeJournal(tempDir.resolve("tasks.txt.journal"), "x 2");
+
+        List<String> expectedTasks = List.of(
+                "D | 0 | return book | Oct 10 2021",
+                "E | 0 | team lunch | Sep 15 2020 12:00 PM to 01:00 PM",
+                "T | 1 | buy pen");
+        assertEquals(expectedTasks, loadJournaled(taskPath));
+        assertFalse(Files.exists(tempDir.resolve("tasks.txt.journal.compacting")));
+        assertFalse(Files.exists(tempDir.resolve("tasks.txt.snapshot.tmp")));
+        assertEquals(expectedTasks, loadJournaled(taskPath));
+    }
+
+    @Test
+    public void testLoad_snapshotWrittenBeforeJournalDeleted_skipsCoveredJournal() throws IOException, DukeException {
+        Path taskPath = tempDir.resolve("tasks.txt");
+        Files.write(taskPath, SAVED_TASKS, Charset.defaultCharset());
+        writeJournal(tempDir.resolve("tasks.txt.journal.compacting"), "+ T | 0 | buy pen");
+        ArrayList<String> compactedTasks = new ArrayList<>(SAVED_TASKS);
+        compactedTasks.add("T | 0 | buy pen");
+        Files.write(tempDir.resolve("tasks.txt.snapshot"), compactedTasks, Charset.defaultCharset());
+
+        assertEquals(compactedTasks, loadJournaled(taskPath));
+        assertFalse(Files.exists(tempDir.resolve("tasks.txt.journal.compacting")));
+        assertFalse(Files.exists(tempDir.resolve("tasks.txt.snapshot")));
+    }
+
+    @Test
+    public void testLoad_tornLastRecord_ignoresRecord() throws IOException, DukeException {
+        Path taskPath = tempDir.resolve("tasks.txt");
+        Files.write(taskPath, SAVED_TASKS, Charset.defaultCharset());
+        Path journalPath = tempDir.resolve("tasks.txt.journal");
+        writeJournal(journalPath, "x 0");
+        Files.write(journalPath, "+ T | 0 | borrow bo".getBytes(Charset.defaultCharset()),
+                StandardOpenOption.APPEND);
+
+        ArrayList<String> expectedTasks = new ArrayList<>(SAVED_TASKS);
+        expectedTasks.set(0, "T | 1 | read book");
+        assertEquals(expectedTasks, loadJournaled(taskPath));
+    }
+
+    @Test
+    public void testLoad_tornDeleteRecord_keepsTasks() throws IOException, DukeException {
+        Path taskPath = tempDir.resolve("tasks.txt");
+        Files.write(taskPath, SAVED_TASKS, Charset.defaultCharset());
+        Path journalPath = tempDir.resolve("tasks.txt.journal");
+        Files.write(journalPath, "- 1".getBytes(Charset.defaultCharset()));
+
+        assertEquals(SAVED_TASKS, loadJournaled(taskPath));
+    }
+
+    @Test
+    public void testSaveAdd_afterTornLastRecord_appendsOnNewLine() throws IOException, DukeException {
+        Path taskPath = tempDir.resolve("tasks.txt");
+        Files.write(taskPath, SAVED_TASKS, Charset.defaultCharset());
+        Path journalPath = tempDir.resolve("tasks.txt.journal");
+        writeJournal(journalPath, "x 0");
+        Files.write(journalPath, "+ T | 0 | borrow bo".getBytes(Charset.defaultCharset()),
+                StandardOpenOption.APPEND);
+
+        Storage storage = new Storage(taskPath.toString(), true);
+        List<Task> tasks = storage.load();
+        Task addedTask = new ToDo("wash car");
+        tasks.add(addedTask);
+        storage.saveAdd(addedTask, tasks);
+        storage.close();
+
+        ArrayList<String> expectedTasks = new ArrayList<>(SAVED_TASKS);
+        expectedTasks.set(0, "T | 1 | read book");
+        expectedTasks.add("T | 0 | wash car");
+        assertEquals(expectedTasks, loadJournaled(taskPath));
+    }
+}
@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskColumnsTest {
+
+    private static ArrayList<Task> createTasks() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("read book"));
+        tasks.add(new Deadline("return book", TaskDate.of(LocalDate.of(2021, 10, 10))));
+        tasks.add(new Deadline("return book", "next monday"));
+        tasks.add(new Event("team meeting", TaskDate.parse("2021-10-10 0900"), TaskDate.parse("2021-10-10 1000")));
+        tasks.add(new Event("team meeting", "every friday"));
+        tasks.get(1).markAsDone();
+        tasks.get(4).markAsDone();
+        return tasks;
+    }
+
+    private static void assertSameTasks(ArrayList<Task> expectedTasks, TaskColumns columns) {
+        assertEquals(expectedTasks.size(), columns.size());
+        for (int i = 0; i < expectedTasks.size(); i++) {
+            assertEquals(expectedTasks.get(i).getFormattedString(), columns.get(i).getFormattedString());
+        }
+    }
+
+    @Test
+    public void testAddAndGet() {
+        ArrayList<Task> tasks = createTasks();
+        TaskColumns columns = new TaskColumns();
+        columns.addAll(tasks);
+        assertSameTasks(tasks, columns);
+
+        Task task = columns.get(0);
+        task.markAsDone();
+        columns.set(0, task);
+        tasks.get(0).markAsDone();
+        columns.add(1, new ToDo("read book"));
+        tasks.add(1, new ToDo("read book"));
+        assertSameTasks(tasks, columns);
+        assertSameTasks(tasks, columns.copy());
+    }
+
+    @Test
+    public void testRemovePositions() {
+        ArrayList<Task> tasks = createTasks();
+        TaskColumns columns = new TaskColumns();
+        columns.addAll(tasks);
+        BitSet positions = new BitSet();
+        positions.set(0);
+        positions.set(3);
+        columns.removePositions(positions);
+        tasks.remove(3);
+        tasks.remove(0);
+        assertSameTasks(tasks, columns);
+    }
+}
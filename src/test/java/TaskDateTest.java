@@ -0,0 +1,87 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskDateTest {
+
+    private static final DateTimeFormatter INPUT_DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM d yyyy", Locale.ENGLISH);
+    private static final DateTimeFormatter DATE_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("MMM d yyyy hh:mm a", Locale.ENGLISH);
+
+    /** First and last epoch days checked, from year 1000 to year 9999. */
+    private static final long FIRST_EPOCH_DAY = LocalDate.of(1000, 1, 1).toEpochDay();
+    private static final long LAST_EPOCH_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
+
+    /** Step between the epoch days checked, chosen so that every day of the month and year is hit. */
+    private static final int EPOCH_DAY_STEP = 13;
+
+    @Test
+    public void testParse() {
+        for (long epochDay = FIRST_EPOCH_DAY; epochDay <= LAST_EPOCH_DAY; epochDay += EPOCH_DAY_STEP) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            LocalDateTime dateTime = date.atStartOfDay().plusMinutes(Math.floorMod(epochDay * 37, 24 * 60));
+            assertEquals(TaskDate.of(date), TaskDate.parse(date.toString()));
+            assertEquals(TaskDate.of(dateTime, true), TaskDate.parse(dateTime.format(INPUT_DATE_TIME_FORMAT)));
+        }
+    }
+
+    @Test
+    public void testParseLeapYears() {
+        String[] leapDays = {"1600-02-29", "1904-02-29", "1968-02-29", "2000-02-29", "2020-02-29", "2400-02-29"};
+        for (String leapDay : leapDays) {
+            assertEquals(TaskDate.of(LocalDate.parse(leapDay)), TaskDate.parse(leapDay));
+        }
+        String[] commonYearDays = {"1700-02-29", "1900-02-29", "2019-02-29", "2100-02-29"};
+        for (String commonYearDay : commonYearDays) {
+            assertThrows(DateTimeParseException.class, () -> TaskDate.parse(commonYearDay));
+        }
+    }
+
+    @Test
+    public void testParseInvalid() {
+        String[] invalidDates = {
+            "2019-02-29", "2020-13-01", "2020-00-10", "2020-04-31", "2020-01-00", "1860", "2400",
+            "2020-01-01 1860", "2020-01-01 2400", "2020-01-01 12345", "2020/01/01", "", "2020-1-1"
+        };
+        for (String invalidDate : invalidDates) {
+            assertThrows(DateTimeParseException.class, () -> TaskDate.parse(invalidDate));
+        }
+    }
+
+    @Test
+    public void testFormat() {
+        for (long epochDay = FIRST_EPOCH_DAY; epochDay <= LAST_EPOCH_DAY; epochDay += EPOCH_DAY_STEP) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            LocalDateTime dateTime = date.atStartOfDay().plusMinutes(Math.floorMod(epochDay * 37, 24 * 60));
+            long dateTimestamp = TaskDate.of(date);
+            long dateTimeTimestamp = TaskDate.of(dateTime, true);
+            assertEquals(date.format(DATE_FORMAT), TaskDate.format(dateTimestamp));
+            assertEquals(dateTime.format(DATE_TIME_FORMAT), TaskDate.format(dateTimeTimestamp));
+            assertEquals(dateTimestamp, TaskDate.parseFormatted(TaskDate.format(dateTimestamp)));
+            assertEquals(dateTimeTimestamp, TaskDate.parseFormatted(TaskDate.format(dateTimeTimestamp)));
+        }
+    }
+
+    @Test
+    public void testFormatBeforeEpoch() {
+        LocalDateTime[] dateTimes = {
+            LocalDateTime.of(1969, 12, 31, 23, 59), LocalDateTime.of(1900, 3, 1, 0, 0),
+            LocalDateTime.of(1600, 2, 29, 12, 0), LocalDateTime.of(1000, 1, 1, 0, 1)
+        };
+        for (LocalDateTime dateTime : dateTimes) {
+            LocalDate date = dateTime.toLocalDate();
+            long timestamp = TaskDate.of(dateTime, true);
+            assertEquals(dateTime.format(DATE_TIME_FORMAT), TaskDate.format(timestamp));
+            assertEquals(date.format(DATE_FORMAT), TaskDate.format(TaskDate.of(date)));
+            assertEquals(timestamp, TaskDate.parse(dateTime.format(INPUT_DATE_TIME_FORMAT)));
+        }
+    }
+}
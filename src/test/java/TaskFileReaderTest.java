@@ -0,0 +1,83 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TaskFileReaderTest {
+
+    private static final List<String> SAVED_TASKS = List.of(
+            "T | 0 | read book",
+            "D | 1 | return book | Oct 10 2021",
+            "E | 0 | team lunch | Sep 15 2020 12:00 PM to 01:00 PM");
+
+    @TempDir
+    Path tempDir;
+
+    private List<String> read(String text, int chunkSize) throws IOException {
+        Path path = tempDir.resolve("tasks.txt");
+        Files.write(path, text.getBytes(Charset.defaultCharset()));
+        ArrayList<Task> tasks = new ArrayList<>();
+        new TaskFileReader(chunkSize).read(path, tasks);
+        ArrayList<String> savedTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            savedTasks.add(task.getFormattedString());
+        }
+        return savedTasks;
+    }
+
+    /**
+     * Checks that the text is read as the saved tasks with every chunk size up to the length of
+     * the text, so that every line break falls at every position of a chunk.
+     */
+    private void assertReadWithEveryChunkSize(List<String> expectedTasks, String text) throws IOException {
+        for (int chunkSize = 1; chunkSize <= text.length() + 1; chunkSize++) {
+            assertEquals(expectedTasks, read(text, chunkSize), "chunk size " + chunkSize);
+        }
+    }
+
+    @Test
+    public void testRead_lineSplitAcrossChunks() throws IOException {
+        String text = String.join("\n", SAVED_TASKS) + "\n";
+        assertEquals(SAVED_TASKS, read(text, 24));
+        assertReadWithEveryChunkSize(SAVED_TASKS, text);
+    }
+
+    @Test
+    public void testRead_lineLongerThanChunk() throws IOException {
+        String longTask = "T | 0 | " + "a very long description ".repeat(20).trim();
+        List<String> expectedTasks = List.of("T | 0 | read book", longTask, "T | 1 | borrow pen");
+        String text = String.join("\n", expectedTasks) + "\n";
+        assertEquals(expectedTasks, read(text, 8));
+        assertEquals(expectedTasks, read(text, 1));
+    }
+
+    @Test
+    public void testRead_crlfSplitBetweenChunks() throws IOException {
+        String text = String.join("\r\n", SAVED_TASKS) + "\r\n";
+        int firstCarriageReturn = text.indexOf('\r');
+        assertEquals(SAVED_TASKS, read(text, firstCarriageReturn + 1));
+        assertReadWithEveryChunkSize(SAVED_TASKS, text);
+    }
+
+    @Test
+    public void testRead_blankLines() throws IOException {
+        String text = "\n" + SAVED_TASKS.get(0) + "\n\n  \n" + SAVED_TASKS.get(1) + "\r\n\r\n"
+                + SAVED_TASKS.get(2) + "\n\n";
+        assertReadWithEveryChunkSize(SAVED_TASKS, text);
+        assertReadWithEveryChunkSize(List.of(), "\n\r\n \n");
+    }
+
+    @Test
+    public void testRead_noTrailingNewline() throws IOException {
+        String text = String.join("\n", SAVED_TASKS);
+        assertReadWithEveryChunkSize(SAVED_TASKS, text);
+        assertReadWithEveryChunkSize(List.of(), "");
+    }
+}
@@ -0,0 +1,124 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskFormatTest {
+
+    private static String writeTasks(TaskFormat format, List<Task> tasks) throws IOException {
+        StringWriter out = new StringWriter();
+        format.writeHeader(out);
+        for (Task task : tasks) {
+            format.write(task, out);
+        }
+        format.writeFooter(out);
+        return out.toString();
+    }
+
+    private static void assertReadBack(List<Task> tasks, String name, String document) throws IOException {
+        BufferedReader in = new BufferedReader(new StringReader(document));
+        TaskFormat format = TaskFormat.forName(name);
+        for (Task task : tasks) {
+            assertEquals(task.getFormattedString(), format.read(in).getFormattedString(), name);
+        }
+        assertNull(format.read(in), name);
+    }
+
+    @Test
+    public void testCsv_commasAndQuotes_quotesField() throws IOException {
+        Task quotedTodo = new ToDo("read \"Dune\", part 1");
+        Task commaDeadline = new Deadline("pay rent", "1st, or 2nd at the latest");
+        commaDeadline.markAsDone();
+        List<Task> tasks = List.of(quotedTodo, commaDeadline, new ToDo("plain task"));
+
+        String document = writeTasks(TaskFormat.forName("csv"), tasks);
+        assertEquals("type,done,description,date,end\r\n"
+                + "todo,false,\"read \"\"Dune\"\", part 1\",,\r\n"
+                + "deadline,true,pay rent,\"1st, or 2nd at the latest\",\r\n"
+                + "todo,false,plain task,,\r\n", document);
+        assertReadBack(tasks, "csv", document);
+    }
+
+    @Test
+    public void testCsv_quotedFieldOverSeveralLines_readsRow() throws IOException {
+        BufferedReader in = new BufferedReader(new StringReader("event,false,\"team lunch\n(bring food)\","
+                + "2021-10-10T12:00,2021-10-10T13:00\n"));
+        Task task = TaskFormat.forName("csv").read(in);
+        assertEquals("team lunch (bring food)", task.getDescription());
+    }
+
+    @Test
+    public void testRead_invalidRecord_skipsRecord() throws IOException {
+        BufferedReader in = new BufferedReader(new StringReader("type,done,description,date,end\n"
+                + "reminder,false,call home,,\n"
+                + "deadline,true,return book,2021-10-10,\n"));
+        TaskFormat format = TaskFormat.forName("csv");
+        assertThrows(IllegalArgumentException.class, () -> format.read(in));
+        assertEquals("D | 1 | return book | Oct 10 2021", format.read(in).getFormattedString());
+        assertNull(format.read(in));
+    }
+
+    @Test
+    public void testJsonLines_specialCharacters_escapesString() throws IOException {
+        Task task = new ToDo("say \"hi\" \\ wave\u0001");
+        String document = writeTasks(TaskFormat.forName("jsonl"), List.of(task));
+        assertEquals("{\"type\":\"todo\",\"done\":false,\"description\":\"say \\\"hi\\\" \\\\ wave\\u0001\"}\n",
+                document);
+        assertReadBack(List.of(task), "jsonl", document);
+    }
+
+    @Test
+    public void testJsonLines_unicodeEscapes_readsCharacters() throws IOException {
+        BufferedReader in = new BufferedReader(new StringReader(
+                "{\"type\":\"deadline\", \"done\":true, \"description\":\"caf\\u00e9 \\u2615\","
+                + " \"date\":\"2021-10-10\", \"end\":null}\n"));
+        Task task = TaskFormat.forName("jsonl").read(in);
+        assertEquals("D | 1 | caf\u00e9 \u2615 | Oct 10 2021", task.getFormattedString());
+    }
+
+    @Test
+    public void testJsonLines_lineBreaksInDescription_keepsOneTask() throws IOException {
+        BufferedReader in = new BufferedReader(new StringReader(
+                "{\"type\":\"deadline\",\"done\":false,\"description\":\"a\\nD | 1 | injected | 2020-01-01\","
+                + "\"date\":\"next\\r\\nmonday\"}\n"));
+        Task task = TaskFormat.forName("jsonl").read(in);
+        assertEquals("a D | 1 | injected | 2020-01-01", task.getDescription());
+        assertEquals("next monday", ((Deadline) task).getByText());
+        assertFalse(task.getFormattedString().contains("\n"));
+        assertNull(TaskFormat.forName("jsonl").read(in));
+    }
+
+    @Test
+    public void testICalendar_longSummary_foldsLines() throws IOException {
+        String description = "plan the trip; book flights, hotel and caf\u00e9 \ud83d\ude00 ".repeat(4).trim();
+        Task event = new Event(description, TaskDate.parse("2021-10-10 0900"), TaskDate.parse("2021-10-10 1000"));
+        event.markAsDone();
+        List<Task> tasks = List.of(event, new Deadline("return book", "next monday"));
+
+        String document = writeTasks(TaskFormat.forName("ics"), tasks);
+        String[] lines = document.split("\r\n");
+        int foldedLineCount = 0;
+        for (String line : lines) {
+            boolean isFolded = line.startsWith(" ");
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+            assertFalse(Character.isLowSurrogate(line.charAt(isFolded ? 1 : 0)), line);
+            foldedLineCount += isFolded ? 1 : 0;
+        }
+        assertTrue(foldedLineCount >= 2, document);
+        assertTrue(document.contains("\r\nSUMMARY:plan the trip\\; book flights\\, hotel"), document);
+        assertTrue(document.contains("\r\nDTSTART:20211010T090000\r\nDTEND:20211010T100000\r\n"), document);
+        assertTrue(document.contains("\r\nX-DUKE-DONE:TRUE\r\n"), document);
+        assertTrue(document.contains("\r\nX-DUKE-DATE:next monday\r\n"), document);
+        assertReadBack(tasks, "ics", document);
+    }
+}
@@ -0,0 +1,66 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskListTest {
+
+    @Test
+    public void testFindSubstring() {
+        Ui ui = new Ui();
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("read book"), ui);
+        taskList.addTask(new ToDo("buy pen"), ui);
+        taskList.addTask(new Deadline("return book", "Oct 15 2020"), ui);
+        ArrayList<String> expectedTasks = new ArrayList<>();
+        expectedTasks.add("[T][\u2718] read book");
+        expectedTasks.add("[D][\u2718] return book (by: Oct 15 2020)");
+        assertEquals(ui.showFind(expectedTasks), taskList.findTask("ook", ui));
+    }
+
+    @Test
+    public void testFindAfterDeleteAndDone() {
+        Ui ui = new Ui();
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("read book"), ui);
+        taskList.addTask(new ToDo("borrow book"), ui);
+        taskList.findTask("book", ui);
+        BitSet deletedTaskPositions = new BitSet();
+        deletedTaskPositions.set(0);
+        taskList.deleteTasks(deletedTaskPositions, ui);
+        taskList.markDone(0, ui);
+        ArrayList<String> expectedTasks = new ArrayList<>();
+        expectedTasks.add("[T][\u2713] borrow book");
+        assertEquals(ui.showFind(expectedTasks), taskList.findTask("book", ui));
+        assertEquals(ui.showFind(expectedTasks), taskList.findTask("\u2713] bor", ui));
+    }
+
+    @Test
+    public void testSyncTasks() {
+        Ui ui = new Ui();
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("read book"), ui);
+        taskList.addTask(new ToDo("borrow book"), ui);
+        taskList.addTask(new ToDo("buy pen"), ui);
+        taskList.findTask("book", ui);
+
+        ArrayList<String> savedTasks = new ArrayList<>();
+        savedTasks.add("T | 0 | read book");
+        savedTasks.add("T | 0 | borrow book");
+        savedTasks.add("T | 0 | buy pen");
+        savedTasks.add("T | 0 | lend book");
+        assertEquals(1, taskList.syncTasks(savedTasks));
+        savedTasks.set(1, "T | 1 | return book");
+        savedTasks.remove(2);
+        assertEquals(2, taskList.syncTasks(savedTasks));
+        assertEquals(0, taskList.syncTasks(savedTasks));
+
+        ArrayList<String> expectedTasks = new ArrayList<>();
+        expectedTasks.add("[T][\u2718] read book");
+        expectedTasks.add("[T][\u2713] return book");
+        expectedTasks.add("[T][\u2718] lend book");
+        assertEquals(ui.showFind(expectedTasks), taskList.findTask("book", ui));
+    }
+}